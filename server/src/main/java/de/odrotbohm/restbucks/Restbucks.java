@@ -24,6 +24,7 @@ import org.springframework.hateoas.mediatype.hal.CurieProvider;
 import org.springframework.hateoas.mediatype.hal.DefaultCurieProvider;
 import org.springframework.modulith.Modulithic;
 import org.springframework.scheduling.annotation.EnableAsync;
+import org.springframework.scheduling.annotation.EnableScheduling;
 
 /**
  * Central application class containing both general application and web configuration as well as a main-method to
@@ -34,6 +35,7 @@ import org.springframework.scheduling.annotation.EnableAsync;
  * @author Oliver Drotbohm
  */
 @EnableAsync
+@EnableScheduling
 @ConfigurationPropertiesScan
 @Modulithic(sharedModules = "core")
 @SpringBootApplication
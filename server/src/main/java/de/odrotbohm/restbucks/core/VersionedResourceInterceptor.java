@@ -0,0 +1,133 @@
+/*
+ * Copyright 2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package de.odrotbohm.restbucks.core;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.function.Function;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.util.Assert;
+import org.springframework.util.StringUtils;
+import org.springframework.web.servlet.HandlerInterceptor;
+import org.springframework.web.servlet.HandlerMapping;
+import org.springframework.web.servlet.handler.MappedInterceptor;
+
+/**
+ * {@link HandlerInterceptor} to answer conditional {@code GET} requests to resources backed by a versioned aggregate
+ * with {@code 304 Not Modified}. Looks up the current version of the aggregate by the identifier in the {@code id} path
+ * variable and compares it to the {@code If-None-Match} header before the handler is invoked, so that unchanged
+ * resources don't need the aggregate to be loaded and rendered. The ETag is expected to be the quoted version, just
+ * like Spring Data REST renders it.
+ *
+ * @author Oliver Drotbohm
+ */
+public class VersionedResourceInterceptor implements HandlerInterceptor {
+
+	private static final String ID_VARIABLE = "id";
+
+	private final Function<UUID, Optional<?>> versions;
+
+	/**
+	 * Creates a new {@link VersionedResourceInterceptor} looking up versions using the given {@link Function}.
+	 *
+	 * @param versions must not be {@literal null}.
+	 */
+	VersionedResourceInterceptor(Function<UUID, Optional<?>> versions) {
+
+		Assert.notNull(versions, "Version lookup must not be null!");
+
+		this.versions = versions;
+	}
+
+	/**
+	 * Creates a {@link MappedInterceptor} applying a {@link VersionedResourceInterceptor} to the given path patterns.
+	 *
+	 * @param versions the lookup of the current version by the aggregate identifier, must not be {@literal null}.
+	 * @param patterns must not be {@literal null} or empty.
+	 * @return will never be {@literal null}.
+	 */
+	public static MappedInterceptor forPaths(Function<UUID, Optional<?>> versions, String... patterns) {
+
+		Assert.notEmpty(patterns, "Patterns must not be null or empty!");
+
+		return new MappedInterceptor(patterns, new VersionedResourceInterceptor(versions));
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see org.springframework.web.servlet.HandlerInterceptor#preHandle(jakarta.servlet.http.HttpServletRequest, jakarta.servlet.http.HttpServletResponse, java.lang.Object)
+	 */
+	@Override
+	public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+
+		var ifNoneMatch = request.getHeader(HttpHeaders.IF_NONE_MATCH);
+
+		if (!HttpMethod.GET.matches(request.getMethod()) || !StringUtils.hasText(ifNoneMatch)) {
+			return true;
+		}
+
+		var eTag = getIdentifier(request)
+				.flatMap(versions)
+				.map(it -> "\"" + it + "\"")
+				.orElse(null);
+
+		if (eTag == null || !matches(ifNoneMatch, eTag)) {
+			return true;
+		}
+
+		response.setStatus(HttpServletResponse.SC_NOT_MODIFIED);
+		response.setHeader(HttpHeaders.ETAG, eTag);
+
+		return false;
+	}
+
+	@SuppressWarnings("unchecked")
+	private static Optional<UUID> getIdentifier(HttpServletRequest request) {
+
+		var variables = (Map<String, String>) request.getAttribute(HandlerMapping.URI_TEMPLATE_VARIABLES_ATTRIBUTE);
+		var identifier = variables == null ? null : variables.get(ID_VARIABLE);
+
+		if (identifier == null) {
+			return Optional.empty();
+		}
+
+		try {
+			return Optional.of(UUID.fromString(identifier));
+		} catch (IllegalArgumentException o_O) {
+			return Optional.empty();
+		}
+	}
+
+	private static boolean matches(String ifNoneMatch, String eTag) {
+
+		for (String candidate : StringUtils.commaDelimitedListToStringArray(ifNoneMatch)) {
+
+			candidate = candidate.trim();
+
+			if (candidate.equals("*") || candidate.equals(eTag) || candidate.equals("W/" + eTag)) {
+				return true;
+			}
+		}
+
+		return false;
+	}
+}
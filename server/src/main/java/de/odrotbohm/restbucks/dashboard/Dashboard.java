@@ -18,17 +18,17 @@ package de.odrotbohm.restbucks.dashboard;
 import static org.springframework.hateoas.server.mvc.WebMvcLinkBuilder.*;
 
 import de.odrotbohm.restbucks.core.Currencies;
+import de.odrotbohm.restbucks.dashboard.RevenueIncrement.RevenueRecorded;
 import de.odrotbohm.restbucks.order.Order.OrderPaid;
 import lombok.RequiredArgsConstructor;
 
+import java.time.Instant;
 import java.util.Map;
 
-import javax.money.MonetaryAmount;
-
-import org.javamoney.moneta.Money;
 import org.springframework.data.rest.webmvc.RepositoryLinksResource;
 import org.springframework.hateoas.server.RepresentationModelProcessor;
 import org.springframework.modulith.events.ApplicationModuleListener;
+import org.springframework.transaction.event.TransactionalEventListener;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.RestController;
 
@@ -46,16 +46,42 @@ import org.springframework.web.bind.annotation.RestController;
 @RequiredArgsConstructor
 class Dashboard implements RepresentationModelProcessor<RepositoryLinksResource> {
 
-	private MonetaryAmount revenue = Money.zero(Currencies.EURO);
+	private final Revenue revenue;
+	private final RevenueIncrements increments;
+	private final OrderStatusCounts counts;
+	private final Statistics statistics;
 
 	@GetMapping("/statistics")
 	Map<String, Object> statistics() {
-		return Map.of("revenue", revenue);
+		return Map.of(
+				"revenue", revenue.get(Currencies.EURO),
+				"revenues", revenue.getAll(),
+				"orders", counts.getCounts(),
+				"windows", statistics.getWindows());
 	}
 
 	@ApplicationModuleListener
 	void on(OrderPaid event) {
-		this.revenue = revenue.add(event.total());
+
+		var increment = new RevenueIncrement(event, Instant.now());
+
+		// Already counted, e.g. when the event is republished after a failure
+		if (increments.existsById(increment.getId())) {
+			return;
+		}
+
+		increments.save(increment);
+	}
+
+	/**
+	 * Adds the revenue of a {@link RevenueIncrement} once it has been persisted, so that it's never counted without
+	 * having been recorded.
+	 *
+	 * @param event must not be {@literal null}.
+	 */
+	@TransactionalEventListener
+	void on(RevenueRecorded event) {
+		revenue.add(event.total());
 	}
 
 	/*
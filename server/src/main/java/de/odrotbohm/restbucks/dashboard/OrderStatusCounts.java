@@ -0,0 +1,138 @@
+/*
+ * Copyright 2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package de.odrotbohm.restbucks.dashboard;
+
+import de.odrotbohm.restbucks.order.Order;
+import de.odrotbohm.restbucks.order.Order.OrderCreated;
+import de.odrotbohm.restbucks.order.Order.OrderPaid;
+import de.odrotbohm.restbucks.order.Order.OrderPrepared;
+import de.odrotbohm.restbucks.order.Order.OrderTaken;
+import de.odrotbohm.restbucks.order.Order.ProcessingStarted;
+import de.odrotbohm.restbucks.order.Order.Status;
+import de.odrotbohm.restbucks.order.Orders;
+import de.odrotbohm.restbucks.order.Orders.StatusCount;
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.util.Assert;
+
+/**
+ * An in-memory read model of the number of {@link Order}s per {@link Status}, kept up to date by the events published
+ * on an {@link Order}'s state transitions. That allows the counts to be exposed without querying the database on each
+ * request.
+ * <p>
+ * The events are consumed synchronously and without registering event publications, so that a transition only costs
+ * an increment and a decrement. As a consequence, the counts might drift from the database, e.g. for transactions
+ * rolled back or events published before the application was started. They're thus periodically reconciled against
+ * the actual counts in the database.
+ *
+ * @author Oliver Drotbohm
+ */
+@Slf4j
+@Component
+class OrderStatusCounts {
+
+	private final Orders orders;
+	private final Map<Status, AtomicLong> counts = new EnumMap<>(Status.class);
+
+	/**
+	 * Creates a new {@link OrderStatusCounts} for the given {@link Orders}.
+	 *
+	 * @param orders must not be {@literal null}.
+	 */
+	OrderStatusCounts(Orders orders) {
+
+		Assert.notNull(orders, "Orders must not be null!");
+
+		this.orders = orders;
+
+		for (Status status : Status.values()) {
+			counts.put(status, new AtomicLong());
+		}
+	}
+
+	/**
+	 * Returns the current number of {@link Order}s per {@link Status}.
+	 *
+	 * @return will never be {@literal null}.
+	 */
+	Map<Status, Long> getCounts() {
+
+		var result = new EnumMap<Status, Long>(Status.class);
+
+		counts.forEach((status, count) -> result.put(status, count.get()));
+
+		return result;
+	}
+
+	@EventListener
+	void on(OrderCreated event) {
+		counts.get(Status.PAYMENT_EXPECTED).incrementAndGet();
+	}
+
+	@EventListener
+	void on(OrderPaid event) {
+		transition(Status.PAYMENT_EXPECTED, Status.PAID);
+	}
+
+	@EventListener
+	void on(ProcessingStarted event) {
+		transition(Status.PAID, Status.PREPARING);
+	}
+
+	@EventListener
+	void on(OrderPrepared event) {
+		transition(Status.PREPARING, Status.READY);
+	}
+
+	@EventListener
+	void on(OrderTaken event) {
+		transition(Status.READY, Status.TAKEN);
+	}
+
+	/**
+	 * Replaces the current counts with the ones obtained from the database.
+	 */
+	@Scheduled(fixedDelayString = "${restbucks.dashboard.reconciliation-interval:1m}")
+	void reconcile() {
+
+		var actual = orders.countByStatus().stream()
+				.collect(Collectors.toMap(StatusCount::getStatus, StatusCount::getCount));
+
+		counts.forEach((status, count) -> {
+
+			var expected = actual.getOrDefault(status, 0L);
+			var previous = count.getAndSet(expected);
+
+			if (previous != expected) {
+				LOG.debug("Reconciled number of orders {} from {} to {}.", status, previous, expected);
+			}
+		});
+	}
+
+	private void transition(Status from, Status to) {
+
+		counts.get(from).decrementAndGet();
+		counts.get(to).incrementAndGet();
+	}
+}
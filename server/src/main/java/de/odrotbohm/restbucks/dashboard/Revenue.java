@@ -0,0 +1,102 @@
+/*
+ * Copyright 2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package de.odrotbohm.restbucks.dashboard;
+
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.LongAdder;
+
+import javax.money.CurrencyUnit;
+import javax.money.MonetaryAmount;
+
+import org.javamoney.moneta.Money;
+import org.javamoney.moneta.function.MonetaryQueries;
+import org.springframework.stereotype.Component;
+import org.springframework.util.Assert;
+
+/**
+ * Accumulates revenue per currency in minor units (e.g. cents). Backed by a {@link LongAdder} per currency, concurrent
+ * additions neither lose updates nor contend on a single lock or field.
+ *
+ * @author Oliver Drotbohm
+ */
+@Component
+class Revenue {
+
+	private final ConcurrentMap<CurrencyUnit, LongAdder> totals = new ConcurrentHashMap<>();
+
+	/**
+	 * Adds the given {@link MonetaryAmount}.
+	 *
+	 * @param amount must not be {@literal null} and must not exceed the precision of the minor unit of its currency.
+	 */
+	void add(MonetaryAmount amount) {
+
+		Assert.notNull(amount, "MonetaryAmount must not be null!");
+
+		add(amount.getCurrency(), amount.query(MonetaryQueries.convertMinorPart()));
+	}
+
+	/**
+	 * Adds the given minor units (e.g. cents) of the given {@link CurrencyUnit}.
+	 *
+	 * @param currency must not be {@literal null}.
+	 * @param minorUnits the amount to add in minor units.
+	 */
+	void add(CurrencyUnit currency, long minorUnits) {
+
+		Assert.notNull(currency, "CurrencyUnit must not be null!");
+
+		var total = totals.get(currency);
+
+		if (total == null) {
+			total = totals.computeIfAbsent(currency, __ -> new LongAdder());
+		}
+
+		total.add(minorUnits);
+	}
+
+	/**
+	 * Returns the revenue accumulated in the given {@link CurrencyUnit}.
+	 *
+	 * @param currency must not be {@literal null}.
+	 * @return will never be {@literal null}.
+	 */
+	MonetaryAmount get(CurrencyUnit currency) {
+
+		Assert.notNull(currency, "CurrencyUnit must not be null!");
+
+		var total = totals.get(currency);
+
+		return Money.ofMinor(currency, total == null ? 0 : total.sum());
+	}
+
+	/**
+	 * Returns the revenue accumulated per currency, keyed by currency code.
+	 *
+	 * @return will never be {@literal null}.
+	 */
+	Map<String, MonetaryAmount> getAll() {
+
+		var result = new TreeMap<String, MonetaryAmount>();
+
+		totals.forEach((currency, total) -> result.put(currency.getCurrencyCode(), Money.ofMinor(currency, total.sum())));
+
+		return result;
+	}
+}
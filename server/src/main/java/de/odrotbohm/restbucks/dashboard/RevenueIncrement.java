@@ -0,0 +1,96 @@
+/*
+ * Copyright 2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package de.odrotbohm.restbucks.dashboard;
+
+import de.odrotbohm.restbucks.dashboard.RevenueIncrement.RevenueIncrementIdentifier;
+import de.odrotbohm.restbucks.order.Order.OrderPaid;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.ToString;
+
+import java.time.Instant;
+import java.util.UUID;
+
+import javax.money.CurrencyUnit;
+import javax.money.Monetary;
+import javax.money.MonetaryAmount;
+
+import org.javamoney.moneta.function.MonetaryQueries;
+import org.jmolecules.ddd.types.AggregateRoot;
+import org.jmolecules.ddd.types.Identifier;
+import org.jmolecules.event.types.DomainEvent;
+import org.springframework.data.domain.AbstractAggregateRoot;
+import org.springframework.util.Assert;
+
+/**
+ * The revenue of a single order paid, recorded by the {@link Dashboard} before adding it to its in-memory
+ * {@link Revenue}, so that an order is only ever counted once and the orders paid after the latest
+ * {@link RevenueSnapshot} can be accounted for on restart. Publishes a {@link RevenueRecorded} event when created.
+ *
+ * @author Oliver Drotbohm
+ * @see RevenueSnapshotter
+ */
+@Getter
+@ToString
+@NoArgsConstructor(force = true)
+class RevenueIncrement extends AbstractAggregateRoot<RevenueIncrement>
+		implements AggregateRoot<RevenueIncrement, RevenueIncrementIdentifier> {
+
+	private final RevenueIncrementIdentifier id;
+	private final String currency;
+	private final long amount;
+	private final Instant recordedDate;
+
+	/**
+	 * Creates a new {@link RevenueIncrement} for the given {@link OrderPaid} event, recorded at the given time.
+	 *
+	 * @param event must not be {@literal null}.
+	 * @param recordedDate must not be {@literal null}.
+	 */
+	RevenueIncrement(OrderPaid event, Instant recordedDate) {
+
+		Assert.notNull(event, "OrderPaid must not be null!");
+		Assert.notNull(recordedDate, "Recorded date must not be null!");
+
+		MonetaryAmount total = event.total();
+
+		this.id = new RevenueIncrementIdentifier(event.orderIdentifier().id());
+		this.currency = total.getCurrency().getCurrencyCode();
+		this.amount = total.query(MonetaryQueries.convertMinorPart());
+		this.recordedDate = recordedDate;
+
+		registerEvent(new RevenueRecorded(id, total));
+	}
+
+	/**
+	 * Returns the {@link CurrencyUnit} of the increment.
+	 *
+	 * @return will never be {@literal null}.
+	 */
+	CurrencyUnit getCurrencyUnit() {
+		return Monetary.getCurrency(currency);
+	}
+
+	/**
+	 * Identifies a {@link RevenueIncrement} by the identifier of the order paid.
+	 */
+	record RevenueIncrementIdentifier(UUID order) implements Identifier {}
+
+	/**
+	 * Event to be thrown when a {@link RevenueIncrement} has been recorded.
+	 */
+	record RevenueRecorded(RevenueIncrementIdentifier id, MonetaryAmount total) implements DomainEvent {}
+}
@@ -0,0 +1,43 @@
+/*
+ * Copyright 2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package de.odrotbohm.restbucks.dashboard;
+
+import de.odrotbohm.restbucks.dashboard.RevenueIncrement.RevenueIncrementIdentifier;
+
+import java.util.Collection;
+
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.CrudRepository;
+import org.springframework.data.repository.query.Param;
+
+/**
+ * Repository to access {@link RevenueIncrement}s.
+ *
+ * @author Oliver Drotbohm
+ */
+interface RevenueIncrements extends CrudRepository<RevenueIncrement, RevenueIncrementIdentifier> {
+
+	/**
+	 * Deletes the {@link RevenueIncrement}s with the given identifiers in a single statement.
+	 *
+	 * @param identifiers must not be {@literal null}.
+	 * @return the number of {@link RevenueIncrement}s deleted.
+	 */
+	@Modifying
+	@Query("delete from RevenueIncrement i where i.id in :identifiers")
+	int deleteAllByIdentifiers(@Param("identifiers") Collection<RevenueIncrementIdentifier> identifiers);
+}
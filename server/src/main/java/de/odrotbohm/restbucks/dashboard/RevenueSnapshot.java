@@ -0,0 +1,87 @@
+/*
+ * Copyright 2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package de.odrotbohm.restbucks.dashboard;
+
+import de.odrotbohm.restbucks.dashboard.RevenueSnapshot.RevenueSnapshotIdentifier;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.ToString;
+
+import java.time.Instant;
+
+import javax.money.CurrencyUnit;
+import javax.money.Monetary;
+
+import org.jmolecules.ddd.types.AggregateRoot;
+import org.jmolecules.ddd.types.Identifier;
+import org.springframework.util.Assert;
+
+/**
+ * The revenue accumulated in a particular currency by the {@link RevenueIncrement}s folded into the snapshot, so that
+ * the {@link Revenue} doesn't need to be rebuilt from scratch on restart.
+ *
+ * @author Oliver Drotbohm
+ */
+@Getter
+@ToString
+@NoArgsConstructor(force = true)
+class RevenueSnapshot implements AggregateRoot<RevenueSnapshot, RevenueSnapshotIdentifier> {
+
+	private final RevenueSnapshotIdentifier id;
+	private long revenue;
+	private Instant takenDate;
+
+	/**
+	 * Creates a new, empty {@link RevenueSnapshot} for the given {@link CurrencyUnit}.
+	 *
+	 * @param currency must not be {@literal null}.
+	 */
+	RevenueSnapshot(CurrencyUnit currency) {
+
+		Assert.notNull(currency, "CurrencyUnit must not be null!");
+
+		this.id = new RevenueSnapshotIdentifier(currency.getCurrencyCode());
+		this.takenDate = Instant.EPOCH;
+	}
+
+	/**
+	 * Returns the {@link CurrencyUnit} of the revenue.
+	 *
+	 * @return will never be {@literal null}.
+	 */
+	CurrencyUnit getCurrency() {
+		return Monetary.getCurrency(id.currency());
+	}
+
+	/**
+	 * Adds the given revenue folded into the snapshot at the given time.
+	 *
+	 * @param revenue the revenue in minor units.
+	 * @param takenDate must not be {@literal null}.
+	 * @return the current instance.
+	 */
+	RevenueSnapshot add(long revenue, Instant takenDate) {
+
+		Assert.notNull(takenDate, "Taken date must not be null!");
+
+		this.revenue += revenue;
+		this.takenDate = takenDate;
+
+		return this;
+	}
+
+	record RevenueSnapshotIdentifier(String currency) implements Identifier {}
+}
@@ -0,0 +1,118 @@
+/*
+ * Copyright 2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package de.odrotbohm.restbucks.dashboard;
+
+import de.odrotbohm.restbucks.dashboard.RevenueSnapshot.RevenueSnapshotIdentifier;
+import de.odrotbohm.restbucks.order.Order.OrderPaid;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+import java.time.Instant;
+import java.util.stream.Collectors;
+
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.data.util.Streamable;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionOperations;
+
+/**
+ * Periodically folds the {@link RevenueIncrement}s the {@link Dashboard} recorded for the {@link OrderPaid} events into
+ * {@link RevenueSnapshot}s and restores the {@link Revenue} from both on startup. Folding adds the increments to the
+ * snapshots and deletes exactly those increments in the same transaction, so that every order paid is contained either
+ * in a snapshot or in the increments still to be folded, but never in both. Startup thus only needs to look at recent
+ * payments instead of all payments ever made.
+ *
+ * @author Oliver Drotbohm
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+class RevenueSnapshotter implements SmartInitializingSingleton, DisposableBean {
+
+	private final Revenue revenue;
+	private final RevenueSnapshots snapshots;
+	private final RevenueIncrements increments;
+	private final TransactionOperations transactions;
+
+	/**
+	 * Folds the {@link RevenueIncrement}s recorded so far into the {@link RevenueSnapshot}s.
+	 */
+	@Scheduled(fixedDelayString = "${restbucks.dashboard.snapshot-interval:5m}",
+			initialDelayString = "${restbucks.dashboard.snapshot-interval:5m}")
+	void snapshot() {
+
+		var takenDate = Instant.now();
+
+		transactions.executeWithoutResult(status -> {
+
+			var folded = Streamable.of(increments.findAll()).toList();
+
+			if (folded.isEmpty()) {
+				return;
+			}
+
+			folded.stream()
+					.collect(Collectors.groupingBy(RevenueIncrement::getCurrencyUnit,
+							Collectors.summingLong(RevenueIncrement::getAmount)))
+					.forEach((currency, total) -> {
+
+						var snapshot = snapshots.findById(new RevenueSnapshotIdentifier(currency.getCurrencyCode()))
+								.orElseGet(() -> new RevenueSnapshot(currency));
+
+						snapshots.save(snapshot.add(total, takenDate));
+					});
+
+			var deleted = increments.deleteAllByIdentifiers(folded.stream().map(RevenueIncrement::getId).toList());
+
+			// Some of the increments have been folded concurrently
+			if (deleted != folded.size()) {
+
+				LOG.info("Increments folded concurrently, skipping snapshot.");
+				status.setRollbackOnly();
+			}
+		});
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see org.springframework.beans.factory.SmartInitializingSingleton#afterSingletonsInstantiated()
+	 */
+	@Override
+	public void afterSingletonsInstantiated() {
+
+		transactions.executeWithoutResult(__ -> {
+
+			var restored = Streamable.of(snapshots.findAll()).toList();
+			var replayed = Streamable.of(increments.findAll()).toList();
+
+			restored.forEach(it -> revenue.add(it.getCurrency(), it.getRevenue()));
+			replayed.forEach(it -> revenue.add(it.getCurrencyUnit(), it.getAmount()));
+
+			LOG.info("Restored revenue from {} snapshot(s) and {} order(s) paid since.", restored.size(), replayed.size());
+		});
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see org.springframework.beans.factory.DisposableBean#destroy()
+	 */
+	@Override
+	public void destroy() {
+		snapshot();
+	}
+}
@@ -0,0 +1,188 @@
+/*
+ * Copyright 2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package de.odrotbohm.restbucks.dashboard;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.springframework.util.Assert;
+
+/**
+ * Counters covering a rolling window of time, backed by a ring buffer of buckets. Each bucket covers an equal share of
+ * the window and is reset once its slot is reused for a later period. Recording is O(1), reading sums up all buckets
+ * still within the window. Thread-safe, but recordings racing with the reset of a bucket may get lost.
+ *
+ * @author Oliver Drotbohm
+ */
+class RollingWindow {
+
+	private final long bucketMillis;
+	private final Bucket[] buckets;
+
+	/**
+	 * Creates a new {@link RollingWindow} covering the given {@link Duration} with the given number of buckets.
+	 *
+	 * @param duration must not be {@literal null} and must be a multiple of the number of buckets in milliseconds.
+	 * @param buckets must be greater than zero.
+	 */
+	RollingWindow(Duration duration, int buckets) {
+
+		Assert.notNull(duration, "Duration must not be null!");
+		Assert.isTrue(buckets > 0, "Number of buckets must be greater than zero!");
+		Assert.isTrue(duration.toMillis() % buckets == 0, "Duration must be a multiple of the number of buckets!");
+
+		this.bucketMillis = duration.toMillis() / buckets;
+		this.buckets = new Bucket[buckets];
+
+		for (int i = 0; i < buckets; i++) {
+			this.buckets[i] = new Bucket();
+		}
+	}
+
+	/**
+	 * Records an order placed at the given time.
+	 *
+	 * @param millis the epoch milliseconds of the event.
+	 */
+	void orderPlaced(long millis) {
+		bucketAt(millis).placed.increment();
+	}
+
+	/**
+	 * Records an order paid with the given amount at the given time.
+	 *
+	 * @param millis the epoch milliseconds of the event.
+	 * @param minorUnits the amount paid in minor units.
+	 */
+	void orderPaid(long millis, long minorUnits) {
+
+		var bucket = bucketAt(millis);
+
+		bucket.paid.increment();
+		bucket.revenue.add(minorUnits);
+	}
+
+	/**
+	 * Records an order that got ready at the given time after the given time since it has been paid.
+	 *
+	 * @param millis the epoch milliseconds of the event.
+	 * @param timeToReady the milliseconds it took the order to get ready.
+	 */
+	void orderReady(long millis, long timeToReady) {
+
+		var bucket = bucketAt(millis);
+
+		bucket.ready.increment();
+		bucket.timeToReady.add(timeToReady);
+	}
+
+	/**
+	 * Returns the totals of all events recorded within the window ending at the given time.
+	 *
+	 * @param millis the epoch milliseconds the window ends at.
+	 * @return will never be {@literal null}.
+	 */
+	Totals getTotals(long millis) {
+
+		var current = millis / bucketMillis;
+		long placed = 0, paid = 0, revenue = 0, ready = 0, timeToReady = 0;
+
+		for (Bucket bucket : buckets) {
+
+			var period = bucket.period;
+
+			if (period > current - buckets.length && period <= current) {
+				placed += bucket.placed.sum();
+				paid += bucket.paid.sum();
+				revenue += bucket.revenue.sum();
+				ready += bucket.ready.sum();
+				timeToReady += bucket.timeToReady.sum();
+			}
+		}
+
+		return new Totals(placed, paid, revenue, ready, timeToReady);
+	}
+
+	private Bucket bucketAt(long millis) {
+
+		var period = millis / bucketMillis;
+		var bucket = buckets[(int) (period % buckets.length)];
+
+		// Never reset a bucket that has already moved on to a later period
+		if (bucket.period < period) {
+
+			synchronized (bucket) {
+
+				if (bucket.period < period) {
+					bucket.reset(period);
+				}
+			}
+		}
+
+		return bucket;
+	}
+
+	/**
+	 * The totals recorded within a window.
+	 *
+	 * @param placed the number of orders placed.
+	 * @param paid the number of orders paid.
+	 * @param revenue the amount paid in minor units.
+	 * @param ready the number of orders that got ready.
+	 * @param timeToReady the sum of milliseconds it took the orders to get ready after they've been paid.
+	 */
+	record Totals(long placed, long paid, long revenue, long ready, long timeToReady) {
+
+		/**
+		 * Returns the average amount paid per order in minor units.
+		 *
+		 * @return
+		 */
+		long getAverageTicket() {
+			return paid == 0 ? 0 : revenue / paid;
+		}
+
+		/**
+		 * Returns the average time it took orders to get ready after they've been paid.
+		 *
+		 * @return will never be {@literal null}.
+		 */
+		Duration getAverageTimeToReady() {
+			return Duration.ofMillis(ready == 0 ? 0 : timeToReady / ready);
+		}
+	}
+
+	private static class Bucket {
+
+		private final LongAdder placed = new LongAdder();
+		private final LongAdder paid = new LongAdder();
+		private final LongAdder revenue = new LongAdder();
+		private final LongAdder ready = new LongAdder();
+		private final LongAdder timeToReady = new LongAdder();
+		private volatile long period = -1;
+
+		void reset(long period) {
+
+			placed.reset();
+			paid.reset();
+			revenue.reset();
+			ready.reset();
+			timeToReady.reset();
+
+			this.period = period;
+		}
+	}
+}
@@ -0,0 +1,150 @@
+/*
+ * Copyright 2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package de.odrotbohm.restbucks.dashboard;
+
+import de.odrotbohm.restbucks.core.Currencies;
+import de.odrotbohm.restbucks.order.Order.OrderCreated;
+import de.odrotbohm.restbucks.order.Order.OrderIdentifier;
+import de.odrotbohm.restbucks.order.Order.OrderPaid;
+import de.odrotbohm.restbucks.order.Order.OrderPrepared;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.javamoney.moneta.Money;
+import org.javamoney.moneta.function.MonetaryQueries;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.util.Assert;
+
+/**
+ * Statistics on the orders placed, paid and prepared within the last minute, five minutes, hour and day. Fed by the
+ * order events as they're published and kept in {@link RollingWindow}s, so that reading them doesn't need to query the
+ * database. Revenue and average ticket only consider amounts in {@link Currencies#EURO}.
+ *
+ * @author Oliver Drotbohm
+ */
+@Component
+class Statistics {
+
+	private static final Duration DAY = Duration.ofDays(1);
+
+	private final Clock clock;
+	private final Map<String, RollingWindow> windows = new LinkedHashMap<>();
+	private final Map<OrderIdentifier, Long> paid = new ConcurrentHashMap<>();
+
+	/**
+	 * Creates a new {@link Statistics} instance using the system clock.
+	 */
+	@Autowired
+	Statistics() {
+		this(Clock.systemUTC());
+	}
+
+	/**
+	 * Creates a new {@link Statistics} instance using the given {@link Clock}.
+	 *
+	 * @param clock must not be {@literal null}.
+	 */
+	Statistics(Clock clock) {
+
+		Assert.notNull(clock, "Clock must not be null!");
+
+		this.clock = clock;
+
+		windows.put("1m", new RollingWindow(Duration.ofMinutes(1), 60));
+		windows.put("5m", new RollingWindow(Duration.ofMinutes(5), 60));
+		windows.put("1h", new RollingWindow(Duration.ofHours(1), 60));
+		windows.put("day", new RollingWindow(DAY, 96));
+	}
+
+	/**
+	 * Returns the statistics per window.
+	 *
+	 * @return will never be {@literal null}.
+	 */
+	Map<String, Map<String, Object>> getWindows() {
+
+		var now = clock.millis();
+		var result = new LinkedHashMap<String, Map<String, Object>>();
+
+		windows.forEach((name, window) -> {
+
+			var totals = window.getTotals(now);
+
+			result.put(name, Map.of(
+					"ordersPlaced", totals.placed(),
+					"ordersPaid", totals.paid(),
+					"revenue", Money.ofMinor(Currencies.EURO, totals.revenue()),
+					"averageTicket", Money.ofMinor(Currencies.EURO, totals.getAverageTicket()),
+					"averageTimeToReady", totals.getAverageTimeToReady().toString()));
+		});
+
+		return result;
+	}
+
+	@EventListener
+	void on(OrderCreated event) {
+
+		var now = clock.millis();
+
+		windows.values().forEach(it -> it.orderPlaced(now));
+	}
+
+	@EventListener
+	void on(OrderPaid event) {
+
+		var now = clock.millis();
+		var total = event.total();
+		var minorUnits = total.getCurrency().equals(Currencies.EURO)
+				? total.query(MonetaryQueries.convertMinorPart())
+				: 0L;
+
+		paid.put(event.orderIdentifier(), now);
+		windows.values().forEach(it -> it.orderPaid(now, minorUnits));
+	}
+
+	@EventListener
+	void on(OrderPrepared event) {
+
+		var paidAt = paid.remove(event.orderIdentifier());
+
+		if (paidAt == null) {
+			return;
+		}
+
+		var now = clock.millis();
+
+		windows.values().forEach(it -> it.orderReady(now, now - paidAt));
+	}
+
+	/**
+	 * Drops the payment times of orders that didn't get ready within a day, as they don't contribute to any window
+	 * anymore.
+	 */
+	@Scheduled(fixedDelayString = "PT1H")
+	void evictStalePayments() {
+
+		var threshold = clock.millis() - DAY.toMillis();
+
+		paid.values().removeIf(it -> it < threshold);
+	}
+}
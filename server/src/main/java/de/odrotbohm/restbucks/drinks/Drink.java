@@ -18,18 +18,24 @@ package de.odrotbohm.restbucks.drinks;
 import de.odrotbohm.restbucks.drinks.Drink.DrinkIdentifier;
 import lombok.Getter;
 
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
 import java.util.UUID;
 
 import javax.money.MonetaryAmount;
 
 import org.jmolecules.ddd.types.AggregateRoot;
 import org.jmolecules.ddd.types.Identifier;
+import org.jmolecules.event.types.DomainEvent;
+import org.springframework.data.domain.AbstractAggregateRoot;
+import org.springframework.data.domain.DomainEvents;
 
 /**
  * @author Oliver Drotbohm
  */
 @Getter
-public class Drink implements AggregateRoot<Drink, DrinkIdentifier> {
+public class Drink extends AbstractAggregateRoot<Drink> implements AggregateRoot<Drink, DrinkIdentifier> {
 
 	private DrinkIdentifier id;
 	private String name;
@@ -44,7 +50,39 @@ public class Drink implements AggregateRoot<Drink, DrinkIdentifier> {
 		this.milk = milk;
 		this.size = size;
 		this.price = price;
+
+		registerEvent(new DrinkAdded(id));
+	}
+
+	/**
+	 * Returns the events registered followed by a {@link DrinkChanged}, so that the latter is published whenever the
+	 * {@link Drink} is saved or deleted, no matter whether it's been changed through a method or bound to directly.
+	 *
+	 * @see org.springframework.data.domain.AbstractAggregateRoot#domainEvents()
+	 */
+	@Override
+	@DomainEvents
+	protected Collection<Object> domainEvents() {
+
+		var events = new ArrayList<Object>(super.domainEvents());
+		events.add(new DrinkChanged(id));
+
+		return Collections.unmodifiableList(events);
 	}
 
 	public record DrinkIdentifier(UUID id) implements Identifier {}
+
+	/**
+	 * Event to be published when a {@link Drink} has been added to the menu.
+	 *
+	 * @author Oliver Drotbohm
+	 */
+	public record DrinkAdded(DrinkIdentifier id) implements DomainEvent {}
+
+	/**
+	 * Event to be published whenever a {@link Drink} has been saved or deleted.
+	 *
+	 * @author Oliver Drotbohm
+	 */
+	public record DrinkChanged(DrinkIdentifier id) implements DomainEvent {}
 }
@@ -0,0 +1,159 @@
+/*
+ * Copyright 2012-2019 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package de.odrotbohm.restbucks.drinks;
+
+import java.text.Normalizer;
+import java.util.BitSet;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.regex.Pattern;
+
+import org.springframework.util.Assert;
+
+/**
+ * Index of drink names to find the ones containing a search term ignoring case and accents, i.e. {@code "cafe"} finds
+ * {@code "Café Latte"}. Indexes all substrings of up to three characters of the normalized names, so that the candidates
+ * for a term are the intersection of the entries for its trigrams, instead of scanning all names. Immutable and thus
+ * rebuilt with the names changing.
+ *
+ * @author Oliver Drotbohm
+ */
+class DrinkNameIndex {
+
+	private static final int GRAM_LENGTH = 3;
+	private static final Pattern MARKS = Pattern.compile("\\p{M}+");
+
+	private final String[] names;
+	private final Map<String, BitSet> grams = new HashMap<>();
+
+	/**
+	 * Creates a new {@link DrinkNameIndex} for the given names. The positions of the names within the given
+	 * {@link List} are the ones returned by {@link #search(String)}.
+	 *
+	 * @param names must not be {@literal null}.
+	 */
+	DrinkNameIndex(List<String> names) {
+
+		Assert.notNull(names, "Names must not be null!");
+
+		this.names = names.stream().map(DrinkNameIndex::normalize).toArray(String[]::new);
+
+		for (int position = 0; position < this.names.length; position++) {
+
+			var name = this.names[position];
+
+			for (int start = 0; start < name.length(); start++) {
+				for (int end = start + 1; end <= Math.min(name.length(), start + GRAM_LENGTH); end++) {
+					grams.computeIfAbsent(name.substring(start, end), __ -> new BitSet()).set(position);
+				}
+			}
+		}
+	}
+
+	/**
+	 * Returns the positions of all names containing the given term, ignoring case and accents. Ranks names equal to the
+	 * term first, followed by the ones starting with it, the ones with a word starting with it and the ones only
+	 * containing it. Names ranked equally keep their original order.
+	 *
+	 * @param term must not be {@literal null}.
+	 * @return will never be {@literal null}.
+	 */
+	int[] search(String term) {
+
+		Assert.notNull(term, "Search term must not be null!");
+
+		var normalized = normalize(term);
+		var candidates = getCandidates(normalized);
+
+		if (candidates.isEmpty()) {
+			return new int[0];
+		}
+
+		return candidates.stream()
+				.filter(it -> normalized.length() <= GRAM_LENGTH || names[it].contains(normalized))
+				.boxed()
+				.sorted(Comparator.comparingInt((Integer it) -> rank(names[it], normalized)))
+				.mapToInt(Integer::intValue)
+				.toArray();
+	}
+
+	private BitSet getCandidates(String term) {
+
+		if (term.isEmpty()) {
+
+			var all = new BitSet(names.length);
+			all.set(0, names.length);
+
+			return all;
+		}
+
+		if (term.length() <= GRAM_LENGTH) {
+
+			var candidates = grams.get(term);
+
+			return candidates == null ? new BitSet() : candidates;
+		}
+
+		BitSet candidates = null;
+
+		for (int start = 0; start + GRAM_LENGTH <= term.length(); start++) {
+
+			var gram = grams.get(term.substring(start, start + GRAM_LENGTH));
+
+			if (gram == null) {
+				return new BitSet();
+			}
+
+			if (candidates == null) {
+				candidates = (BitSet) gram.clone();
+			} else {
+				candidates.and(gram);
+			}
+		}
+
+		return candidates;
+	}
+
+	private static int rank(String name, String term) {
+
+		if (name.equals(term)) {
+			return 0;
+		}
+
+		if (name.startsWith(term)) {
+			return 1;
+		}
+
+		return name.contains(" " + term) ? 2 : 3;
+	}
+
+	/**
+	 * Normalizes the given text for case- and accent-insensitive matching.
+	 *
+	 * @param text must not be {@literal null}.
+	 * @return will never be {@literal null}.
+	 */
+	static String normalize(String text) {
+
+		var decomposed = Normalizer.normalize(text, Normalizer.Form.NFD);
+
+		return MARKS.matcher(decomposed).replaceAll("").toLowerCase(Locale.ROOT);
+	}
+
+}
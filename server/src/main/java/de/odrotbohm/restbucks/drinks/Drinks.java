@@ -24,6 +24,7 @@ import org.springframework.data.util.Streamable;
 
 /**
  * @author Oliver Drotbohm
+ * @see DrinksMenu
  */
 public interface Drinks extends CrudRepository<Drink, DrinkIdentifier> {
 
@@ -0,0 +1,286 @@
+/*
+ * Copyright 2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package de.odrotbohm.restbucks.drinks;
+
+import de.odrotbohm.restbucks.drinks.Drink.DrinkChanged;
+import de.odrotbohm.restbucks.drinks.Drink.DrinkIdentifier;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import org.jspecify.annotations.Nullable;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.Ordered;
+import org.springframework.data.rest.core.event.AbstractRepositoryEventListener;
+import org.springframework.hateoas.mediatype.hal.forms.HalFormsPromptedValue;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.util.Assert;
+
+/**
+ * Read-through cache of all {@link Drink}s on the menu, looked up by identifier and as option list sorted by name, so
+ * that rendering and searching the drink options and resolving the drinks of an order don't need to query the
+ * database. The menu rarely changes, so that it's loaded as a whole on first access and dropped on every change, i.e.
+ * a {@link DrinkChanged} event published whenever a {@link Drink} is saved or deleted, or a {@link Drink} deleted
+ * through Spring Data REST, which deletes by identifier and thus doesn't publish any.
+ * <p>
+ * The menu only keeps {@link MenuItem} snapshots of the {@link Drink}s loaded, so that updates Spring Data REST binds
+ * to a {@link Drink} it looked up through the repository never leak into the cache. The menu is dropped once changes
+ * get saved and again after their transaction has completed, so that it doesn't get loaded including changes not
+ * committed yet.
+ * <p>
+ * Invalidations bump a generation captured before the menu is loaded, so that a menu loaded concurrently with an
+ * invalidation is not kept. Changes within a transaction invalidate again once it has completed, as the menu might
+ * have been loaded including them in the meantime.
+ *
+ * @author Oliver Drotbohm
+ */
+@Component
+class DrinksCatalogue extends AbstractRepositoryEventListener<Drink> implements DrinksMenu, Ordered {
+
+	private static final Comparator<MenuItem> BY_NAME = Comparator.comparing(MenuItem::name);
+	private static final int MAX_OPTION_URIS = 8;
+
+	private final Drinks drinks;
+
+	private long generation;
+	private volatile @Nullable Menu menu;
+
+	/**
+	 * Creates a new {@link DrinksCatalogue} for the given {@link Drinks}.
+	 *
+	 * @param drinks must not be {@literal null}.
+	 */
+	DrinksCatalogue(Drinks drinks) {
+
+		Assert.notNull(drinks, "Drinks must not be null!");
+
+		this.drinks = drinks;
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see de.odrotbohm.restbucks.drinks.DrinksMenu#findById(de.odrotbohm.restbucks.drinks.Drink.DrinkIdentifier)
+	 */
+	@Override
+	public Optional<MenuItem> findById(DrinkIdentifier id) {
+
+		Assert.notNull(id, "Drink identifier must not be null!");
+
+		return Optional.ofNullable(getMenu().byId().get(id));
+	}
+
+	/**
+	 * Identifiers not found on the menu, e.g. as it has been loaded before a {@link Drink} was added, are looked up in a
+	 * single query.
+	 *
+	 * @see de.odrotbohm.restbucks.drinks.DrinksMenu#findAllById(java.util.Collection)
+	 */
+	@Override
+	public Map<DrinkIdentifier, MenuItem> findAllById(Collection<DrinkIdentifier> ids) {
+
+		Assert.notNull(ids, "Drink identifiers must not be null!");
+
+		var byId = getMenu().byId();
+		var result = new HashMap<DrinkIdentifier, MenuItem>(ids.size() * 2);
+		var missing = new ArrayList<DrinkIdentifier>();
+
+		for (DrinkIdentifier id : ids) {
+
+			var item = byId.get(id);
+
+			if (item != null) {
+				result.put(id, item);
+			} else {
+				missing.add(id);
+			}
+		}
+
+		if (!missing.isEmpty()) {
+			drinks.findAllById(missing).forEach(it -> result.put(it.getId(), MenuItem.of(it)));
+		}
+
+		return result;
+	}
+
+	/**
+	 * Returns {@link MenuItem}s for all {@link Drink}s sorted by name.
+	 *
+	 * @return will never be {@literal null}.
+	 */
+	List<MenuItem> findAll() {
+		return getMenu().items();
+	}
+
+	/**
+	 * Returns {@link HalFormsPromptedValue}s for all {@link Drink}s sorted by name, pointing to the item resources below
+	 * the given URI of the drinks collection resource. The values are created once per menu and collection URI, for a
+	 * limited number of URIs as they depend on the host requested.
+	 *
+	 * @param drinksUri must not be {@literal null} or empty.
+	 * @return will never be {@literal null}.
+	 */
+	List<HalFormsPromptedValue> getOptions(String drinksUri) {
+
+		Assert.hasText(drinksUri, "Drinks URI must not be null or empty!");
+
+		return getMenu().getOptions(drinksUri);
+	}
+
+	/**
+	 * Returns {@link HalFormsPromptedValue}s for all {@link Drink}s with a name containing the given one, ignoring case
+	 * and accents, ranked by how well the name matches.
+	 *
+	 * @param drinksUri must not be {@literal null} or empty.
+	 * @param name must not be {@literal null}.
+	 * @return will never be {@literal null}.
+	 * @see #getOptions(String)
+	 * @see DrinkNameIndex#search(String)
+	 */
+	List<HalFormsPromptedValue> getOptions(String drinksUri, String name) {
+
+		Assert.notNull(name, "Name must not be null!");
+
+		var menu = getMenu();
+		var options = menu.getOptions(drinksUri);
+
+		return Arrays.stream(menu.index().search(name))
+				.mapToObj(options::get)
+				.toList();
+	}
+
+	/**
+	 * Drops the menu, so that it's loaded again on next access.
+	 */
+	synchronized void invalidate() {
+
+		generation++;
+		menu = null;
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see org.springframework.core.Ordered#getOrder()
+	 */
+	@Override
+	public int getOrder() {
+		return Ordered.HIGHEST_PRECEDENCE;
+	}
+
+	@EventListener
+	void on(DrinkChanged event) {
+		invalidate();
+	}
+
+	@TransactionalEventListener(phase = TransactionPhase.AFTER_COMPLETION, fallbackExecution = true)
+	void onCompletion(DrinkChanged event) {
+		invalidate();
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see org.springframework.data.rest.core.event.AbstractRepositoryEventListener#onAfterDelete(java.lang.Object)
+	 */
+	@Override
+	protected void onAfterDelete(Drink drink) {
+		invalidate();
+	}
+
+	private Menu getMenu() {
+
+		var menu = this.menu;
+
+		if (menu != null) {
+			return menu;
+		}
+
+		long generation;
+
+		synchronized (this) {
+
+			if (this.menu != null) {
+				return this.menu;
+			}
+
+			generation = this.generation;
+		}
+
+		var loaded = Menu.of(drinks.findAll());
+
+		synchronized (this) {
+
+			if (this.generation == generation) {
+				this.menu = loaded;
+			}
+		}
+
+		return loaded;
+	}
+
+	/**
+	 * A snapshot of all {@link Drink}s on the menu.
+	 *
+	 * @param items the {@link MenuItem}s sorted by name.
+	 * @param byId the {@link MenuItem}s by identifier.
+	 * @param index the {@link DrinkNameIndex} over the names of {@link #items()}.
+	 * @param options the {@link HalFormsPromptedValue}s in the order of {@link #items()} by URI of the drinks
+	 *          collection resource.
+	 */
+	private record Menu(List<MenuItem> items, Map<DrinkIdentifier, MenuItem> byId, DrinkNameIndex index,
+			Map<String, List<HalFormsPromptedValue>> options) {
+
+		static Menu of(Iterable<Drink> drinks) {
+
+			var sorted = new ArrayList<MenuItem>();
+			drinks.forEach(it -> sorted.add(MenuItem.of(it)));
+			sorted.sort(BY_NAME);
+
+			return new Menu(List.copyOf(sorted),
+					sorted.stream().collect(Collectors.toUnmodifiableMap(MenuItem::id, Function.identity())),
+					new DrinkNameIndex(sorted.stream().map(MenuItem::name).toList()),
+					new ConcurrentHashMap<>());
+		}
+
+		List<HalFormsPromptedValue> getOptions(String drinksUri) {
+
+			var result = options.get(drinksUri);
+
+			if (result != null) {
+				return result;
+			}
+
+			result = items.stream()
+					.map(it -> HalFormsPromptedValue.of(it.name(), drinksUri + "/" + it.id().id()))
+					.toList();
+
+			if (options.size() < MAX_OPTION_URIS) {
+				options.putIfAbsent(drinksUri, result);
+			}
+
+			return result;
+		}
+	}
+}
@@ -0,0 +1,50 @@
+/*
+ * Copyright 2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package de.odrotbohm.restbucks.drinks;
+
+import de.odrotbohm.restbucks.drinks.Drink.DrinkIdentifier;
+
+import java.util.Collection;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Read-only lookups of the {@link Drink}s on the menu, served from memory instead of the database. Returns
+ * {@link MenuItem} snapshots instead of the {@link Drink}s themselves, so that changes to a {@link Drink} only become
+ * visible once they've been saved.
+ *
+ * @author Oliver Drotbohm
+ * @see DrinksCatalogue
+ */
+public interface DrinksMenu {
+
+	/**
+	 * Returns the {@link MenuItem} for the {@link Drink} with the given identifier.
+	 *
+	 * @param id must not be {@literal null}.
+	 * @return will never be {@literal null}.
+	 */
+	Optional<MenuItem> findById(DrinkIdentifier id);
+
+	/**
+	 * Returns the {@link MenuItem}s for the {@link Drink}s with the given identifiers.
+	 *
+	 * @param ids must not be {@literal null}.
+	 * @return the {@link MenuItem}s by identifier, will never be {@literal null}. Identifiers of {@link Drink}s that
+	 *         don't exist (anymore) are not contained.
+	 */
+	Map<DrinkIdentifier, MenuItem> findAllById(Collection<DrinkIdentifier> ids);
+}
@@ -20,13 +20,11 @@ import de.odrotbohm.restbucks.Restbucks;
 import java.util.Optional;
 
 import org.springframework.data.rest.webmvc.BasePathAwareController;
-import org.springframework.data.domain.Sort;
 import org.springframework.hateoas.LinkRelation;
 import org.springframework.hateoas.mediatype.hal.HalLinkRelation;
 import org.springframework.hateoas.mediatype.hal.HalModelBuilder;
 import org.springframework.hateoas.mediatype.hal.forms.HalFormsPromptedValue;
 import org.springframework.hateoas.server.EntityLinks;
-import org.springframework.hateoas.server.TypedEntityLinks;
 import org.springframework.http.HttpEntity;
 import org.springframework.http.ResponseEntity;
 import org.springframework.util.Assert;
@@ -41,26 +39,27 @@ public class DrinksOptions {
 
 	public static final LinkRelation DRINKS_REL = HalLinkRelation.curied(Restbucks.CURIE_NAMESPACE, "drinks");
 
-	private final Drinks drinks;
-	private final TypedEntityLinks<Drink> links;
+	private final DrinksCatalogue catalogue;
+	private final EntityLinks links;
 
 	/**
-	 * Creates a new {@link DrinksOptions} for the given {@link Drinks} and {@link EntityLinks}.
+	 * Creates a new {@link DrinksOptions} for the given {@link DrinksCatalogue} and {@link EntityLinks}.
 	 *
-	 * @param drinks must not be {@literal null}.
+	 * @param catalogue must not be {@literal null}.
 	 * @param links must not be {@literal null}.
 	 */
-	DrinksOptions(Drinks drinks, EntityLinks links) {
+	DrinksOptions(DrinksCatalogue catalogue, EntityLinks links) {
 
-		Assert.notNull(drinks, "Drinks must not be null!");
+		Assert.notNull(catalogue, "DrinksCatalogue must not be null!");
 		Assert.notNull(links, "EntityLinks must not be null!");
 
-		this.drinks = drinks;
-		this.links = links.forType(Drink::getId);
+		this.catalogue = catalogue;
+		this.links = links;
 	}
 
 	/**
-	 * Expose {@link HalFormsPromptedValue}s for all {@link Drink}s with a name containing the optional request parameter.
+	 * Expose {@link HalFormsPromptedValue}s for all {@link Drink}s with a name containing the optional request parameter,
+	 * ignoring case and accents and ranked by how well the name matches.
 	 *
 	 * @param q
 	 * @return
@@ -68,12 +67,10 @@ public class DrinksOptions {
 	@GetMapping("/drinks/by-name")
 	public HttpEntity<?> getOptions(@RequestParam Optional<String> q) {
 
-		var sortByName = Sort.by(Drink::getName).ascending();
+		var drinksUri = links.linkFor(Drink.class).toUri().toString();
 
-		var options = q.map(it -> drinks.findByNameContaining(it, sortByName))
-				.orElseGet(() -> drinks.findAll(sortByName))
-				.map(it -> HalFormsPromptedValue.of(it.getName(), links.linkToItemResource(it).getHref()))
-				.toList();
+		var options = q.map(it -> catalogue.getOptions(drinksUri, it))
+				.orElseGet(() -> catalogue.getOptions(drinksUri));
 
 		var model = HalModelBuilder.halModel()
 				.embed(options, DRINKS_REL)
@@ -0,0 +1,50 @@
+/*
+ * Copyright 2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package de.odrotbohm.restbucks.drinks;
+
+import de.odrotbohm.restbucks.drinks.Drink.DrinkIdentifier;
+
+import javax.money.MonetaryAmount;
+
+import org.jspecify.annotations.Nullable;
+import org.springframework.util.Assert;
+
+/**
+ * An immutable snapshot of a {@link Drink} on the menu, so that the ones served from the {@link DrinksMenu} can be
+ * shared without being modified by their users.
+ *
+ * @param id the identifier of the {@link Drink}.
+ * @param name the name of the {@link Drink}.
+ * @param milk the {@link Milk} of the {@link Drink}, if any.
+ * @param size the {@link Size} of the {@link Drink}.
+ * @param price the price of the {@link Drink}.
+ * @author Oliver Drotbohm
+ */
+public record MenuItem(DrinkIdentifier id, String name, @Nullable Milk milk, Size size, MonetaryAmount price) {
+
+	/**
+	 * Creates a new {@link MenuItem} for the current state of the given {@link Drink}.
+	 *
+	 * @param drink must not be {@literal null}.
+	 * @return will never be {@literal null}.
+	 */
+	public static MenuItem of(Drink drink) {
+
+		Assert.notNull(drink, "Drink must not be null!");
+
+		return new MenuItem(drink.getId(), drink.getName(), drink.getMilk(), drink.getSize(), drink.getPrice());
+	}
+}
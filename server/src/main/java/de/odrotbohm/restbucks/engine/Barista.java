@@ -0,0 +1,143 @@
+/*
+ * Copyright 2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package de.odrotbohm.restbucks.engine;
+
+import de.odrotbohm.restbucks.engine.Engine.PreparationFinished;
+import de.odrotbohm.restbucks.engine.Engine.PreparationStarted;
+import de.odrotbohm.restbucks.engine.EngineSettings.PreparationMode;
+import de.odrotbohm.restbucks.order.Order.OrderIdentifier;
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Component;
+import org.springframework.util.Assert;
+
+/**
+ * Prepares the drinks of a single order on a station. Simulates busy work for the duration configured in
+ * {@link EngineSettings}, either by sleeping or by scheduling the completion of the order depending on the configured
+ * {@link PreparationMode}.
+ *
+ * @author Oliver Drotbohm
+ */
+@Slf4j
+@Component
+class Barista implements AutoCloseable {
+
+	private final EngineSettings settings;
+	private final ApplicationEventPublisher events;
+	private final ScheduledExecutorService timer;
+	private final ExecutorService workers;
+
+	/**
+	 * Creates a new {@link Barista} for the given {@link EngineSettings} and {@link ApplicationEventPublisher}.
+	 *
+	 * @param settings must not be {@literal null}.
+	 * @param events must not be {@literal null}.
+	 */
+	Barista(EngineSettings settings, ApplicationEventPublisher events) {
+
+		Assert.notNull(settings, "EngineSettings must not be null!");
+		Assert.notNull(events, "ApplicationEventPublisher must not be null!");
+
+		this.settings = settings;
+		this.events = events;
+		this.timer = Executors.newSingleThreadScheduledExecutor(Thread.ofPlatform().name("barista-timer").daemon().factory());
+		this.workers = Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("barista-", 0).factory());
+	}
+
+	/**
+	 * Prepares the order with the given {@link OrderIdentifier}, publishing a {@link PreparationStarted} right away and a
+	 * {@link PreparationFinished} event once the processing time has elapsed.
+	 *
+	 * @param identifier must not be {@literal null}.
+	 * @return a {@link CompletableFuture} completing once the order has been prepared, will never be {@literal null}.
+	 */
+	CompletableFuture<Void> prepare(OrderIdentifier identifier) {
+		return prepare(List.of(identifier));
+	}
+
+	/**
+	 * Prepares the orders with the given {@link OrderIdentifier}s together, i.e. within a single processing time.
+	 * Publishes {@link PreparationStarted} and {@link PreparationFinished} events for each of the orders.
+	 *
+	 * @param identifiers must not be {@literal null} or empty.
+	 * @return a {@link CompletableFuture} completing once all orders have been prepared, will never be {@literal null}.
+	 */
+	CompletableFuture<Void> prepare(List<OrderIdentifier> identifiers) {
+
+		Assert.notEmpty(identifiers, "Order identifiers must not be null or empty!");
+
+		identifiers.forEach(it -> events.publishEvent(new PreparationStarted(it)));
+
+		var processingTime = settings.getProcessingTime();
+
+		LOG.info("Starting to process order(s) {} for {}.", identifiers, processingTime.toString());
+
+		if (settings.getPreparation() == PreparationMode.BLOCKING) {
+
+			try {
+				Thread.sleep(processingTime.toMillis());
+			} catch (InterruptedException e) {
+				throw new RuntimeException(e);
+			}
+
+			finish(identifiers);
+
+			return CompletableFuture.completedFuture(null);
+		}
+
+		var result = new CompletableFuture<Void>();
+
+		// Only trigger on the timer thread, as finishing the order involves I/O
+		timer.schedule(() -> workers.execute(() -> {
+
+			try {
+				finish(identifiers);
+				result.complete(null);
+			} catch (RuntimeException e) {
+				result.completeExceptionally(e);
+			}
+
+		}), processingTime.toMillis(), TimeUnit.MILLISECONDS);
+
+		return result;
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see java.lang.AutoCloseable#close()
+	 */
+	@Override
+	public void close() {
+
+		timer.shutdown();
+		workers.close();
+	}
+
+	private void finish(List<OrderIdentifier> identifiers) {
+
+		identifiers.forEach(it -> events.publishEvent(new PreparationFinished(it)));
+
+		LOG.info("Finished processing order(s) {}.", identifiers);
+	}
+}
@@ -15,28 +15,27 @@
  */
 package de.odrotbohm.restbucks.engine;
 
+import de.odrotbohm.restbucks.order.Order;
 import de.odrotbohm.restbucks.order.Order.OrderIdentifier;
 import de.odrotbohm.restbucks.order.Order.OrderPaid;
 import de.odrotbohm.restbucks.order.Order.ProcessingCompleted;
 import de.odrotbohm.restbucks.order.Order.ProcessingStarted;
+import de.odrotbohm.restbucks.order.Orders;
 import lombok.AllArgsConstructor;
 import lombok.NonNull;
-import lombok.extern.slf4j.Slf4j;
 
 import java.util.concurrent.ThreadLocalRandom;
 
 import org.jmolecules.ddd.annotation.Service;
-import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.modulith.events.ApplicationModuleListener;
 
 /**
- * Simple {@link OrderPaid} listener marking the according {@link Order} as in process, sleeping for 5 seconds and
- * marking the order as processed right after that.
+ * Simple {@link OrderPaid} listener handing the according {@link Order} to the {@link Stations} to be prepared. Those
+ * mark the order as in process, simulate the preparation and mark the order as processed right after that.
  *
  * @author Oliver Drotbohm
  * @author Stéphane Nicoll
  */
-@Slf4j
 @Service
 @AllArgsConstructor
 class Engine {
@@ -44,16 +43,29 @@ class Engine {
 	private static final ThreadLocalRandom RANDOM = ThreadLocalRandom.current();
 
 	private final @NonNull EngineSettings settings;
-	private final ApplicationEventPublisher events;
+	private final @NonNull Stations stations;
+	private final @NonNull Orders orders;
+	private final @NonNull PreparationRetries retries;
 
 	/**
-	 * Starts preparing the drinks contained in the order that was just paid. Simulates busy work by sleeping for the
-	 * duration configured in {@link EngineSettings}.
+	 * Accepts the order that was just paid for preparation on the {@link Stations}. If the order cannot be accepted, e.g.
+	 * as all stations are busy, accepting it is retried by the {@link PreparationRetries}. If all attempts fail, the
+	 * failure is rethrown, so that the event publication stays incomplete until the order has been accepted.
 	 *
 	 * @param event must not be {@literal null}.
 	 */
 	@ApplicationModuleListener
 	public void handleOrderPaidEvent(OrderPaid event) {
+		retries.execute(event, this::accept);
+	}
+
+	/**
+	 * Hands the order to the {@link Stations}. If batching is enabled, the {@link Recipe} of the order is looked up, so
+	 * that it can be prepared together with orders of the same drinks.
+	 *
+	 * @param event must not be {@literal null}.
+	 */
+	void accept(OrderPaid event) {
 
 		if (settings.isFailRandomly()) {
 			int i = RANDOM.nextInt(0, 9);
@@ -62,23 +74,11 @@ class Engine {
 			}
 		}
 
-		var identifier = event.orderIdentifier();
-
-		events.publishEvent(new PreparationStarted(identifier));
-
-		var processingTime = settings.getProcessingTime();
-
-		LOG.info("Starting to process order {} for {}.", identifier, processingTime.toString());
-
-		try {
-			Thread.sleep(processingTime.toMillis());
-		} catch (InterruptedException e) {
-			throw new RuntimeException(e);
-		}
-
-		events.publishEvent(new PreparationFinished(identifier));
+		var recipe = settings.getStations().isBatching()
+				? orders.findById(event.orderIdentifier()).map(Recipe::of).orElse(null)
+				: null;
 
-		LOG.info("Finished processing order {}.", identifier);
+		stations.accept(event, recipe);
 	}
 
 	public record PreparationStarted(OrderIdentifier identifier) implements ProcessingStarted {}
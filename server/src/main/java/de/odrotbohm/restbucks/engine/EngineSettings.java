@@ -15,6 +15,7 @@
  */
 package de.odrotbohm.restbucks.engine;
 
+import de.odrotbohm.restbucks.order.Location;
 import lombok.AccessLevel;
 import lombok.Getter;
 import lombok.Value;
@@ -23,6 +24,7 @@ import java.time.Duration;
 import java.util.concurrent.ThreadLocalRandom;
 
 import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
 
 /**
  * Configuration settings for {@link Engine}.
@@ -42,14 +44,37 @@ class EngineSettings {
 
 	private final @Getter boolean failRandomly;
 
+	/**
+	 * How the {@link Barista} waits for the processing time to elapse.
+	 */
+	private final @Getter PreparationMode preparation;
+
+	/**
+	 * The stations available to prepare orders.
+	 */
+	private final @Getter StationSettings stations;
+
+	/**
+	 * How to retry orders that failed to be accepted for preparation.
+	 */
+	private final @Getter RetrySettings retries;
+
 	/**
 	 * @param processingTime must not be {@literal null}.
+	 * @param preparation must not be {@literal null}.
+	 * @param stations must not be {@literal null}.
+	 * @param retries must not be {@literal null}.
 	 */
-	public EngineSettings(Duration processingTime, Duration maxProcessingTime, boolean failRandomly) {
+	public EngineSettings(Duration processingTime, Duration maxProcessingTime, boolean failRandomly,
+			@DefaultValue("blocking") PreparationMode preparation, @DefaultValue StationSettings stations,
+			@DefaultValue RetrySettings retries) {
 
 		this.processingTime = processingTime;
 		this.maxProcessingTime = maxProcessingTime;
 		this.failRandomly = failRandomly;
+		this.preparation = preparation;
+		this.stations = stations;
+		this.retries = retries;
 	}
 
 	Duration getProcessingTime() {
@@ -68,4 +93,165 @@ class EngineSettings {
 
 		return Duration.ofSeconds(2);
 	}
+
+	/**
+	 * Settings for the {@link Stations} orders are prepared on.
+	 *
+	 * @param size the number of stations preparing orders in parallel, must be greater than zero.
+	 * @param queueCapacity the number of orders that can wait for a station to become available.
+	 * @param rejectionPolicy what to do with an order if all stations are busy and the queue is full.
+	 * @param batchSize the maximum number of orders with the same {@link Recipe} prepared together on a single station.
+	 *          A value of one disables batching.
+	 * @param batchWindow how long a station waits for further orders with the same {@link Recipe} to arrive before it
+	 *          starts preparing a batch.
+	 * @param lanes the weights of the lanes orders wait in depending on their {@link Location}.
+	 */
+	record StationSettings(
+			@DefaultValue("4") int size,
+			@DefaultValue("100") int queueCapacity,
+			@DefaultValue("abort") RejectionPolicy rejectionPolicy,
+			@DefaultValue("1") int batchSize,
+			@DefaultValue("0s") Duration batchWindow,
+			@DefaultValue LaneSettings lanes) {
+
+		StationSettings {
+
+			if (size < 1) {
+				throw new IllegalArgumentException("Number of stations must be greater than zero!");
+			}
+
+			if (queueCapacity < 0) {
+				throw new IllegalArgumentException("Queue capacity must not be negative!");
+			}
+
+			if (batchSize < 1) {
+				throw new IllegalArgumentException("Batch size must be greater than zero!");
+			}
+
+			if (batchWindow.isNegative()) {
+				throw new IllegalArgumentException("Batch window must not be negative!");
+			}
+		}
+
+		/**
+		 * Returns whether orders with the same {@link Recipe} are supposed to be prepared together.
+		 *
+		 * @return
+		 */
+		boolean isBatching() {
+			return batchSize > 1;
+		}
+	}
+
+	/**
+	 * The weights of the lanes orders wait in for a station. A free station picks orders from the lanes in proportion
+	 * to their weights, so that a spike of orders in one lane cannot starve the other one.
+	 *
+	 * @param inStore the weight of the lane for orders to be consumed {@link Location#IN_STORE}.
+	 * @param takeAway the weight of the lane for orders to {@link Location#TAKE_AWAY}.
+	 */
+	record LaneSettings(
+			@DefaultValue("3") int inStore,
+			@DefaultValue("1") int takeAway) {
+
+		LaneSettings {
+
+			if (inStore < 1 || takeAway < 1) {
+				throw new IllegalArgumentException("Lane weights must be greater than zero!");
+			}
+		}
+
+		/**
+		 * Returns the weight of the lane for the given {@link Location}.
+		 *
+		 * @param location must not be {@literal null}.
+		 * @return
+		 */
+		int getWeight(Location location) {
+
+			return switch (location) {
+				case IN_STORE -> inStore;
+				case TAKE_AWAY -> takeAway;
+			};
+		}
+	}
+
+	/**
+	 * Settings for retrying orders that failed to be accepted for preparation. The back-off grows exponentially from the
+	 * initial one by the given multiplier up to the maximum one. Each back-off is randomly shortened by up to the given
+	 * jitter factor, so that orders failing at the same time are not all retried at the same time, too.
+	 *
+	 * @param maxAttempts the maximum number of attempts before an order is considered failed, must be greater than zero.
+	 * @param initialBackoff the back-off before the first retry, must not be negative.
+	 * @param multiplier the factor to grow the back-off by with each retry, must not be less than one.
+	 * @param maxBackoff the maximum back-off between two attempts, must not be negative.
+	 * @param jitter the fraction of the back-off to randomly shorten it by, between zero and one.
+	 */
+	record RetrySettings(
+			@DefaultValue("5") int maxAttempts,
+			@DefaultValue("200ms") Duration initialBackoff,
+			@DefaultValue("2") double multiplier,
+			@DefaultValue("10s") Duration maxBackoff,
+			@DefaultValue("0.5") double jitter) {
+
+		RetrySettings {
+
+			if (maxAttempts < 1) {
+				throw new IllegalArgumentException("Maximum number of attempts must be greater than zero!");
+			}
+
+			if (initialBackoff.isNegative() || maxBackoff.isNegative()) {
+				throw new IllegalArgumentException("Back-off must not be negative!");
+			}
+
+			if (multiplier < 1) {
+				throw new IllegalArgumentException("Back-off multiplier must not be less than one!");
+			}
+
+			if (jitter < 0 || jitter > 1) {
+				throw new IllegalArgumentException("Jitter must be between zero and one!");
+			}
+		}
+	}
+
+	/**
+	 * How the {@link Barista} spends the processing time of an order.
+	 *
+	 * @author Oliver Drotbohm
+	 */
+	enum PreparationMode {
+
+		/**
+		 * Sleeps on the thread preparing the order until the processing time has elapsed.
+		 */
+		BLOCKING,
+
+		/**
+		 * Schedules the completion of the order for when the processing time has elapsed, so that no thread is occupied
+		 * while the order is in preparation. Allows to run a large number of stations cheaply.
+		 */
+		SCHEDULED;
+	}
+
+	/**
+	 * How to handle orders that cannot be accepted by the {@link Stations} anymore.
+	 *
+	 * @author Oliver Drotbohm
+	 */
+	enum RejectionPolicy {
+
+		/**
+		 * Rejects the order, so that accepting it is retried by the {@link PreparationRetries} after a back-off. Orders
+		 * still rejected after the maximum number of attempts leave their event publication incomplete, to be resubmitted
+		 * by the {@link PreparationResubmitter}.
+		 */
+		ABORT,
+
+		/**
+		 * Blocks the thread that tried to submit the order until a station or room in the queue becomes available, slowing
+		 * down the intake of new orders. If the thread gets hold of a station, it prepares the order itself. Either way,
+		 * the number of stations is never exceeded.
+		 */
+		CALLER_RUNS;
+	}
 }
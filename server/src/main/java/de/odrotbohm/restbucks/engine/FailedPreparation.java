@@ -0,0 +1,77 @@
+/*
+ * Copyright 2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package de.odrotbohm.restbucks.engine;
+
+import de.odrotbohm.restbucks.engine.FailedPreparation.FailedPreparationIdentifier;
+import de.odrotbohm.restbucks.order.Order;
+import de.odrotbohm.restbucks.order.Order.OrderIdentifier;
+import jakarta.persistence.Column;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.ToString;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+import org.jmolecules.ddd.types.AggregateRoot;
+import org.jmolecules.ddd.types.Association;
+import org.jmolecules.ddd.types.Identifier;
+import org.springframework.util.Assert;
+
+/**
+ * An {@link Order} accepted for preparation that could not be prepared, even after retrying, or that was still waiting
+ * to be prepared when the application shut down. Serves as dead letter to be inspected and resubmitted manually.
+ *
+ * @author Oliver Drotbohm
+ */
+@Getter
+@ToString
+@NoArgsConstructor(force = true)
+class FailedPreparation implements AggregateRoot<FailedPreparation, FailedPreparationIdentifier> {
+
+	private static final int MAX_REASON_LENGTH = 255;
+
+	private final FailedPreparationIdentifier id;
+
+	@Column(name = "rborder") //
+	private final Association<Order, OrderIdentifier> order;
+	private final int attempts;
+	private final String reason;
+	private final LocalDateTime failedDate;
+
+	/**
+	 * Creates a new {@link FailedPreparation} for the {@link Order} with the given {@link OrderIdentifier}.
+	 *
+	 * @param orderIdentifier must not be {@literal null}.
+	 * @param attempts the number of attempts made to prepare the order.
+	 * @param failure the failure of the last attempt, must not be {@literal null}.
+	 */
+	FailedPreparation(OrderIdentifier orderIdentifier, int attempts, Throwable failure) {
+
+		Assert.notNull(orderIdentifier, "OrderIdentifier must not be null!");
+		Assert.notNull(failure, "Failure must not be null!");
+
+		var reason = failure.toString();
+
+		this.id = new FailedPreparationIdentifier(UUID.randomUUID());
+		this.order = Association.forId(orderIdentifier);
+		this.attempts = attempts;
+		this.reason = reason.length() > MAX_REASON_LENGTH ? reason.substring(0, MAX_REASON_LENGTH) : reason;
+		this.failedDate = LocalDateTime.now();
+	}
+
+	record FailedPreparationIdentifier(UUID id) implements Identifier {}
+}
@@ -0,0 +1,173 @@
+/*
+ * Copyright 2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package de.odrotbohm.restbucks.engine;
+
+import de.odrotbohm.restbucks.engine.EngineSettings.LaneSettings;
+import de.odrotbohm.restbucks.engine.Stations.Ticket;
+import de.odrotbohm.restbucks.order.Location;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+
+import org.jspecify.annotations.Nullable;
+import org.springframework.util.Assert;
+
+/**
+ * The lanes {@link Ticket}s wait in for a station, one per {@link Location}. Tickets are taken from the lanes using
+ * smooth weighted round robin, i.e. in proportion to the weights configured and interleaved rather than in bursts.
+ * Within a lane, tickets are taken in arrival order. Not thread-safe, access needs to be guarded by the
+ * {@link Stations}.
+ *
+ * @author Oliver Drotbohm
+ */
+class Lanes {
+
+	private final Map<Location, Lane> lanes = new EnumMap<>(Location.class);
+	private int size;
+
+	/**
+	 * Creates a new {@link Lanes} instance for the given {@link LaneSettings}.
+	 *
+	 * @param settings must not be {@literal null}.
+	 */
+	Lanes(LaneSettings settings) {
+
+		Assert.notNull(settings, "LaneSettings must not be null!");
+
+		for (Location location : Location.values()) {
+			lanes.put(location, new Lane(settings.getWeight(location)));
+		}
+	}
+
+	/**
+	 * Adds the given {@link Ticket} to the lane for its {@link Location}.
+	 *
+	 * @param ticket must not be {@literal null}.
+	 */
+	void add(Ticket ticket) {
+
+		lanes.get(ticket.location()).tickets.add(ticket);
+		size++;
+	}
+
+	/**
+	 * Takes the next {@link Ticket} from the lane due.
+	 *
+	 * @return the next {@link Ticket} or {@literal null} if all lanes are empty.
+	 */
+	@Nullable
+	Ticket poll() {
+
+		if (size == 0) {
+			return null;
+		}
+
+		var total = 0;
+		@Nullable Lane next = null;
+
+		for (Lane lane : lanes.values()) {
+
+			if (lane.tickets.isEmpty()) {
+				continue;
+			}
+
+			lane.current += lane.weight;
+			total += lane.weight;
+
+			if (next == null || lane.current > next.current) {
+				next = lane;
+			}
+		}
+
+		next.current -= total;
+		size--;
+
+		return next.tickets.poll();
+	}
+
+	/**
+	 * Takes up to the given number of {@link Ticket}s with the given {@link Recipe} from all lanes, starting with the
+	 * lane for the given {@link Location}.
+	 *
+	 * @param recipe must not be {@literal null}.
+	 * @param location must not be {@literal null}.
+	 * @param max the maximum number of tickets to take.
+	 * @return will never be {@literal null}.
+	 */
+	List<Ticket> pollMatching(Recipe recipe, Location location, int max) {
+
+		var result = new ArrayList<Ticket>();
+
+		collectMatching(lanes.get(location), recipe, max, result);
+
+		for (Lane lane : lanes.values()) {
+			collectMatching(lane, recipe, max, result);
+		}
+
+		size -= result.size();
+
+		return result;
+	}
+
+	/**
+	 * Returns the number of tickets waiting in all lanes.
+	 *
+	 * @return
+	 */
+	int size() {
+		return size;
+	}
+
+	/**
+	 * Returns the number of tickets waiting in the lane for the given {@link Location}.
+	 *
+	 * @param location must not be {@literal null}.
+	 * @return
+	 */
+	int size(Location location) {
+		return lanes.get(location).tickets.size();
+	}
+
+	private static void collectMatching(Lane lane, Recipe recipe, int max, List<Ticket> result) {
+
+		var iterator = lane.tickets.iterator();
+
+		while (iterator.hasNext() && result.size() < max) {
+
+			var candidate = iterator.next();
+
+			if (recipe.equals(candidate.recipe())) {
+				result.add(candidate);
+				iterator.remove();
+			}
+		}
+	}
+
+	private static class Lane {
+
+		private final Queue<Ticket> tickets = new ArrayDeque<>();
+		private final int weight;
+		private int current;
+
+		Lane(int weight) {
+			this.weight = weight;
+		}
+	}
+}
@@ -0,0 +1,72 @@
+/*
+ * Copyright 2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package de.odrotbohm.restbucks.engine;
+
+import de.odrotbohm.restbucks.order.Order.OrderPaid;
+
+import java.time.Duration;
+import java.time.Instant;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.modulith.events.IncompleteEventPublications;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.util.Assert;
+
+/**
+ * Periodically resubmits the {@link OrderPaid} event publications that are still incomplete, i.e. the orders the
+ * {@link Engine} could not accept for preparation even after retrying in-process, as well as the ones that were about
+ * to be accepted when the application went down. Only publications older than a configurable threshold are
+ * resubmitted, so that the ones still being processed are not picked up again.
+ *
+ * @author Oliver Drotbohm
+ */
+@Component
+class PreparationResubmitter {
+
+	private final IncompleteEventPublications publications;
+	private final Duration threshold;
+
+	/**
+	 * Creates a new {@link PreparationResubmitter} for the given {@link IncompleteEventPublications} and threshold.
+	 *
+	 * @param publications must not be {@literal null}.
+	 * @param threshold the minimum age of publications to resubmit, must not be {@literal null} or negative.
+	 */
+	PreparationResubmitter(IncompleteEventPublications publications,
+			@Value("${restbucks.engine.resubmission.threshold:1m}") Duration threshold) {
+
+		Assert.notNull(publications, "IncompleteEventPublications must not be null!");
+		Assert.notNull(threshold, "Threshold must not be null!");
+		Assert.isTrue(!threshold.isNegative(), "Threshold must not be negative!");
+
+		this.publications = publications;
+		this.threshold = threshold;
+	}
+
+	/**
+	 * Resubmits the incomplete {@link OrderPaid} publications older than the configured threshold.
+	 */
+	@Scheduled(fixedDelayString = "${restbucks.engine.resubmission.interval:1m}",
+			initialDelayString = "${restbucks.engine.resubmission.interval:1m}")
+	void resubmit() {
+
+		var olderThan = Instant.now().minus(threshold);
+
+		publications.resubmitIncompletePublications(it -> it.getEvent() instanceof OrderPaid
+				&& it.getPublicationDate().isBefore(olderThan));
+	}
+}
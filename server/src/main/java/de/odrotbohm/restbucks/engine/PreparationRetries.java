@@ -0,0 +1,287 @@
+/*
+ * Copyright 2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package de.odrotbohm.restbucks.engine;
+
+import de.odrotbohm.restbucks.engine.EngineSettings.RetrySettings;
+import de.odrotbohm.restbucks.order.Order.OrderIdentifier;
+import de.odrotbohm.restbucks.order.Order.OrderPaid;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import lombok.extern.slf4j.Slf4j;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Consumer;
+import java.util.function.ObjIntConsumer;
+
+import org.springframework.stereotype.Component;
+import org.springframework.util.Assert;
+
+/**
+ * Retries preparing {@link OrderPaid} events in-process, using an exponential back-off with jitter.
+ * <p>
+ * Accepting an order is retried on the thread of the event listener, so that the event publication is only completed
+ * once the order has been accepted. If it still fails after the configured maximum number of attempts, the failure is
+ * rethrown, so that the event publication stays incomplete and is resubmitted by the {@link PreparationResubmitter}.
+ * <p>
+ * Failures preparing an order already accepted only surface asynchronously, after the event publication has been
+ * completed. Those are retried in the background. Orders still failing after the maximum number of attempts, as well as
+ * the ones still waiting for a retry when the application shuts down, are recorded as {@link FailedPreparation}s, so
+ * that they don't get lost.
+ *
+ * @author Oliver Drotbohm
+ */
+@Slf4j
+@Component
+class PreparationRetries implements MeterBinder, AutoCloseable {
+
+	private final RetrySettings settings;
+	private final FailedPreparations failures;
+	private final ScheduledExecutorService timer;
+	private final ExecutorService workers;
+	private final Map<OrderIdentifier, PendingRetry> pending = new ConcurrentHashMap<>();
+
+	private final LongAdder retries = new LongAdder();
+	private final LongAdder deadLetters = new LongAdder();
+
+	/**
+	 * Creates a new {@link PreparationRetries} for the given {@link EngineSettings} and {@link FailedPreparations}.
+	 *
+	 * @param settings must not be {@literal null}.
+	 * @param failures must not be {@literal null}.
+	 */
+	PreparationRetries(EngineSettings settings, FailedPreparations failures) {
+
+		Assert.notNull(settings, "EngineSettings must not be null!");
+		Assert.notNull(failures, "FailedPreparations must not be null!");
+
+		this.settings = settings.getRetries();
+		this.failures = failures;
+		this.timer = Executors.newSingleThreadScheduledExecutor(Thread.ofPlatform().name("engine-retry").daemon().factory());
+		this.workers = Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("engine-retry-", 0).factory());
+	}
+
+	/**
+	 * Invokes the given action for the given {@link OrderPaid} event and retries it on the current thread in case it
+	 * fails, waiting for the back-off in between.
+	 *
+	 * @param event must not be {@literal null}.
+	 * @param action must not be {@literal null}.
+	 * @throws RuntimeException the failure of the last attempt in case all attempts failed.
+	 */
+	void execute(OrderPaid event, Consumer<OrderPaid> action) {
+
+		Assert.notNull(event, "OrderPaid must not be null!");
+		Assert.notNull(action, "Action must not be null!");
+
+		for (int attempt = 1;; attempt++) {
+
+			try {
+
+				action.accept(event);
+				return;
+
+			} catch (RuntimeException e) {
+
+				if (attempt >= settings.maxAttempts()) {
+
+					LOG.warn("Attempt {} to prepare order {} failed ({}), leaving it to be resubmitted.", attempt,
+							event.orderIdentifier(), e.getMessage());
+
+					throw e;
+				}
+
+				var backoff = getBackoff(attempt);
+
+				LOG.warn("Attempt {} to prepare order {} failed ({}), retrying in {}.", attempt, event.orderIdentifier(),
+						e.getMessage(), backoff);
+
+				retries.increment();
+
+				try {
+					Thread.sleep(backoff);
+				} catch (InterruptedException o_O) {
+					Thread.currentThread().interrupt();
+					throw e;
+				}
+			}
+		}
+	}
+
+	/**
+	 * Schedules another attempt of the given action for the given {@link OrderPaid} event after the given attempt failed
+	 * asynchronously, e.g. while preparing the order. Records the order as {@link FailedPreparation} if the maximum
+	 * number of attempts is reached. The action is handed the number of the attempt it runs.
+	 *
+	 * @param event must not be {@literal null}.
+	 * @param attempt the attempt that failed, starting with one.
+	 * @param failure must not be {@literal null}.
+	 * @param action must not be {@literal null}.
+	 */
+	void retry(OrderPaid event, int attempt, Throwable failure, ObjIntConsumer<OrderPaid> action) {
+
+		Assert.notNull(event, "OrderPaid must not be null!");
+		Assert.isTrue(attempt > 0, "Attempt must be greater than zero!");
+		Assert.notNull(failure, "Failure must not be null!");
+		Assert.notNull(action, "Action must not be null!");
+
+		failed(event, action, attempt, failure);
+	}
+
+	/**
+	 * Records the given {@link OrderPaid} event as {@link FailedPreparation} right away, e.g. as it cannot be prepared
+	 * anymore because the application shuts down.
+	 *
+	 * @param event must not be {@literal null}.
+	 * @param attempts the number of attempts made to prepare the order.
+	 * @param failure must not be {@literal null}.
+	 */
+	void giveUp(OrderPaid event, int attempts, Throwable failure) {
+
+		Assert.notNull(event, "OrderPaid must not be null!");
+		Assert.notNull(failure, "Failure must not be null!");
+
+		LOG.error("Giving up on preparing order %s after %s attempt(s)!".formatted(event.orderIdentifier(), attempts),
+				failure);
+
+		deadLetters.increment();
+		failures.save(new FailedPreparation(event.orderIdentifier(), attempts, failure));
+	}
+
+	/**
+	 * Returns the number of retries currently waiting for their back-off to elapse.
+	 *
+	 * @return
+	 */
+	int getPendingCount() {
+		return pending.size();
+	}
+
+	/**
+	 * Returns the back-off to apply before the attempt following the given one.
+	 *
+	 * @param attempt the attempt that just failed, starting with one.
+	 * @return will never be {@literal null}.
+	 */
+	Duration getBackoff(int attempt) {
+
+		var initial = settings.initialBackoff().toMillis();
+		var max = settings.maxBackoff().toMillis();
+		var backoff = Math.min(max, initial * Math.pow(settings.multiplier(), attempt - 1));
+		var jitter = backoff * settings.jitter() * ThreadLocalRandom.current().nextDouble();
+
+		return Duration.ofMillis(Math.round(backoff - jitter));
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see io.micrometer.core.instrument.binder.MeterBinder#bindTo(io.micrometer.core.instrument.MeterRegistry)
+	 */
+	@Override
+	public void bindTo(MeterRegistry registry) {
+
+		FunctionCounter.builder("restbucks.engine.retries", retries, LongAdder::sum)
+				.description("The number of retries of orders that failed to be prepared")
+				.register(registry);
+
+		FunctionCounter.builder("restbucks.engine.dead-letters", deadLetters, LongAdder::sum)
+				.description("The number of orders recorded as failed preparations")
+				.register(registry);
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see java.lang.AutoCloseable#close()
+	 */
+	@Override
+	public void close() {
+
+		timer.shutdownNow();
+		workers.close();
+
+		// Retries are only held in memory, record the ones still pending so that they don't get lost
+		for (var identifier : pending.keySet()) {
+
+			var retry = pending.remove(identifier);
+
+			if (retry != null) {
+				giveUp(retry.event(), retry.attempt(), retry.failure());
+			}
+		}
+	}
+
+	private void attempt(OrderPaid event, ObjIntConsumer<OrderPaid> action, int attempt) {
+
+		try {
+			action.accept(event, attempt);
+		} catch (RuntimeException e) {
+			failed(event, action, attempt, e);
+		}
+	}
+
+	private void failed(OrderPaid event, ObjIntConsumer<OrderPaid> action, int attempt, Throwable failure) {
+
+		if (attempt >= settings.maxAttempts()) {
+			giveUp(event, attempt, failure);
+			return;
+		}
+
+		var backoff = getBackoff(attempt);
+		var identifier = event.orderIdentifier();
+
+		LOG.warn("Attempt {} to prepare order {} failed ({}), retrying in {}.", attempt, identifier, failure.getMessage(),
+				backoff);
+
+		retries.increment();
+		pending.put(identifier, new PendingRetry(event, attempt, failure));
+
+		try {
+
+			timer.schedule(() -> workers.execute(() -> {
+
+				// Skip if already recorded as failed on shutdown
+				if (pending.remove(identifier) != null) {
+					attempt(event, action, attempt + 1);
+				}
+
+			}), backoff.toMillis(), TimeUnit.MILLISECONDS);
+
+		} catch (RejectedExecutionException o_O) {
+
+			if (pending.remove(identifier) != null) {
+				giveUp(event, attempt, failure);
+			}
+		}
+	}
+
+	/**
+	 * A retry waiting for its back-off to elapse.
+	 *
+	 * @param event the {@link OrderPaid} event to retry.
+	 * @param attempt the attempt that failed.
+	 * @param failure the failure of that attempt.
+	 */
+	private record PendingRetry(OrderPaid event, int attempt, Throwable failure) {}
+}
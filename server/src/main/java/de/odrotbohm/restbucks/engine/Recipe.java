@@ -0,0 +1,64 @@
+/*
+ * Copyright 2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package de.odrotbohm.restbucks.engine;
+
+import de.odrotbohm.restbucks.drinks.Milk;
+import de.odrotbohm.restbucks.drinks.Size;
+import de.odrotbohm.restbucks.order.LineItem;
+import de.odrotbohm.restbucks.order.Order;
+
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import org.springframework.util.Assert;
+
+/**
+ * The drinks to be prepared for an {@link Order}, independent of their quantity. Orders with equal recipes can be
+ * prepared together on a single station.
+ *
+ * @author Oliver Drotbohm
+ */
+record Recipe(Set<Step> steps) {
+
+	/**
+	 * Creates the {@link Recipe} for the given {@link Order}.
+	 *
+	 * @param order must not be {@literal null}.
+	 * @return will never be {@literal null}.
+	 */
+	static Recipe of(Order order) {
+
+		Assert.notNull(order, "Order must not be null!");
+
+		return new Recipe(order.getLineItems().stream()
+				.map(Step::of)
+				.collect(Collectors.toUnmodifiableSet()));
+	}
+
+	/**
+	 * A single drink to prepare.
+	 *
+	 * @param name the name of the drink.
+	 * @param milk the {@link Milk} to use.
+	 * @param size the {@link Size} of the drink.
+	 */
+	record Step(String name, Milk milk, Size size) {
+
+		static Step of(LineItem item) {
+			return new Step(item.getName(), item.getMilk(), item.getSize());
+		}
+	}
+}
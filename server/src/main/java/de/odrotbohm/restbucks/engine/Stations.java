@@ -0,0 +1,617 @@
+/*
+ * Copyright 2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package de.odrotbohm.restbucks.engine;
+
+import de.odrotbohm.restbucks.engine.EngineSettings.RejectionPolicy;
+import de.odrotbohm.restbucks.engine.EngineSettings.StationSettings;
+import de.odrotbohm.restbucks.order.Location;
+import de.odrotbohm.restbucks.order.Order.OrderIdentifier;
+import de.odrotbohm.restbucks.order.Order.OrderPaid;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import lombok.extern.slf4j.Slf4j;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+
+import org.jspecify.annotations.Nullable;
+import org.springframework.stereotype.Component;
+import org.springframework.util.Assert;
+
+/**
+ * A fixed number of stations {@link OrderPaid} events are prepared on. Orders arriving while all stations are busy wait
+ * in a bounded queue and are picked up as soon as a station becomes available. If the queue is full, the configured
+ * {@link RejectionPolicy} is applied.
+ * <p>
+ * The queue consists of one {@link Lanes lane} per {@link Location}. A free station picks orders from the lanes in
+ * proportion to their configured weights, so that orders consumed in store are served with priority, but a spike in
+ * take-away orders can neither starve them nor can they starve take-away orders.
+ * <p>
+ * A station is occupied until the {@link Barista} signals the preparation to be completed, not for as long as a thread
+ * is busy. With {@link EngineSettings.PreparationMode#SCHEDULED}, a station thus does not hold on to a thread while
+ * waiting for the preparation time to elapse.
+ * <p>
+ * If batching is enabled, orders with the same {@link Recipe} are prepared together. A station that picks up an order
+ * waits for the configured batch window for further orders with the same recipe to arrive, unless the batch is full
+ * before. A station freed up takes all orders with the same recipe as the next one waiting in the queue along.
+ * <p>
+ * Orders the {@link Barista} fails to prepare are handed to the {@link PreparationRetries}, so that they are accepted
+ * again after a back-off or recorded as {@link FailedPreparation} once the maximum number of attempts is reached. As
+ * the queue is only held in memory, orders still waiting for a station when the stations are closed are recorded as
+ * {@link FailedPreparation}s, too.
+ * <p>
+ * Exposes the current queue depth, the number of busy stations, the number of rejected orders, the time orders wait
+ * for a station and the time until they are ready per lane, as well as the size of the batches prepared as metrics, so
+ * that the number of stations and the lane weights can be sized by the throughput expected.
+ *
+ * @author Oliver Drotbohm
+ */
+@Slf4j
+@Component
+class Stations implements MeterBinder, AutoCloseable {
+
+	private final StationSettings settings;
+	private final Barista barista;
+	private final PreparationRetries retries;
+	private final ExecutorService executor;
+
+	private final Lock lock = new ReentrantLock();
+	private final Condition capacity = lock.newCondition();
+	private final Lanes queue;
+	private final Map<Recipe, Batch> collecting = new HashMap<>();
+	private final LongAdder rejected = new LongAdder();
+
+	private int busy;
+	private boolean closed;
+	private volatile Map<Location, Timer> waitTimes = Map.of();
+	private volatile Map<Location, Timer> readyTimes = Map.of();
+	private volatile @Nullable DistributionSummary batchSize;
+
+	/**
+	 * Creates a new {@link Stations} instance for the given {@link EngineSettings}, {@link Barista} and
+	 * {@link PreparationRetries}.
+	 *
+	 * @param settings must not be {@literal null}.
+	 * @param barista must not be {@literal null}.
+	 * @param retries must not be {@literal null}.
+	 */
+	Stations(EngineSettings settings, Barista barista, PreparationRetries retries) {
+
+		Assert.notNull(settings, "EngineSettings must not be null!");
+		Assert.notNull(barista, "Barista must not be null!");
+		Assert.notNull(retries, "PreparationRetries must not be null!");
+
+		this.settings = settings.getStations();
+		this.barista = barista;
+		this.retries = retries;
+		this.queue = new Lanes(this.settings.lanes());
+		this.executor = Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("station-", 0).factory());
+	}
+
+	/**
+	 * Accepts the given {@link OrderPaid} event for preparation. Starts preparing it right away if a station is
+	 * available or queues it otherwise.
+	 *
+	 * @param event must not be {@literal null}.
+	 * @throws RejectedExecutionException in case all stations are busy, the queue is full and the
+	 *           {@link RejectionPolicy} is {@link RejectionPolicy#ABORT}. Callers are expected to retry accepting the
+	 *           order through the {@link PreparationRetries}.
+	 */
+	void accept(OrderPaid event) {
+		accept(event, null);
+	}
+
+	/**
+	 * Accepts the given {@link OrderPaid} event for preparation. Adds it to a batch of orders with the same
+	 * {@link Recipe} about to be prepared if possible, starts preparing it right away if a station is available or
+	 * queues it otherwise.
+	 *
+	 * @param event must not be {@literal null}.
+	 * @param recipe the {@link Recipe} of the order, {@literal null} if the order is not supposed to be batched.
+	 * @throws RejectedExecutionException in case all stations are busy, the queue is full and the
+	 *           {@link RejectionPolicy} is {@link RejectionPolicy#ABORT}. Callers are expected to retry accepting the
+	 *           order through the {@link PreparationRetries}.
+	 */
+	void accept(OrderPaid event, @Nullable Recipe recipe) {
+		accept(event, recipe, 1);
+	}
+
+	/**
+	 * Returns the number of orders currently waiting for a station.
+	 *
+	 * @return
+	 */
+	int getQueueSize() {
+
+		lock.lock();
+
+		try {
+			return queue.size();
+		} finally {
+			lock.unlock();
+		}
+	}
+
+	/**
+	 * Returns the number of orders currently waiting for a station in the lane for the given {@link Location}.
+	 *
+	 * @param location must not be {@literal null}.
+	 * @return
+	 */
+	int getQueueSize(Location location) {
+
+		lock.lock();
+
+		try {
+			return queue.size(location);
+		} finally {
+			lock.unlock();
+		}
+	}
+
+	/**
+	 * Returns the number of stations currently preparing an order.
+	 *
+	 * @return
+	 */
+	int getBusyStations() {
+
+		lock.lock();
+
+		try {
+			return busy;
+		} finally {
+			lock.unlock();
+		}
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see io.micrometer.core.instrument.binder.MeterBinder#bindTo(io.micrometer.core.instrument.MeterRegistry)
+	 */
+	@Override
+	public void bindTo(MeterRegistry registry) {
+
+		var waitTimes = new EnumMap<Location, Timer>(Location.class);
+		var readyTimes = new EnumMap<Location, Timer>(Location.class);
+
+		for (Location location : Location.values()) {
+
+			var lane = location.name().toLowerCase(Locale.ROOT);
+
+			Gauge.builder("restbucks.engine.queue.size", this, it -> it.getQueueSize(location))
+					.description("The number of orders waiting for a station")
+					.tag("lane", lane)
+					.register(registry);
+
+			waitTimes.put(location, Timer.builder("restbucks.engine.queue.wait")
+					.description("The time orders wait for a station to become available")
+					.tag("lane", lane)
+					.publishPercentileHistogram()
+					.register(registry));
+
+			readyTimes.put(location, Timer.builder("restbucks.engine.orders.ready")
+					.description("The time from accepting an order until it is prepared")
+					.tag("lane", lane)
+					.publishPercentileHistogram()
+					.register(registry));
+		}
+
+		Gauge.builder("restbucks.engine.stations.busy", this, Stations::getBusyStations)
+				.description("The number of stations currently preparing an order")
+				.register(registry);
+
+		FunctionCounter.builder("restbucks.engine.orders.rejected", rejected, LongAdder::sum)
+				.description("The number of orders rejected as all stations were busy and the queue was full")
+				.register(registry);
+
+		this.batchSize = DistributionSummary.builder("restbucks.engine.batch.size")
+				.description("The number of orders prepared together on a station")
+				.register(registry);
+
+		this.waitTimes = waitTimes;
+		this.readyTimes = readyTimes;
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see java.lang.AutoCloseable#close()
+	 */
+	@Override
+	public void close() {
+
+		List<Ticket> waiting = new ArrayList<>();
+
+		lock.lock();
+
+		try {
+
+			closed = true;
+
+			for (var ticket = queue.poll(); ticket != null; ticket = queue.poll()) {
+				waiting.add(ticket);
+			}
+
+			capacity.signalAll();
+
+		} finally {
+			lock.unlock();
+		}
+
+		executor.shutdown();
+
+		try {
+			executor.awaitTermination(10, TimeUnit.SECONDS);
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
+
+		giveUp(waiting);
+	}
+
+	private void accept(OrderPaid event, @Nullable Recipe recipe, int attempt) {
+
+		Assert.notNull(event, "OrderPaid must not be null!");
+
+		var ticket = new Ticket(event, settings.isBatching() ? recipe : null, attempt, System.nanoTime());
+		var waited = false;
+		@Nullable Batch batch = null;
+
+		lock.lock();
+
+		try {
+
+			while (true) {
+
+				if (closed) {
+					throw new RejectedExecutionException(
+							"Stations closed, rejecting order %s!".formatted(ticket.identifier()));
+				}
+
+				var existing = ticket.recipe() == null ? null : collecting.get(ticket.recipe());
+
+				if (existing != null) {
+
+					existing.add(ticket);
+
+					if (existing.isFull()) {
+						collecting.remove(ticket.recipe());
+					}
+
+					return;
+
+				} else if (busy < settings.size()) {
+
+					busy++;
+
+					if (!waited && ticket.recipe() != null && !settings.batchWindow().isZero()) {
+						batch = new Batch(ticket);
+						collecting.put(ticket.recipe(), batch);
+					}
+
+					break;
+
+				} else if (queue.size() < settings.queueCapacity()) {
+
+					queue.add(ticket);
+					return;
+				}
+
+				if (!waited) {
+					rejected.increment();
+				}
+
+				if (settings.rejectionPolicy() == RejectionPolicy.ABORT) {
+					throw new RejectedExecutionException(
+							"All %s stations busy and %s orders waiting, rejecting order %s!".formatted(settings.size(),
+									settings.queueCapacity(), ticket.identifier()));
+				}
+
+				if (!waited) {
+					LOG.warn("All stations busy, order {} waits on the submitting thread.", ticket.identifier());
+				}
+
+				waited = true;
+
+				try {
+					capacity.await();
+				} catch (InterruptedException o_O) {
+					Thread.currentThread().interrupt();
+					throw new RejectedExecutionException("Interrupted waiting for a station for order %s!"
+							.formatted(ticket.identifier()), o_O);
+				}
+			}
+
+		} finally {
+			lock.unlock();
+		}
+
+		if (batch != null) {
+			collect(batch);
+		} else if (waited) {
+			runOnCaller(ticket);
+		} else {
+			start(List.of(ticket));
+		}
+	}
+
+	/**
+	 * Prepares the given {@link Ticket} on the station taken by the submitting thread, which has been waiting for it with
+	 * {@link RejectionPolicy#CALLER_RUNS}.
+	 *
+	 * @param ticket must not be {@literal null}.
+	 */
+	private void runOnCaller(Ticket ticket) {
+
+		try {
+			prepare(List.of(ticket)).join();
+		} finally {
+			release();
+		}
+	}
+
+	/**
+	 * Records the given {@link Ticket}s as failed, as they cannot be prepared anymore.
+	 *
+	 * @param tickets must not be {@literal null}.
+	 */
+	private void giveUp(List<Ticket> tickets) {
+
+		for (Ticket ticket : tickets) {
+
+			var failure = new RejectedExecutionException(
+					"Stations closed before order %s was prepared!".formatted(ticket.identifier()));
+
+			retries.giveUp(ticket.event(), ticket.attempt() - 1, failure);
+		}
+	}
+
+	/**
+	 * Waits for the batch window to elapse or the given {@link Batch} to be full and starts preparing the orders
+	 * collected until then on the station already taken.
+	 *
+	 * @param batch must not be {@literal null}.
+	 */
+	private void collect(Batch batch) {
+
+		try {
+			executor.execute(() -> {
+
+				try {
+					batch.full.await(settings.batchWindow().toNanos(), TimeUnit.NANOSECONDS);
+				} catch (InterruptedException e) {
+					Thread.currentThread().interrupt();
+				}
+
+				List<Ticket> tickets;
+
+				lock.lock();
+
+				try {
+					collecting.remove(batch.recipe(), batch);
+					tickets = List.copyOf(batch.tickets);
+				} finally {
+					lock.unlock();
+				}
+
+				prepare(tickets).whenComplete((__, ___) -> release());
+			});
+		} catch (RejectedExecutionException e) {
+			release();
+			throw e;
+		}
+	}
+
+	private void start(List<Ticket> tickets) {
+
+		try {
+			executor.execute(() -> prepare(tickets).whenComplete((__, ___) -> release()));
+		} catch (RejectedExecutionException e) {
+			release();
+			throw e;
+		}
+	}
+
+	private CompletableFuture<Void> prepare(List<Ticket> tickets) {
+
+		var now = System.nanoTime();
+		var timers = waitTimes;
+		var summary = batchSize;
+
+		for (Ticket ticket : tickets) {
+
+			var waited = Duration.ofNanos(now - ticket.enqueued());
+			var timer = timers.get(ticket.location());
+
+			if (timer != null) {
+				timer.record(waited);
+			}
+
+			LOG.debug("Order {} waited {} for a station.", ticket.identifier(), waited);
+		}
+
+		if (summary != null) {
+			summary.record(tickets.size());
+		}
+
+		var identifiers = tickets.stream().map(Ticket::identifier).toList();
+		CompletableFuture<Void> preparation;
+
+		try {
+			preparation = barista.prepare(identifiers);
+		} catch (RuntimeException e) {
+			preparation = CompletableFuture.failedFuture(e);
+		}
+
+		return preparation.handle((__, failure) -> {
+
+			if (failure != null) {
+
+				var cause = failure instanceof CompletionException && failure.getCause() != null //
+						? failure.getCause()
+						: failure;
+
+				for (Ticket ticket : tickets) {
+					retries.retry(ticket.event(), ticket.attempt(), cause,
+							(event, attempt) -> accept(event, ticket.recipe(), attempt));
+				}
+
+				return null;
+			}
+
+			var finished = System.nanoTime();
+			var ready = readyTimes;
+
+			for (Ticket ticket : tickets) {
+
+				var timer = ready.get(ticket.location());
+
+				if (timer != null) {
+					timer.record(finished - ticket.enqueued(), TimeUnit.NANOSECONDS);
+				}
+			}
+
+			return null;
+		});
+	}
+
+	/**
+	 * Releases the station just used and directly hands it to the next order waiting, if any, including all orders
+	 * waiting with the same {@link Recipe} up to the configured batch size.
+	 */
+	private void release() {
+
+		List<Ticket> next = new ArrayList<>();
+
+		lock.lock();
+
+		try {
+
+			var head = queue.poll();
+
+			// Either a station or room in the queue becomes available
+			capacity.signalAll();
+
+			if (head == null) {
+				busy--;
+			} else {
+
+				next.add(head);
+
+				var recipe = head.recipe();
+
+				if (recipe != null) {
+					next.addAll(queue.pollMatching(recipe, head.location(), settings.batchSize() - 1));
+				}
+			}
+
+		} finally {
+			lock.unlock();
+		}
+
+		if (next.isEmpty()) {
+			return;
+		}
+
+		try {
+			start(next);
+		} catch (RejectedExecutionException o_O) {
+			giveUp(next);
+		}
+	}
+
+	/**
+	 * An order waiting for a station.
+	 *
+	 * @param event the {@link OrderPaid} event of the order to prepare.
+	 * @param recipe the {@link Recipe} of the order, {@literal null} if the order is not supposed to be batched.
+	 * @param attempt the attempt to prepare the order, starting with one.
+	 * @param enqueued the {@link System#nanoTime()} the order was accepted at.
+	 */
+	record Ticket(OrderPaid event, @Nullable Recipe recipe, int attempt, long enqueued) {
+
+		/**
+		 * Returns the identifier of the order to prepare.
+		 *
+		 * @return will never be {@literal null}.
+		 */
+		OrderIdentifier identifier() {
+			return event.orderIdentifier();
+		}
+
+		/**
+		 * Returns the {@link Location} of the order, determining the lane it waits in.
+		 *
+		 * @return will never be {@literal null}.
+		 */
+		Location location() {
+			return event.location();
+		}
+	}
+
+	/**
+	 * Orders with the same {@link Recipe} collected to be prepared together on a station already taken. Guarded by the
+	 * {@link Stations}' lock.
+	 *
+	 * @author Oliver Drotbohm
+	 */
+	private class Batch {
+
+		private final List<Ticket> tickets = new ArrayList<>();
+		private final CountDownLatch full = new CountDownLatch(1);
+
+		Batch(Ticket first) {
+			tickets.add(first);
+		}
+
+		Recipe recipe() {
+			return tickets.get(0).recipe();
+		}
+
+		void add(Ticket ticket) {
+
+			tickets.add(ticket);
+
+			if (isFull()) {
+				full.countDown();
+			}
+		}
+
+		boolean isFull() {
+			return tickets.size() >= settings.batchSize();
+		}
+	}
+}
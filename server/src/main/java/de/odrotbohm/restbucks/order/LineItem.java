@@ -16,6 +16,7 @@
 package de.odrotbohm.restbucks.order;
 
 import de.odrotbohm.restbucks.drinks.Drink;
+import de.odrotbohm.restbucks.drinks.MenuItem;
 import de.odrotbohm.restbucks.drinks.Milk;
 import de.odrotbohm.restbucks.drinks.Size;
 import de.odrotbohm.restbucks.drinks.Drink.DrinkIdentifier;
@@ -27,6 +28,7 @@ import java.util.UUID;
 
 import javax.money.MonetaryAmount;
 
+import org.javamoney.moneta.FastMoney;
 import org.jmolecules.ddd.types.Association;
 import org.jmolecules.ddd.types.Entity;
 import org.jmolecules.ddd.types.Identifier;
@@ -49,18 +51,18 @@ public class LineItem implements Entity<Order, LineItemIdentifier> {
 	private int quantity;
 
 	public LineItem(Drink drink) {
+		this(MenuItem.of(drink));
+	}
+
+	public LineItem(MenuItem item) {
 
 		this.id = new LineItemIdentifier(UUID.randomUUID());
-		this.name = drink.getName();
+		this.name = item.name();
 		this.quantity = 1;
-		this.milk = drink.getMilk();
-		this.size = drink.getSize();
-		this.price = drink.getPrice();
-		this.drink = Association.forAggregate(drink);
-	}
-
-	boolean refersTo(Drink drink) {
-		return this.drink.getId().equals(drink.getId());
+		this.milk = item.milk();
+		this.size = item.size();
+		this.price = item.price();
+		this.drink = Association.forId(item.id());
 	}
 
 	LineItem increaseAmount() {
@@ -68,5 +70,14 @@ public class LineItem implements Entity<Order, LineItemIdentifier> {
 		return this;
 	}
 
+	/**
+	 * Returns the price of the {@link LineItem} considering its quantity.
+	 *
+	 * @return will never be {@literal null}.
+	 */
+	FastMoney getTotal() {
+		return FastMoney.from(price).multiply(quantity);
+	}
+
 	public record LineItemIdentifier(UUID id) implements Identifier {}
 }
@@ -15,9 +15,13 @@
  */
 package de.odrotbohm.restbucks.order;
 
+import de.odrotbohm.restbucks.core.Currencies;
 import de.odrotbohm.restbucks.drinks.Drink;
+import de.odrotbohm.restbucks.drinks.Drink.DrinkIdentifier;
+import de.odrotbohm.restbucks.drinks.MenuItem;
 import de.odrotbohm.restbucks.order.Order.OrderIdentifier;
 import jakarta.persistence.Column;
+import jakarta.persistence.Index;
 import jakarta.persistence.OrderColumn;
 import jakarta.persistence.Table;
 import jakarta.persistence.Version;
@@ -25,17 +29,22 @@ import lombok.Getter;
 import lombok.ToString;
 
 import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.UUID;
 
 import javax.money.MonetaryAmount;
 
+import org.javamoney.moneta.FastMoney;
 import org.javamoney.moneta.Money;
 import org.jmolecules.ddd.types.AggregateRoot;
 import org.jmolecules.ddd.types.Identifier;
 import org.jmolecules.event.types.DomainEvent;
+import org.jspecify.annotations.Nullable;
 import org.springframework.data.domain.AbstractAggregateRoot;
 
 /**
@@ -45,7 +54,7 @@ import org.springframework.data.domain.AbstractAggregateRoot;
  */
 @Getter
 @ToString(exclude = "lineItems")
-@Table(name = "RBOrder")
+@Table(name = "RBOrder", indexes = @Index(name = "rborder_status_ordered_date", columnList = "status, ordered_date"))
 public class Order extends AbstractAggregateRoot<Order> implements AggregateRoot<Order, OrderIdentifier> {
 
 	private final OrderIdentifier id;
@@ -58,6 +67,18 @@ public class Order extends AbstractAggregateRoot<Order> implements AggregateRoot
 	@Column(unique = true) //
 	private final List<LineItem> lineItems = new ArrayList<>();
 
+	/**
+	 * The total of all {@link LineItem}s, kept in sync when adding {@link Drink}s. Not persisted but calculated on first
+	 * access after the {@link Order} has been loaded.
+	 */
+	private transient @Nullable FastMoney total;
+
+	/**
+	 * The {@link LineItem}s by the identifier of the {@link Drink} they refer to, kept in sync with {@link #lineItems}.
+	 * Not persisted but built on first access after the {@link Order} has been loaded.
+	 */
+	private transient @Nullable Map<DrinkIdentifier, LineItem> lineItemsByDrink;
+
 	/**
 	 * Creates a new {@link Order} for the given {@link LineItem}s and {@link Location}.
 	 *
@@ -66,12 +87,11 @@ public class Order extends AbstractAggregateRoot<Order> implements AggregateRoot
 	 */
 	public Order(Collection<LineItem> lineItems, Location location) {
 
-		this.id = new OrderIdentifier(UUID.randomUUID());
-		this.location = location == null ? Location.TAKE_AWAY : location;
-		this.status = Status.PAYMENT_EXPECTED;
+		this(location);
+
 		this.lineItems.addAll(lineItems);
-		this.orderedDate = LocalDateTime.now();
-		registerEvent(new OrderCreated(id, location));
+
+		registerEvent(new OrderCreated(id, this.location));
 	}
 
 	/**
@@ -83,57 +103,145 @@ public class Order extends AbstractAggregateRoot<Order> implements AggregateRoot
 		this(List.of(items), Location.TAKE_AWAY);
 	}
 
+	/**
+	 * Creates a new, empty {@link Order} without registering an {@link OrderCreated} event, as it's used by the
+	 * persistence provider to materialize existing {@link Order}s.
+	 */
 	Order() {
-		this(new LineItem[0]);
+		this((Location) null);
+	}
+
+	private Order(@Nullable Location location) {
+
+		this.id = new OrderIdentifier(UUID.randomUUID());
+		this.location = location == null ? Location.TAKE_AWAY : location;
+		this.status = Status.PAYMENT_EXPECTED;
+		// Align with the precision of the database column, so that keyset positions match the persisted value
+		this.orderedDate = LocalDateTime.now().truncatedTo(ChronoUnit.MICROS);
 	}
 
 	/**
-	 * Returns the price of the {@link Order} calculated from the contained items.
+	 * Returns the price of the {@link Order}, i.e. the total of all {@link LineItem}s considering their quantity.
 	 *
 	 * @return will never be {@literal null}.
 	 */
 	public MonetaryAmount getPrice() {
-
-		return lineItems.stream().//
-				map(LineItem::getPrice).//
-				reduce(MonetaryAmount::add).orElse(Money.of(0.0, "EUR"));
+		return Money.from(getTotal());
 	}
 
 	public Order add(Drink drink) {
+		return add(MenuItem.of(drink));
+	}
 
-		lineItems.stream()
-				.filter(it -> it.refersTo(drink))
-				.findFirst()
-				.map(it -> {
-					registerEvent(new OrderLineItemCreated(getId(), it));
-					return it.increaseAmount();
-				})
+	/**
+	 * Adds the {@link Drink} described by the given {@link MenuItem} to the {@link Order}, increasing the quantity of the
+	 * {@link LineItem} for it if already present.
+	 *
+	 * @param drink must not be {@literal null}.
+	 * @return the current {@link Order}.
+	 */
+	public Order add(MenuItem drink) {
+
+		var index = getLineItemsByDrink();
+		var item = index.get(drink.id());
 
-				.orElseGet(() -> {
+		if (item != null) {
 
-					LineItem item = new LineItem(drink);
-					this.lineItems.add(item);
-					registerEvent(new OrderLineItemCreated(getId(), item));
-					return item;
-				});
+			registerEvent(new OrderLineItemCreated(getId(), item));
+			item.increaseAmount();
+
+		} else {
+
+			item = new LineItem(drink);
+			this.lineItems.add(item);
+			index.put(drink.id(), item);
+			registerEvent(new OrderLineItemCreated(getId(), item));
+		}
+
+		if (total != null) {
+			total = total.add(FastMoney.from(item.getPrice()));
+		}
 
 		return this;
 	}
 
+	private Map<DrinkIdentifier, LineItem> getLineItemsByDrink() {
+
+		var result = lineItemsByDrink;
+
+		if (result == null) {
+
+			result = new HashMap<>();
+
+			for (LineItem item : lineItems) {
+				result.putIfAbsent(item.getDrink().getId(), item);
+			}
+
+			this.lineItemsByDrink = result;
+		}
+
+		return result;
+	}
+
+	private FastMoney getTotal() {
+
+		var result = total;
+
+		if (result == null) {
+
+			result = lineItems.stream()
+					.map(LineItem::getTotal)
+					.reduce(FastMoney.of(0, Currencies.EURO), FastMoney::add);
+
+			this.total = result;
+		}
+
+		return result;
+	}
+
 	/**
 	 * Marks the {@link Order} as payed.
 	 */
 	Order markPaid() {
 
+		registerEvent(pay());
+
+		return this;
+	}
+
+	/**
+	 * Marks the {@link Order} as payed and returns the {@link OrderPaid} event instead of registering it, for the state
+	 * transition to be persisted without saving the {@link Order}.
+	 *
+	 * @return will never be {@literal null}.
+	 * @see OrderPaymentsImpl
+	 */
+	OrderPaid pay() {
+
 		if (isPaid()) {
 			throw new IllegalStateException("Already paid order cannot be paid again!");
 		}
 
 		this.status = Status.PAID;
 
-		registerEvent(new OrderPaid(id, getPrice()));
+		return new OrderPaid(id, getPrice(), location);
+	}
 
-		return this;
+	/**
+	 * Marks the {@link Order} as payed after the state transition has been persisted without saving the {@link Order},
+	 * adopting the version it has been persisted with, so that the {@link Order} can be handed on as is.
+	 *
+	 * @param version the version persisted.
+	 * @return will never be {@literal null}.
+	 * @see OrderPaymentsImpl
+	 */
+	OrderPaid pay(long version) {
+
+		var event = pay();
+
+		this.version = version;
+
+		return event;
 	}
 
 	/**
@@ -249,12 +357,23 @@ public class Order extends AbstractAggregateRoot<Order> implements AggregateRoot
 	public record OrderLineItemCreated(Order.OrderIdentifier id, LineItem lineItem) implements DomainEvent {}
 
 	/**
-	 * Event to be thrown when an {@link Order} has been paid.
+	 * Event to be thrown when an {@link Order} has been paid. Carries the {@link Location} of the {@link Order}, so that
+	 * it can be prepared with the according priority without having to look up the order.
 	 *
 	 * @author Oliver Drotbohm
 	 * @author Stéphane Nicoll
 	 */
-	public record OrderPaid(OrderIdentifier orderIdentifier, MonetaryAmount total) implements DomainEvent {}
+	public record OrderPaid(OrderIdentifier orderIdentifier, MonetaryAmount total, Location location)
+			implements DomainEvent {
+
+		public OrderPaid {
+
+			// Events published before the location was added
+			if (location == null) {
+				location = Location.TAKE_AWAY;
+			}
+		}
+	}
 
 	/**
 	 * Event to be thrown when an {@link Order} is in preparation.
@@ -24,6 +24,7 @@ import de.odrotbohm.restbucks.drinks.Size;
 import lombok.NonNull;
 import lombok.RequiredArgsConstructor;
 
+import java.util.List;
 import java.util.stream.Stream;
 
 import org.javamoney.moneta.Money;
@@ -59,7 +60,7 @@ class OrderInitializer {
 		var cappuchino = drinks.save(new Drink("Cappuchino", Milk.SEMI, Size.SMALL, Money.of(3.20, EURO)));
 
 		Stream.of(javaChip, cappuchino)
-				.map(it -> new Order().add(it))
+				.map(it -> new Order(List.of(), Location.TAKE_AWAY).add(it))
 				.forEach(orders::save);
 	}
 }
@@ -0,0 +1,38 @@
+/*
+ * Copyright 2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package de.odrotbohm.restbucks.order;
+
+import java.util.Optional;
+
+/**
+ * Payment related state transitions of {@link Order}s persisted without saving the entire {@link Order}.
+ *
+ * @author Oliver Drotbohm
+ * @see OrderPaymentsImpl
+ */
+interface OrderPayments {
+
+	/**
+	 * Marks the given {@link Order} as paid, in case it's still expecting payment and hasn't been changed since it was
+	 * loaded.
+	 *
+	 * @param order must not be {@literal null}.
+	 * @return the paid {@link Order} carrying the status and version persisted or {@link Optional#empty()} in case it has
+	 *         been paid or changed concurrently.
+	 * @throws IllegalStateException in case the given {@link Order} has already been paid.
+	 */
+	Optional<Order> markPaid(Order order);
+}
@@ -0,0 +1,87 @@
+/*
+ * Copyright 2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package de.odrotbohm.restbucks.order;
+
+import de.odrotbohm.restbucks.order.Order.Status;
+import jakarta.persistence.EntityManager;
+import lombok.NonNull;
+import lombok.RequiredArgsConstructor;
+
+import java.util.Optional;
+
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.util.Assert;
+
+/**
+ * Repository fragment implementing {@link OrderPayments} through a conditional update of the status of the
+ * {@link Order}, so that paying an {@link Order} issues a single statement only touching the status and version
+ * instead of writing the entire {@link Order}. As the update only applies to an {@link Order} still expecting payment
+ * in the version the payment was authorized for, neither concurrent payments of the same {@link Order} nor a payment
+ * of an {@link Order} changed in the meantime can succeed. The {@link Order.OrderPaid} event is published explicitly,
+ * as the {@link Order} is not saved. The {@link Order} returned carries the status and version written by the update,
+ * so that it can be rendered or saved without running into an optimistic locking failure.
+ *
+ * @author Oliver Drotbohm
+ */
+@RequiredArgsConstructor
+class OrderPaymentsImpl implements OrderPayments {
+
+	private static final String MARK_PAID = "update Order o set o.status = :paid, o.version = o.version + 1"
+			+ " where o.id = :id and o.status = :expected and o.version = :version";
+
+	private final @NonNull EntityManager em;
+	private final @NonNull ApplicationEventPublisher events;
+
+	/*
+	 * (non-Javadoc)
+	 * @see de.odrotbohm.restbucks.order.OrderPayments#markPaid(de.odrotbohm.restbucks.order.Order)
+	 */
+	@Override
+	@Transactional
+	public Optional<Order> markPaid(Order order) {
+
+		Assert.notNull(order, "Order must not be null!");
+
+		if (order.isPaid()) {
+			throw new IllegalStateException("Already paid order cannot be paid again!");
+		}
+
+		var version = order.getVersion();
+
+		Assert.state(version != null, "Order must have been persisted before it can be paid!");
+
+		var updated = em.createQuery(MARK_PAID)
+				.setParameter("paid", Status.PAID)
+				.setParameter("id", order.getId())
+				.setParameter("expected", Status.PAYMENT_EXPECTED)
+				.setParameter("version", version)
+				.executeUpdate();
+
+		if (updated == 0) {
+			return Optional.empty();
+		}
+
+		// Changes to a managed instance would be flushed in addition to the update
+		if (em.contains(order)) {
+			em.detach(order);
+		}
+
+		events.publishEvent(order.pay(version + 1));
+
+		return Optional.of(order);
+	}
+}
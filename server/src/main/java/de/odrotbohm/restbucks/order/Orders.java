@@ -21,24 +21,33 @@ import de.odrotbohm.restbucks.order.Order.ProcessingStarted;
 import de.odrotbohm.restbucks.order.Order.Status;
 
 import java.util.List;
+import java.util.Optional;
 
 import org.jmolecules.ddd.integration.AssociationResolver;
 import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Window;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.CrudRepository;
 import org.springframework.data.repository.PagingAndSortingRepository;
 import org.springframework.data.repository.query.Param;
 import org.springframework.data.rest.core.annotation.RepositoryRestResource;
+import org.springframework.data.rest.core.annotation.RestResource;
 import org.springframework.transaction.annotation.Transactional;
 
 /**
  * Repository to manage {@link Order} instances.
  *
  * @author Oliver Drotbohm
+ * @see OrderPayments
  */
 @RepositoryRestResource(excerptProjection = OrderProjection.class)
 public interface Orders extends CrudRepository<Order, OrderIdentifier>,
 		AssociationResolver<Order, OrderIdentifier>,
-		PagingAndSortingRepository<Order, OrderIdentifier> {
+		PagingAndSortingRepository<Order, OrderIdentifier>, OrderPayments {
 
 	/**
 	 * Returns all {@link Order}s with the given {@link Status}.
@@ -49,15 +58,65 @@ public interface Orders extends CrudRepository<Order, OrderIdentifier>,
 	List<Order> findByStatus(@Param("status") Status status);
 
 	/**
-	 * Marks the given {@link Order} as paid.
+	 * Returns a {@link Slice} of {@link Order}s with the given {@link Status}, oldest first. Backed by the index on
+	 * status and ordered date and avoids the count query a page would need.
 	 *
-	 * @param order must not be {@literal null}.
-	 * @return
+	 * @param status must not be {@literal null}.
+	 * @param pageable must not be {@literal null}.
+	 * @return will never be {@literal null}.
 	 */
-	@Transactional
-	default Order markPaid(Order order) {
-		return save(order.markPaid());
-	}
+	@RestResource(path = "by-status", rel = "by-status")
+	Slice<Order> findByStatusOrderByOrderedDateAscIdAsc(@Param("status") Status status, Pageable pageable);
+
+	/**
+	 * Returns a {@link Window} of {@link Order}s with the given {@link Status}, oldest first, starting after the given
+	 * {@link ScrollPosition}. Using a keyset-based position, the database seeks to the next {@link Order}s using the
+	 * index on status and ordered date instead of skipping all previous ones.
+	 *
+	 * @param status must not be {@literal null}.
+	 * @param position must not be {@literal null}.
+	 * @param limit must not be {@literal null}.
+	 * @return will never be {@literal null}.
+	 */
+	@RestResource(exported = false)
+	Window<Order> findByStatusOrderByOrderedDateAscIdAsc(Status status, ScrollPosition position, Limit limit);
+
+	/**
+	 * Returns the number of {@link Order}s per {@link Status}. {@link Status}es no {@link Order} is currently in are
+	 * omitted.
+	 *
+	 * @return will never be {@literal null}.
+	 */
+	@RestResource(exported = false)
+	@Query("select o.status as status, count(o) as count from Order o group by o.status")
+	List<StatusCount> countByStatus();
+
+	/**
+	 * Returns the version of the {@link Order} with the given {@link OrderIdentifier} without loading it.
+	 *
+	 * @param id must not be {@literal null}.
+	 * @return will never be {@literal null}.
+	 */
+	@RestResource(exported = false)
+	@Query("select o.version from Order o where o.id = :id")
+	Optional<Long> findVersionById(@Param("id") OrderIdentifier id);
+
+	/**
+	 * Returns the {@link Status} of the {@link Order} with the given {@link OrderIdentifier} without loading it.
+	 *
+	 * @param id must not be {@literal null}.
+	 * @return will never be {@literal null}.
+	 */
+	@RestResource(exported = false)
+	@Query("select o.status from Order o where o.id = :id")
+	Optional<Status> findStatusById(@Param("id") OrderIdentifier id);
+
+	/*
+	 * (non-Javadoc)
+	 * @see de.odrotbohm.restbucks.order.OrderPayments#markPaid(de.odrotbohm.restbucks.order.Order)
+	 */
+	@Override
+	Optional<Order> markPaid(Order order);
 
 	/**
 	 * Marks the order with the given {@link OrderIdentifier} as in preparation.
@@ -101,4 +160,16 @@ public interface Orders extends CrudRepository<Order, OrderIdentifier>,
 	default Order markTaken(Order order) {
 		return save(order.markTaken());
 	}
+
+	/**
+	 * The number of {@link Order}s in a particular {@link Status}.
+	 *
+	 * @author Oliver Drotbohm
+	 */
+	interface StatusCount {
+
+		Status getStatus();
+
+		long getCount();
+	}
 }
@@ -20,13 +20,17 @@ import lombok.NonNull;
 import lombok.RequiredArgsConstructor;
 
 import org.springframework.hateoas.EntityModel;
+import org.springframework.hateoas.IanaLinkRelations;
+import org.springframework.hateoas.Link;
 import org.springframework.hateoas.server.EntityLinks;
 import org.springframework.hateoas.server.RepresentationModelProcessor;
 import org.springframework.stereotype.Component;
 
 /**
  * {@link ResourceProcessor} implementation to add links to the {@link Order} representation that indicate that the
- * Order can be updated or cancelled as long as it has not been paid yet.
+ * Order can be updated or cancelled as long as it has not been paid yet and to the stream of its status changes as long
+ * as it has not been taken yet. The links are derived from the {@code self} link already present on the model, so that
+ * the URI of the order only needs to be resolved through {@link EntityLinks} if it's missing.
  *
  * @author Oliver Drotbohm
  */
@@ -36,6 +40,7 @@ class CoreOrderResourceProcessor implements RepresentationModelProcessor<EntityM
 
 	public static final String CANCEL_REL = "cancel";
 	public static final String UPDATE_REL = "update";
+	public static final String EVENTS_REL = "events";
 
 	private final @NonNull EntityLinks entityLinks;
 
@@ -46,12 +51,14 @@ class CoreOrderResourceProcessor implements RepresentationModelProcessor<EntityM
 	@Override
 	public EntityModel<Order> process(EntityModel<Order> resource) {
 
-		var typedEntityLinks = entityLinks.forType(Order::getId);
 		var order = resource.getContent();
-		var orderLink = typedEntityLinks.linkForItemResource(order);
+		var orderUri = resource.getLink(IanaLinkRelations.SELF)
+				.map(Link::getHref)
+				.orElseGet(() -> entityLinks.linkFor(Order.class).slash(order.getId().id()).toUri().toString());
 
 		return resource
-				.addIf(!order.isPaid(), () -> orderLink.withRel(CANCEL_REL))
-				.addIf(!order.isPaid(), () -> orderLink.withRel(UPDATE_REL));
+				.addIf(!order.isPaid(), () -> Link.of(orderUri, CANCEL_REL))
+				.addIf(!order.isPaid(), () -> Link.of(orderUri, UPDATE_REL))
+				.addIf(!order.isTaken(), () -> Link.of(orderUri + OrderEventsController.EVENTS, EVENTS_REL));
 	}
 }
@@ -0,0 +1,105 @@
+/*
+ * Copyright 2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package de.odrotbohm.restbucks.order.web;
+
+import de.odrotbohm.restbucks.drinks.Drink;
+import de.odrotbohm.restbucks.drinks.Drink.DrinkIdentifier;
+import de.odrotbohm.restbucks.drinks.DrinksMenu;
+import de.odrotbohm.restbucks.drinks.MenuItem;
+import lombok.NonNull;
+import lombok.RequiredArgsConstructor;
+
+import java.net.URI;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.UUID;
+
+import org.jspecify.annotations.Nullable;
+import org.springframework.hateoas.server.EntityLinks;
+import org.springframework.stereotype.Component;
+import org.springframework.util.Assert;
+
+/**
+ * Resolves the URIs of {@link Drink} item resources submitted with orders into {@link MenuItem}s from the
+ * {@link DrinksMenu}. URIs are matched against the collection resource exposed for {@link Drink}s as obtained from
+ * {@link EntityLinks}, so that a custom base path or repository path is considered.
+ *
+ * @author Oliver Drotbohm
+ */
+@Component
+@RequiredArgsConstructor
+class DrinkResolver {
+
+	private final @NonNull EntityLinks links;
+	private final @NonNull DrinksMenu menu;
+
+	/**
+	 * Returns the {@link MenuItem}s for the given URIs, looked up from the {@link DrinksMenu} at once. URIs not pointing
+	 * to a {@link Drink} on the menu are not contained.
+	 *
+	 * @param uris must not be {@literal null}.
+	 * @return will never be {@literal null}.
+	 */
+	Map<URI, MenuItem> resolve(Collection<URI> uris) {
+
+		Assert.notNull(uris, "URIs must not be null!");
+
+		var prefix = links.linkFor(Drink.class).toUri().getPath() + "/";
+		var identifiers = new HashMap<URI, DrinkIdentifier>(uris.size() * 2);
+
+		for (URI uri : uris) {
+
+			var identifier = toIdentifier(uri, prefix);
+
+			if (identifier != null) {
+				identifiers.put(uri, identifier);
+			}
+		}
+
+		var items = menu.findAllById(new HashSet<>(identifiers.values()));
+		var result = new HashMap<URI, MenuItem>(identifiers.size() * 2);
+
+		identifiers.forEach((uri, identifier) -> {
+
+			var item = items.get(identifier);
+
+			if (item != null) {
+				result.put(uri, item);
+			}
+		});
+
+		return result;
+	}
+
+	private static @Nullable DrinkIdentifier toIdentifier(@Nullable URI uri, String prefix) {
+
+		var path = uri == null ? null : uri.getPath();
+
+		if (path == null || !path.startsWith(prefix)) {
+			return null;
+		}
+
+		var id = path.substring(prefix.length());
+
+		try {
+			return id.contains("/") ? null : new DrinkIdentifier(UUID.fromString(id));
+		} catch (IllegalArgumentException o_O) {
+			return null;
+		}
+	}
+}
@@ -16,19 +16,26 @@
 package de.odrotbohm.restbucks.order.web;
 
 import de.odrotbohm.restbucks.drinks.Drink;
+import de.odrotbohm.restbucks.drinks.MenuItem;
 import de.odrotbohm.restbucks.order.Location;
 import de.odrotbohm.restbucks.order.Order;
 import jakarta.validation.constraints.NotNull;
 import lombok.Data;
 
+import java.net.URI;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
+import java.util.Map;
+
+import org.springframework.validation.Errors;
 
 /**
- * DTO to bind incoming request data.
+ * DTO to bind incoming request data. The {@link Drink}s are submitted as URIs of their item resources and resolved into
+ * {@link MenuItem}s by the caller.
  *
  * @author Oliver Drotbohm
+ * @see DrinkResolver
  */
 @Data
 public class LocationAndDrinks {
@@ -36,12 +43,38 @@ public class LocationAndDrinks {
 	@NotNull //
 	private Location location;
 	@NotNull //
-	private List<Drink> drinks = new ArrayList<>();
+	private List<URI> drinks = new ArrayList<>();
+
+	/**
+	 * Rejects all {@link Drink}s submitted that are not contained in the given {@link MenuItem}s.
+	 *
+	 * @param items the {@link MenuItem}s by URI, must not be {@literal null}.
+	 * @param errors must not be {@literal null}.
+	 */
+	void rejectUnknownDrinks(Map<URI, MenuItem> items, Errors errors) {
+
+		for (int i = 0; i < drinks.size(); i++) {
 
-	public Order toOrder() {
+			if (!items.containsKey(drinks.get(i))) {
+				errors.rejectValue("drinks[" + i + "]", "drinks.unknown", "Unknown drink!");
+			}
+		}
+	}
+
+	/**
+	 * Creates the {@link Order} from the given {@link MenuItem}s, which have to contain all {@link Drink}s submitted.
+	 *
+	 * @param items the {@link MenuItem}s by URI, must not be {@literal null}.
+	 * @return will never be {@literal null}.
+	 * @see #rejectUnknownDrinks(Map, Errors)
+	 */
+	Order toOrder(Map<URI, MenuItem> items) {
 
 		Order order = new Order(Collections.emptyList(), location);
-		drinks.forEach(order::add);
+
+		drinks.stream()
+				.map(items::get)
+				.forEach(order::add);
 
 		return order;
 	}
@@ -0,0 +1,92 @@
+/*
+ * Copyright 2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package de.odrotbohm.restbucks.order.web;
+
+import de.odrotbohm.restbucks.drinks.MenuItem;
+import de.odrotbohm.restbucks.order.Order;
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.net.URI;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.springframework.validation.Errors;
+
+import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonCreator.Mode;
+
+/**
+ * DTO to bind a batch of {@link LocationAndDrinks} submitted as JSON array. All orders of a batch are created in a
+ * single transaction, so that their number is limited to {@value #MAX_SIZE}. This keeps a single request from holding
+ * a transaction and a connection for arbitrarily long and bounds the size of the payload bound and of the response
+ * rendered, while still covering what a single till or kiosk submits at once.
+ *
+ * @author Oliver Drotbohm
+ */
+@Getter
+@AllArgsConstructor(onConstructor = @__(@JsonCreator(mode = Mode.DELEGATING)))
+class LocationAndDrinksBatch {
+
+	static final int MAX_SIZE = 50;
+
+	private final @NotEmpty @Size(max = MAX_SIZE) @Valid List<LocationAndDrinks> orders;
+
+	/**
+	 * Returns the URIs of the drinks submitted with all orders of the batch, so that they can be resolved at once.
+	 *
+	 * @return will never be {@literal null}.
+	 */
+	Set<URI> toDrinks() {
+
+		var result = new LinkedHashSet<URI>();
+		orders.forEach(it -> result.addAll(it.getDrinks()));
+
+		return result;
+	}
+
+	/**
+	 * Rejects all drinks submitted with the orders of the batch that are not contained in the given {@link MenuItem}s.
+	 *
+	 * @param items the {@link MenuItem}s by URI, must not be {@literal null}.
+	 * @param errors must not be {@literal null}.
+	 */
+	void rejectUnknownDrinks(Map<URI, MenuItem> items, Errors errors) {
+
+		for (int i = 0; i < orders.size(); i++) {
+
+			errors.pushNestedPath("orders[" + i + "]");
+			orders.get(i).rejectUnknownDrinks(items, errors);
+			errors.popNestedPath();
+		}
+	}
+
+	/**
+	 * Returns the {@link Order}s to be created for the batch from the given {@link MenuItem}s, which have to contain all
+	 * drinks submitted.
+	 *
+	 * @param items the {@link MenuItem}s by URI, must not be {@literal null}.
+	 * @return will never be {@literal null}.
+	 */
+	List<Order> toOrders(Map<URI, MenuItem> items) {
+		return orders.stream().map(it -> it.toOrder(items)).toList();
+	}
+}
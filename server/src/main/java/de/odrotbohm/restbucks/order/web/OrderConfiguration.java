@@ -17,20 +17,26 @@ package de.odrotbohm.restbucks.order.web;
 
 import static org.springframework.hateoas.server.mvc.WebMvcLinkBuilder.*;
 
+import de.odrotbohm.restbucks.core.VersionedResourceInterceptor;
 import de.odrotbohm.restbucks.drinks.DrinksOptions;
 import de.odrotbohm.restbucks.drinks.Milk;
 import de.odrotbohm.restbucks.drinks.Size;
 import de.odrotbohm.restbucks.order.LineItem;
 import de.odrotbohm.restbucks.order.Location;
 import de.odrotbohm.restbucks.order.Order;
+import de.odrotbohm.restbucks.order.Order.OrderIdentifier;
+import de.odrotbohm.restbucks.order.Orders;
 
+import java.time.Duration;
 import java.util.Collection;
 import java.util.Optional;
 import java.util.function.Supplier;
 
 import javax.money.MonetaryAmount;
 
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.jackson.JacksonMixin;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.hateoas.Link;
@@ -38,6 +44,7 @@ import org.springframework.hateoas.MediaTypes;
 import org.springframework.hateoas.mediatype.MediaTypeConfigurationCustomizer;
 import org.springframework.hateoas.mediatype.hal.forms.HalFormsConfiguration;
 import org.springframework.hateoas.mediatype.hal.forms.HalFormsOptions;
+import org.springframework.web.servlet.handler.MappedInterceptor;
 
 import com.fasterxml.jackson.annotation.JsonAutoDetect;
 import com.fasterxml.jackson.annotation.JsonCreator;
@@ -64,6 +71,26 @@ class OrderConfiguration {
 						__ -> HalFormsOptions.remote(drinkOptionsLink.get()).withMinItems(1L));
 	}
 
+	@Bean
+	MappedInterceptor orderVersionInterceptor(Orders orders) {
+		return VersionedResourceInterceptor.forPaths(id -> orders.findVersionById(new OrderIdentifier(id)), "/orders/*");
+	}
+
+	@Bean
+	OrdersCollectionCache ordersCollectionCache(@Value("${restbucks.orders.cache.max-entries:256}") int maxEntries,
+			@Value("${restbucks.orders.cache.ttl:PT1M}") Duration ttl) {
+		return new OrdersCollectionCache(maxEntries, ttl);
+	}
+
+	@Bean
+	FilterRegistrationBean<OrdersCollectionCache> ordersCollectionCacheRegistration(OrdersCollectionCache cache) {
+
+		var registration = new FilterRegistrationBean<>(cache);
+		registration.addUrlPatterns(OrdersCollectionCache.PATH);
+
+		return registration;
+	}
+
 	@JacksonMixin(Order.class)
 	@JsonAutoDetect(isGetterVisibility = JsonAutoDetect.Visibility.NONE)
 	static abstract class OrderMixin {
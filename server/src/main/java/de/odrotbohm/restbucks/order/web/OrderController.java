@@ -15,14 +15,22 @@
  */
 package de.odrotbohm.restbucks.order.web;
 
+import de.odrotbohm.restbucks.drinks.DrinksMenu;
+import de.odrotbohm.restbucks.drinks.MenuItem;
 import de.odrotbohm.restbucks.order.Orders;
 import de.odrotbohm.spring.web.model.MappedPayloads;
 import lombok.RequiredArgsConstructor;
 
+import java.net.URI;
+import java.util.Map;
+
 import org.springframework.data.rest.webmvc.BasePathAwareController;
 import org.springframework.data.rest.webmvc.PersistentEntityResourceAssembler;
+import org.springframework.data.util.Streamable;
+import org.springframework.hateoas.CollectionModel;
 import org.springframework.hateoas.IanaLinkRelations;
 import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.Errors;
 import org.springframework.validation.annotation.Validated;
@@ -37,6 +45,7 @@ import org.springframework.web.bind.annotation.RequestBody;
 class OrderController {
 
 	private final Orders orders;
+	private final DrinkResolver drinks;
 
 	/**
 	 * Custom handler method to customize the creation of {@link Order}s.
@@ -50,10 +59,74 @@ class OrderController {
 	public HttpEntity<?> placeOrder(@RequestBody @Validated LocationAndDrinks payload, Errors errors,
 			PersistentEntityResourceAssembler assembler) {
 
+		var items = resolveDrinks(payload, errors);
+
 		return MappedPayloads.of(payload, errors)
-				.mapIfValid(LocationAndDrinks::toOrder)
+				.mapIfValid(it -> it.toOrder(items))
 				.mapIfValid(orders::save)
 				.mapIfValid(assembler::toFullResource)
 				.concludeIfValid(it -> ResponseEntity.created(it.getRequiredLink(IanaLinkRelations.SELF).toUri()).body(it));
 	}
+
+	/**
+	 * Creates multiple {@link Order}s at once. Rejects the entire batch if any of the submitted orders is invalid and
+	 * persists the valid ones in a single transaction using batched inserts.
+	 *
+	 * @param payload
+	 * @param errors
+	 * @param assembler
+	 * @return
+	 */
+	@PostMapping(path = "/orders/batch")
+	public HttpEntity<?> placeOrders(@RequestBody @Validated LocationAndDrinksBatch payload, Errors errors,
+			PersistentEntityResourceAssembler assembler) {
+
+		var items = resolveDrinks(payload, errors);
+
+		return MappedPayloads.of(payload, errors)
+				.mapIfValid(it -> it.toOrders(items))
+				.mapIfValid(orders::saveAll)
+				.mapIfValid(it -> Streamable.of(it).map(assembler::toFullResource).toList())
+				.concludeIfValid(it -> ResponseEntity.status(HttpStatus.CREATED).body(CollectionModel.of(it)));
+	}
+
+	/**
+	 * Resolves the drinks submitted with the given {@link LocationAndDrinks} from the {@link DrinksMenu}, rejecting the
+	 * ones not found on it. Skips the lookup if the payload is invalid already.
+	 *
+	 * @param payload must not be {@literal null}.
+	 * @param errors must not be {@literal null}.
+	 * @return will never be {@literal null}.
+	 */
+	private Map<URI, MenuItem> resolveDrinks(LocationAndDrinks payload, Errors errors) {
+
+		if (errors.hasErrors()) {
+			return Map.of();
+		}
+
+		var items = drinks.resolve(payload.getDrinks());
+		payload.rejectUnknownDrinks(items, errors);
+
+		return items;
+	}
+
+	/**
+	 * Resolves the drinks submitted with all orders of the given {@link LocationAndDrinksBatch} from the
+	 * {@link DrinksMenu} at once, rejecting the ones not found on it. Skips the lookup if the payload is invalid already.
+	 *
+	 * @param payload must not be {@literal null}.
+	 * @param errors must not be {@literal null}.
+	 * @return will never be {@literal null}.
+	 */
+	private Map<URI, MenuItem> resolveDrinks(LocationAndDrinksBatch payload, Errors errors) {
+
+		if (errors.hasErrors()) {
+			return Map.of();
+		}
+
+		var items = drinks.resolve(payload.toDrinks());
+		payload.rejectUnknownDrinks(items, errors);
+
+		return items;
+	}
 }
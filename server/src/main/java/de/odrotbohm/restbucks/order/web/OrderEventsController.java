@@ -0,0 +1,95 @@
+/*
+ * Copyright 2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package de.odrotbohm.restbucks.order.web;
+
+import de.odrotbohm.restbucks.order.Order;
+import de.odrotbohm.restbucks.order.Order.OrderIdentifier;
+import de.odrotbohm.restbucks.order.Order.Status;
+import lombok.RequiredArgsConstructor;
+
+import java.util.concurrent.RejectedExecutionException;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Controller;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+/**
+ * Spring MVC controller to stream {@link Order} status changes to clients as server-sent events, instead of them
+ * polling the {@link Order} resource.
+ *
+ * @author Oliver Drotbohm
+ */
+@Controller
+@RequestMapping(path = "/orders", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+@RequiredArgsConstructor
+class OrderEventsController {
+
+	static final String EVENTS = "/events";
+	private static final String RETRY_AFTER_SECONDS = "10";
+
+	private final OrderStatusSubscriptions subscriptions;
+
+	/**
+	 * Streams the status changes of the {@link Order} with the given identifier, starting with its current status.
+	 *
+	 * @param id the identifier of the {@link Order} to stream status changes for.
+	 * @return
+	 */
+	@GetMapping("/{id}" + EVENTS)
+	ResponseEntity<SseEmitter> events(@PathVariable("id") OrderIdentifier id) {
+
+		return subscriptions.subscribe(id)
+				.map(ResponseEntity::ok)
+				.orElseGet(() -> ResponseEntity.notFound().build());
+	}
+
+	/**
+	 * Streams the status changes of all {@link Order}s changing into the given {@link Status}. As only {@link Order}s
+	 * getting ready or taken are pushed, other {@link Status}es are rejected.
+	 *
+	 * @param status must not be {@literal null}.
+	 * @return
+	 */
+	@GetMapping(EVENTS)
+	ResponseEntity<SseEmitter> events(@RequestParam Status status) {
+
+		return status == Status.READY || status == Status.TAKEN
+				? ResponseEntity.ok(subscriptions.subscribe(status))
+				: ResponseEntity.badRequest().build();
+	}
+
+	/**
+	 * Rejects subscriptions exceeding the maximum number of subscriptions with 503, asking the client to retry later.
+	 *
+	 * @param exception must not be {@literal null}.
+	 * @return will never be {@literal null}.
+	 */
+	@ExceptionHandler
+	ResponseEntity<?> handle(RejectedExecutionException exception) {
+
+		return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+				.header(HttpHeaders.RETRY_AFTER, RETRY_AFTER_SECONDS)
+				.build();
+	}
+}
@@ -0,0 +1,93 @@
+/*
+ * Copyright 2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package de.odrotbohm.restbucks.order.web;
+
+import static org.springframework.hateoas.server.mvc.WebMvcLinkBuilder.*;
+
+import de.odrotbohm.restbucks.order.Order;
+import de.odrotbohm.restbucks.order.Order.Status;
+import de.odrotbohm.restbucks.order.Orders;
+import lombok.RequiredArgsConstructor;
+
+import org.jspecify.annotations.Nullable;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.rest.webmvc.BasePathAwareController;
+import org.springframework.data.rest.webmvc.PersistentEntityResourceAssembler;
+import org.springframework.hateoas.CollectionModel;
+import org.springframework.hateoas.IanaLinkRelations;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+
+/**
+ * Exposes the {@link Order}s in a particular {@link Status} as queue to be scrolled through oldest first. Uses keyset
+ * pagination so that each request seeks to the next {@link Order}s directly, independent of how many have been
+ * processed before. The position is handed to clients as opaque {@link QueueCursor} token, so that it stays valid even
+ * if the last {@link Order} seen is deleted.
+ *
+ * @author Oliver Drotbohm
+ */
+@BasePathAwareController
+@RequiredArgsConstructor
+class OrderQueueController {
+
+	private static final int DEFAULT_SIZE = 20;
+	private static final int MAX_SIZE = 100;
+
+	private final Orders orders;
+
+	/**
+	 * Returns the {@link Order}s in the given {@link Status} following the position identified by the given cursor
+	 * token.
+	 *
+	 * @param status must not be {@literal null}.
+	 * @param after the {@link QueueCursor} token pointing to the last {@link Order} seen, {@literal null} to start from
+	 *          the oldest one.
+	 * @param size the maximum number of {@link Order}s to return.
+	 * @param assembler
+	 * @return
+	 */
+	@GetMapping("/orders/search/queue")
+	public HttpEntity<CollectionModel<?>> queue(@RequestParam Status status,
+			@RequestParam(required = false) @Nullable String after,
+			@RequestParam(required = false) @Nullable Integer size, PersistentEntityResourceAssembler assembler) {
+
+		var limit = size == null ? DEFAULT_SIZE : Math.clamp(size, 1, MAX_SIZE);
+		var position = after == null
+				? ScrollPosition.keyset()
+				: QueueCursor.parse(after).map(QueueCursor::toScrollPosition).orElse(null);
+
+		if (position == null) {
+			return ResponseEntity.badRequest().build();
+		}
+
+		var window = orders.findByStatusOrderByOrderedDateAscIdAsc(status, position, Limit.of(limit));
+		var model = CollectionModel.of(window.map(assembler::toModel).getContent())
+				.add(linkTo(methodOn(OrderQueueController.class).queue(status, after, size, null)).withSelfRel());
+
+		if (window.hasNext() && !window.isEmpty()) {
+
+			var last = QueueCursor.of(window.getContent().get(window.size() - 1));
+
+			model.add(linkTo(methodOn(OrderQueueController.class).queue(status, last.toToken(), limit, null))
+					.withRel(IanaLinkRelations.NEXT));
+		}
+
+		return ResponseEntity.ok(model);
+	}
+}
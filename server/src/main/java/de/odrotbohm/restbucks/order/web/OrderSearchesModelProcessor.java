@@ -0,0 +1,51 @@
+/*
+ * Copyright 2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package de.odrotbohm.restbucks.order.web;
+
+import static org.springframework.hateoas.server.mvc.WebMvcLinkBuilder.*;
+
+import de.odrotbohm.restbucks.order.Order;
+
+import org.springframework.data.rest.webmvc.RepositorySearchesResource;
+import org.springframework.hateoas.LinkRelation;
+import org.springframework.hateoas.server.RepresentationModelProcessor;
+import org.springframework.stereotype.Component;
+
+/**
+ * {@link RepresentationModelProcessor} to add a link to the {@link OrderQueueController} to the search resource of
+ * {@link Order}s.
+ *
+ * @author Oliver Drotbohm
+ */
+@Component
+class OrderSearchesModelProcessor implements RepresentationModelProcessor<RepositorySearchesResource> {
+
+	static final LinkRelation QUEUE_REL = LinkRelation.of("queue");
+
+	/*
+	 * (non-Javadoc)
+	 * @see org.springframework.hateoas.server.RepresentationModelProcessor#process(org.springframework.hateoas.RepresentationModel)
+	 */
+	@Override
+	public RepositorySearchesResource process(RepositorySearchesResource model) {
+
+		if (Order.class.equals(model.getDomainType())) {
+			model.add(linkTo(methodOn(OrderQueueController.class).queue(null, null, null, null)).withRel(QUEUE_REL));
+		}
+
+		return model;
+	}
+}
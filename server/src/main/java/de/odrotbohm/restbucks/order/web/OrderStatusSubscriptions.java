@@ -0,0 +1,280 @@
+/*
+ * Copyright 2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package de.odrotbohm.restbucks.order.web;
+
+import de.odrotbohm.restbucks.order.Order;
+import de.odrotbohm.restbucks.order.Order.OrderIdentifier;
+import de.odrotbohm.restbucks.order.Order.OrderPrepared;
+import de.odrotbohm.restbucks.order.Order.OrderTaken;
+import de.odrotbohm.restbucks.order.Order.Status;
+import de.odrotbohm.restbucks.order.Orders;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.util.Assert;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+/**
+ * Registry of clients subscribed to the status changes of a particular {@link Order} or to all {@link Order}s changing
+ * into a particular {@link Status}. Pushes {@link StatusChange}s to them once an {@link Order} got ready or taken, so
+ * that they don't need to poll the {@link Order} resource.
+ * <p>
+ * Status changes are pushed once the transaction publishing the event has committed, on a separate thread so that slow
+ * clients don't hold up the publisher. The number of subscriptions is limited per {@link Order} and in total, as every
+ * one of them holds on to an open connection.
+ *
+ * @author Oliver Drotbohm
+ */
+@Slf4j
+@Component
+class OrderStatusSubscriptions implements AutoCloseable {
+
+	private static final Duration TIMEOUT = Duration.ofMinutes(10);
+
+	private final Orders orders;
+	private final int maxSubscriptionsPerOrder, maxSubscriptions;
+
+	private final Map<OrderIdentifier, Set<SseEmitter>> byOrder = new ConcurrentHashMap<>();
+	private final Map<Status, Set<SseEmitter>> byStatus = new ConcurrentHashMap<>();
+	private final AtomicInteger subscriptions = new AtomicInteger();
+	private final ExecutorService workers = Executors
+			.newThreadPerTaskExecutor(Thread.ofVirtual().name("order-events-", 0).factory());
+
+	/**
+	 * Creates a new {@link OrderStatusSubscriptions} for the given {@link Orders} and limits.
+	 *
+	 * @param orders must not be {@literal null}.
+	 * @param maxSubscriptionsPerOrder the maximum number of subscriptions to a single {@link Order}, must be positive.
+	 * @param maxSubscriptions the maximum number of subscriptions in total, must be positive.
+	 */
+	OrderStatusSubscriptions(Orders orders,
+			@Value("${restbucks.orders.events.max-subscriptions-per-order:16}") int maxSubscriptionsPerOrder,
+			@Value("${restbucks.orders.events.max-subscriptions:10000}") int maxSubscriptions) {
+
+		Assert.notNull(orders, "Orders must not be null!");
+		Assert.isTrue(maxSubscriptionsPerOrder > 0, "Maximum number of subscriptions per order must be positive!");
+		Assert.isTrue(maxSubscriptions > 0, "Maximum number of subscriptions must be positive!");
+
+		this.orders = orders;
+		this.maxSubscriptionsPerOrder = maxSubscriptionsPerOrder;
+		this.maxSubscriptions = maxSubscriptions;
+	}
+
+	/**
+	 * Subscribes to the status changes of the {@link Order} with the given identifier. Sends its current status right
+	 * away and completes once it has been taken. The subscription is registered before looking up the current status,
+	 * so that no status change committed in between gets lost.
+	 *
+	 * @param id must not be {@literal null}.
+	 * @return the subscription or {@link Optional#empty()} in case no {@link Order} with the given identifier exists.
+	 * @throws RejectedExecutionException in case the maximum number of subscriptions has been reached.
+	 */
+	Optional<SseEmitter> subscribe(OrderIdentifier id) {
+
+		Assert.notNull(id, "Order identifier must not be null!");
+
+		var subscription = register(byOrder, id, maxSubscriptionsPerOrder);
+		var emitter = subscription.emitter();
+
+		// Status changes pushed concurrently wait for the current status to be sent, so that they arrive in order
+		synchronized (emitter) {
+
+			var status = orders.findStatusById(id);
+
+			if (status.isEmpty()) {
+				subscription.cancel();
+				return Optional.empty();
+			}
+
+			send(emitter, new StatusChange(id, status.get()));
+
+			if (status.get() == Status.TAKEN) {
+				subscription.cancel();
+				emitter.complete();
+			}
+		}
+
+		return Optional.of(emitter);
+	}
+
+	/**
+	 * Subscribes to all {@link Order}s changing into the given {@link Status}.
+	 *
+	 * @param status must not be {@literal null}.
+	 * @return will never be {@literal null}.
+	 * @throws RejectedExecutionException in case the maximum number of subscriptions has been reached.
+	 */
+	SseEmitter subscribe(Status status) {
+
+		Assert.notNull(status, "Status must not be null!");
+
+		return register(byStatus, status, maxSubscriptions).emitter();
+	}
+
+	@TransactionalEventListener(fallbackExecution = true)
+	void on(OrderPrepared event) {
+		publish(new StatusChange(event.orderIdentifier(), Status.READY));
+	}
+
+	@TransactionalEventListener(fallbackExecution = true)
+	void on(OrderTaken event) {
+		publish(new StatusChange(event.id(), Status.TAKEN));
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see java.lang.AutoCloseable#close()
+	 */
+	@Override
+	public void close() {
+
+		workers.close();
+
+		byOrder.values().forEach(it -> it.forEach(SseEmitter::complete));
+		byStatus.values().forEach(it -> it.forEach(SseEmitter::complete));
+	}
+
+	private void publish(StatusChange change) {
+
+		workers.execute(() -> {
+
+			var last = change.status() == Status.TAKEN;
+			var identifier = new OrderIdentifier(change.order());
+			var subscribers = last ? byOrder.remove(identifier) : byOrder.get(identifier);
+
+			if (subscribers != null) {
+				subscribers.forEach(it -> {
+
+					send(it, change);
+
+					if (last) {
+						it.complete();
+					}
+				});
+			}
+
+			byStatus.getOrDefault(change.status(), Set.of()).forEach(it -> send(it, change));
+		});
+	}
+
+	private <K> Subscription register(Map<K, Set<SseEmitter>> registry, K key, int maxPerKey) {
+
+		if (subscriptions.incrementAndGet() > maxSubscriptions) {
+
+			subscriptions.decrementAndGet();
+
+			throw new RejectedExecutionException("Maximum number of %s subscriptions reached!".formatted(maxSubscriptions));
+		}
+
+		var emitter = new SseEmitter(TIMEOUT.toMillis());
+		var registered = new AtomicBoolean();
+
+		registry.compute(key, (__, it) -> {
+
+			var emitters = it == null ? ConcurrentHashMap.<SseEmitter> newKeySet() : it;
+
+			if (emitters.size() < maxPerKey) {
+				registered.set(emitters.add(emitter));
+			}
+
+			return emitters;
+		});
+
+		if (!registered.get()) {
+
+			subscriptions.decrementAndGet();
+
+			throw new RejectedExecutionException("Maximum number of %s subscriptions to %s reached!".formatted(maxPerKey, key));
+		}
+
+		var unregistered = new AtomicBoolean();
+
+		Runnable unregister = () -> {
+
+			if (unregistered.compareAndSet(false, true)) {
+				subscriptions.decrementAndGet();
+			}
+
+			registry.computeIfPresent(key, (__, it) -> {
+
+				it.remove(emitter);
+
+				return it.isEmpty() ? null : it;
+			});
+		};
+
+		emitter.onCompletion(unregister);
+		emitter.onTimeout(unregister);
+		emitter.onError(__ -> unregister.run());
+
+		return new Subscription(emitter, unregister);
+	}
+
+	private static void send(SseEmitter emitter, StatusChange change) {
+
+		synchronized (emitter) {
+
+			try {
+				emitter.send(SseEmitter.event().name("status").data(change));
+			} catch (IOException | IllegalStateException o_O) {
+				LOG.debug("Failed to push status change {}, dropping subscriber.", change, o_O);
+				emitter.completeWithError(o_O);
+			}
+		}
+	}
+
+	/**
+	 * A registered {@link SseEmitter} along with the callback removing it from the registry again, for subscriptions
+	 * given up before the emitter was handed to Spring MVC, which would otherwise invoke the callback on completion.
+	 *
+	 * @param emitter will never be {@literal null}.
+	 * @param unregister will never be {@literal null}.
+	 */
+	private record Subscription(SseEmitter emitter, Runnable unregister) {
+
+		void cancel() {
+			unregister.run();
+		}
+	}
+
+	/**
+	 * A change of an {@link Order}'s {@link Status} as pushed to subscribers.
+	 *
+	 * @param order the identifier of the {@link Order}.
+	 * @param status the {@link Status} the {@link Order} changed into.
+	 */
+	record StatusChange(UUID order, Status status) {
+
+		StatusChange(OrderIdentifier identifier, Status status) {
+			this(identifier.id(), status);
+		}
+	}
+}
@@ -0,0 +1,338 @@
+/*
+ * Copyright 2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package de.odrotbohm.restbucks.order.web;
+
+import de.odrotbohm.restbucks.order.Order;
+import de.odrotbohm.restbucks.order.Order.OrderCreated;
+import de.odrotbohm.restbucks.order.Order.OrderPaid;
+import de.odrotbohm.restbucks.order.Order.OrderPrepared;
+import de.odrotbohm.restbucks.order.Order.OrderTaken;
+import de.odrotbohm.restbucks.order.Order.ProcessingStarted;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+import java.io.IOException;
+import java.time.Clock;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.springframework.context.event.EventListener;
+import org.springframework.data.rest.core.event.AfterCreateEvent;
+import org.springframework.data.rest.core.event.AfterDeleteEvent;
+import org.springframework.data.rest.core.event.AfterSaveEvent;
+import org.springframework.data.rest.core.event.RepositoryEvent;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.util.Assert;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.ContentCachingResponseWrapper;
+
+/**
+ * Caches the rendered pages of the {@link Order} collection resource, keyed by the request URI, its parameters (page,
+ * size, sort, projection) and the headers the representation depends on. As the summaries rendered contain the
+ * {@link Order}s' status, the cache is invalidated on every event changing the status of an {@link Order} and whenever
+ * Spring Data REST created, saved or deleted one, e.g. to update its line items. Requests not changing any
+ * {@link Order}, like failed ones or ones to other resources, keep the pages cached. The number of pages cached is
+ * bounded, evicting the least recently used one. Pages also expire after a configurable time to live, as a safety net
+ * for changes not signalled by any of the above.
+ * <p>
+ * Only the content type and the {@link #CACHED_HEADERS headers describing the representation} are cached along with the
+ * body, so that headers specific to the request a page was rendered for are not replayed to others.
+ * <p>
+ * Invalidations bump a generation that is captured before a page is rendered, so that a page rendered concurrently with
+ * an invalidation is not cached. Events published within a transaction invalidate again once it has completed, so that
+ * pages rendered from the state before the commit don't survive either.
+ *
+ * @author Oliver Drotbohm
+ */
+class OrdersCollectionCache extends OncePerRequestFilter implements MeterBinder {
+
+	static final String PATH = "/orders";
+	static final Set<String> CACHED_HEADERS = Set.of(HttpHeaders.VARY, HttpHeaders.ETAG, HttpHeaders.CACHE_CONTROL);
+
+	private final int maxEntries;
+	private final long ttl;
+	private final Clock clock;
+	private final Map<Key, Page> pages;
+	private final AtomicLong generation = new AtomicLong();
+
+	private final LongAdder hits = new LongAdder();
+	private final LongAdder misses = new LongAdder();
+	private final LongAdder evictions = new LongAdder();
+
+	/**
+	 * Creates a new {@link OrdersCollectionCache} caching the given maximum number of pages for the given time to live
+	 * using the system clock.
+	 *
+	 * @param maxEntries must be greater than zero.
+	 * @param ttl must not be {@literal null}, must be positive.
+	 */
+	OrdersCollectionCache(int maxEntries, Duration ttl) {
+		this(maxEntries, ttl, Clock.systemUTC());
+	}
+
+	/**
+	 * Creates a new {@link OrdersCollectionCache} caching the given maximum number of pages for the given time to live
+	 * using the given {@link Clock}.
+	 *
+	 * @param maxEntries must be greater than zero.
+	 * @param ttl must not be {@literal null}, must be positive.
+	 * @param clock must not be {@literal null}.
+	 */
+	OrdersCollectionCache(int maxEntries, Duration ttl, Clock clock) {
+
+		Assert.isTrue(maxEntries > 0, "Maximum number of entries must be greater than zero!");
+		Assert.notNull(ttl, "Time to live must not be null!");
+		Assert.isTrue(ttl.isPositive(), "Time to live must be positive!");
+		Assert.notNull(clock, "Clock must not be null!");
+
+		this.maxEntries = maxEntries;
+		this.ttl = ttl.toMillis();
+		this.clock = clock;
+		this.pages = new LinkedHashMap<>(16, 0.75f, true) {
+
+			private static final long serialVersionUID = 1L;
+
+			@Override
+			protected boolean removeEldestEntry(Entry<Key, Page> eldest) {
+
+				var evict = size() > OrdersCollectionCache.this.maxEntries;
+
+				if (evict) {
+					evictions.increment();
+				}
+
+				return evict;
+			}
+		};
+	}
+
+	/**
+	 * Drops all pages cached.
+	 */
+	void invalidate() {
+
+		generation.incrementAndGet();
+
+		synchronized (pages) {
+			pages.clear();
+		}
+	}
+
+	@EventListener
+	void on(OrderCreated event) {
+		invalidate();
+	}
+
+	@EventListener
+	void on(OrderPaid event) {
+		invalidate();
+	}
+
+	@EventListener
+	void on(ProcessingStarted event) {
+		invalidate();
+	}
+
+	@EventListener
+	void on(OrderPrepared event) {
+		invalidate();
+	}
+
+	@EventListener
+	void on(OrderTaken event) {
+		invalidate();
+	}
+
+	@EventListener(classes = { AfterCreateEvent.class, AfterSaveEvent.class, AfterDeleteEvent.class })
+	void on(RepositoryEvent event) {
+
+		if (event.getSource() instanceof Order) {
+			invalidate();
+		}
+	}
+
+	@TransactionalEventListener(phase = TransactionPhase.AFTER_COMPLETION, fallbackExecution = true,
+			classes = { OrderCreated.class, OrderPaid.class, ProcessingStarted.class, OrderPrepared.class, OrderTaken.class })
+	void onCompletion() {
+		invalidate();
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see org.springframework.web.filter.OncePerRequestFilter#doFilterInternal(jakarta.servlet.http.HttpServletRequest, jakarta.servlet.http.HttpServletResponse, jakarta.servlet.FilterChain)
+	 */
+	@Override
+	protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+			throws ServletException, IOException {
+
+		if (!HttpMethod.GET.matches(request.getMethod())
+				|| !PATH.equals(request.getRequestURI().substring(request.getContextPath().length()))) {
+			chain.doFilter(request, response);
+			return;
+		}
+
+		var key = Key.of(request);
+		var now = clock.millis();
+		Page page;
+
+		synchronized (pages) {
+
+			page = pages.get(key);
+
+			if (page != null && page.isExpired(now)) {
+				pages.remove(key);
+				page = null;
+			}
+		}
+
+		if (page != null) {
+			hits.increment();
+			page.writeTo(response);
+			return;
+		}
+
+		misses.increment();
+
+		var generation = this.generation.get();
+		var wrapper = new ContentCachingResponseWrapper(response);
+
+		chain.doFilter(request, wrapper);
+
+		if (wrapper.getStatus() == HttpServletResponse.SC_OK && !request.isAsyncStarted()) {
+
+			var rendered = Page.of(wrapper, now + ttl);
+
+			synchronized (pages) {
+				if (this.generation.get() == generation) {
+					pages.put(key, rendered);
+				}
+			}
+		}
+
+		wrapper.copyBodyToResponse();
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see io.micrometer.core.instrument.binder.MeterBinder#bindTo(io.micrometer.core.instrument.MeterRegistry)
+	 */
+	@Override
+	public void bindTo(MeterRegistry registry) {
+
+		FunctionCounter.builder("restbucks.orders.cache.requests", hits, LongAdder::sum)
+				.description("The number of requests to the orders collection resource")
+				.tag("result", "hit")
+				.register(registry);
+
+		FunctionCounter.builder("restbucks.orders.cache.requests", misses, LongAdder::sum)
+				.description("The number of requests to the orders collection resource")
+				.tag("result", "miss")
+				.register(registry);
+
+		FunctionCounter.builder("restbucks.orders.cache.evictions", evictions, LongAdder::sum)
+				.description("The number of pages evicted as the maximum number of entries was exceeded")
+				.register(registry);
+
+		Gauge.builder("restbucks.orders.cache.size", this, OrdersCollectionCache::getSize)
+				.description("The number of pages currently cached")
+				.register(registry);
+	}
+
+	long getHits() {
+		return hits.sum();
+	}
+
+	long getMisses() {
+		return misses.sum();
+	}
+
+	long getEvictions() {
+		return evictions.sum();
+	}
+
+	int getSize() {
+
+		synchronized (pages) {
+			return pages.size();
+		}
+	}
+
+	/**
+	 * The key of a cached page. The URI includes scheme, host and port as the links rendered are absolute, the
+	 * {@code Accept} and {@code Accept-Language} headers select the media type and the translation of the status.
+	 */
+	private record Key(String uri, String accept, String language, Map<String, List<String>> parameters) {
+
+		static Key of(HttpServletRequest request) {
+
+			var parameters = new TreeMap<String, List<String>>();
+
+			request.getParameterMap().forEach((name, values) -> parameters.put(name, List.of(values)));
+
+			return new Key(request.getRequestURL().toString(), request.getHeader(HttpHeaders.ACCEPT),
+					request.getHeader(HttpHeaders.ACCEPT_LANGUAGE), parameters);
+		}
+	}
+
+	/**
+	 * A rendered page, i.e. the response headers describing the representation, the body and the time it expires at.
+	 */
+	private record Page(List<Entry<String, String>> headers, String contentType, byte[] body, long expires) {
+
+		static Page of(ContentCachingResponseWrapper response, long expires) {
+
+			var headers = new ArrayList<Entry<String, String>>();
+
+			for (var name : response.getHeaderNames()) {
+				if (CACHED_HEADERS.stream().anyMatch(name::equalsIgnoreCase)) {
+					response.getHeaders(name).forEach(value -> headers.add(Map.entry(name, value)));
+				}
+			}
+
+			return new Page(headers, response.getContentType(), response.getContentAsByteArray(), expires);
+		}
+
+		boolean isExpired(long now) {
+			return expires <= now;
+		}
+
+		void writeTo(HttpServletResponse response) throws IOException {
+
+			response.setStatus(HttpServletResponse.SC_OK);
+			headers.forEach(it -> response.addHeader(it.getKey(), it.getValue()));
+			response.setContentType(contentType);
+			response.setContentLength(body.length);
+			response.getOutputStream().write(body);
+		}
+	}
+}
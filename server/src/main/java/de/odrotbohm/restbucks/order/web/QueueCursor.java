@@ -0,0 +1,112 @@
+/*
+ * Copyright 2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package de.odrotbohm.restbucks.order.web;
+
+import de.odrotbohm.restbucks.order.Order;
+import de.odrotbohm.restbucks.order.Order.OrderIdentifier;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+
+import org.springframework.data.domain.KeysetScrollPosition;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.util.Assert;
+
+/**
+ * The position within the queue of {@link Order}s, i.e. the keyset of the last {@link Order} seen. Rendered into an
+ * opaque token, so that the next {@link Order}s can be looked up without loading the last one again, even if it has
+ * been deleted in the meantime.
+ *
+ * @param orderedDate the date the last {@link Order} seen was placed, must not be {@literal null}.
+ * @param id the identifier of the last {@link Order} seen, must not be {@literal null}.
+ * @author Oliver Drotbohm
+ */
+record QueueCursor(LocalDateTime orderedDate, OrderIdentifier id) {
+
+	private static final String SEPARATOR = "/";
+	private static final Base64.Encoder ENCODER = Base64.getUrlEncoder().withoutPadding();
+	private static final Base64.Decoder DECODER = Base64.getUrlDecoder();
+
+	QueueCursor {
+		Assert.notNull(orderedDate, "Ordered date must not be null!");
+		Assert.notNull(id, "OrderIdentifier must not be null!");
+	}
+
+	/**
+	 * Creates a {@link QueueCursor} pointing to the given {@link Order}.
+	 *
+	 * @param order must not be {@literal null}.
+	 * @return will never be {@literal null}.
+	 */
+	static QueueCursor of(Order order) {
+
+		Assert.notNull(order, "Order must not be null!");
+
+		return new QueueCursor(order.getOrderedDate(), order.getId());
+	}
+
+	/**
+	 * Parses the given token previously obtained via {@link #toToken()}.
+	 *
+	 * @param token must not be {@literal null}.
+	 * @return the {@link QueueCursor} or {@link Optional#empty()} in case the given token is invalid.
+	 */
+	static Optional<QueueCursor> parse(String token) {
+
+		Assert.notNull(token, "Token must not be null!");
+
+		try {
+
+			var source = new String(DECODER.decode(token), StandardCharsets.UTF_8);
+			var parts = source.split(SEPARATOR, 2);
+
+			if (parts.length != 2) {
+				return Optional.empty();
+			}
+
+			var orderedDate = LocalDateTime.parse(parts[0]);
+			var id = new OrderIdentifier(UUID.fromString(parts[1]));
+
+			return Optional.of(new QueueCursor(orderedDate, id));
+
+		} catch (IllegalArgumentException | DateTimeParseException o_O) {
+			return Optional.empty();
+		}
+	}
+
+	/**
+	 * Returns the opaque token to hand to clients.
+	 *
+	 * @return will never be {@literal null}.
+	 */
+	String toToken() {
+		return ENCODER.encodeToString((orderedDate + SEPARATOR + id.id()).getBytes(StandardCharsets.UTF_8));
+	}
+
+	/**
+	 * Returns the {@link KeysetScrollPosition} to look up the {@link Order}s following the one pointed to.
+	 *
+	 * @return will never be {@literal null}.
+	 */
+	KeysetScrollPosition toScrollPosition() {
+		return ScrollPosition.forward(Map.of("orderedDate", orderedDate, "id", id));
+	}
+}
@@ -23,8 +23,12 @@ import lombok.ToString;
 import java.time.LocalDate;
 import java.time.Month;
 import java.time.Year;
+import java.util.Collection;
+import java.util.List;
 
 import org.jmolecules.ddd.types.AggregateRoot;
+import org.jmolecules.event.types.DomainEvent;
+import org.springframework.data.domain.DomainEvents;
 
 import com.fasterxml.jackson.annotation.JsonCreator;
 
@@ -90,4 +94,22 @@ public class CreditCard implements AggregateRoot<CreditCard, CreditCardNumber> {
 		this.expiryYear = Year.of(date.getYear());
 		this.expiryMonth = date.getMonth();
 	}
+
+	/**
+	 * Publishes a {@link CreditCardUpdated} event on every save or deletion of the {@link CreditCard}, as a card might
+	 * also be changed by saving a new instance with the same number.
+	 *
+	 * @return will never be {@literal null}.
+	 */
+	@DomainEvents
+	Collection<CreditCardUpdated> domainEvents() {
+		return List.of(new CreditCardUpdated(number));
+	}
+
+	/**
+	 * Event to be published when a {@link CreditCard} has been saved or deleted.
+	 *
+	 * @author Oliver Drotbohm
+	 */
+	public record CreditCardUpdated(CreditCardNumber number) implements DomainEvent {}
 }
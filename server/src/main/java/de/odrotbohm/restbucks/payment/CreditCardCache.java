@@ -0,0 +1,265 @@
+/*
+ * Copyright 2012-2019 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package de.odrotbohm.restbucks.payment;
+
+import de.odrotbohm.restbucks.payment.CreditCard.CreditCardUpdated;
+
+import java.time.Clock;
+import java.time.LocalDate;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.util.Assert;
+
+/**
+ * Read-through cache of the card holder and expiration date of valid {@link CreditCard}s by {@link CreditCardNumber},
+ * so that paying with a card used before doesn't need to read it from the database. Bounded to a configurable number
+ * of cards, evicting the least recently used ones. Cards are evicted once they expire, either when looked up or by a
+ * periodic sweep, and whenever they're saved or deleted, as indicated by a {@link CreditCardUpdated} event. Validity is
+ * evaluated against the current day, which is only calculated once per day.
+ * <p>
+ * Evictions bump a generation captured before a card is loaded, so that a card loaded concurrently with an eviction
+ * is not kept. Changes within a transaction evict the card again once it has completed, as it might have been loaded
+ * including them in the meantime.
+ *
+ * @author Oliver Drotbohm
+ */
+@Component
+class CreditCardCache {
+
+	private final CreditCards creditCards;
+	private final Clock clock;
+	private final Map<CreditCardNumber, CachedCreditCard> cards;
+
+	private long generation;
+	private volatile Today today;
+
+	/**
+	 * Creates a new {@link CreditCardCache} for the given {@link CreditCards} and maximum number of cards using the
+	 * system clock.
+	 *
+	 * @param creditCards must not be {@literal null}.
+	 * @param maxEntries must be greater than zero.
+	 */
+	@Autowired
+	CreditCardCache(CreditCards creditCards,
+			@Value("${restbucks.payment.credit-card-cache.max-entries:1024}") int maxEntries) {
+		this(creditCards, maxEntries, Clock.systemDefaultZone());
+	}
+
+	/**
+	 * Creates a new {@link CreditCardCache} for the given {@link CreditCards}, maximum number of cards and
+	 * {@link Clock}.
+	 *
+	 * @param creditCards must not be {@literal null}.
+	 * @param maxEntries must be greater than zero.
+	 * @param clock must not be {@literal null}.
+	 */
+	CreditCardCache(CreditCards creditCards, int maxEntries, Clock clock) {
+
+		Assert.notNull(creditCards, "CreditCards must not be null!");
+		Assert.isTrue(maxEntries > 0, "Maximum number of entries must be greater than zero!");
+		Assert.notNull(clock, "Clock must not be null!");
+
+		this.creditCards = creditCards;
+		this.clock = clock;
+		this.today = Today.of(clock);
+		this.cards = new LinkedHashMap<>(16, 0.75f, true) {
+
+			private static final long serialVersionUID = 1L;
+
+			@Override
+			protected boolean removeEldestEntry(Map.Entry<CreditCardNumber, CachedCreditCard> eldest) {
+				return size() > maxEntries;
+			}
+		};
+	}
+
+	/**
+	 * Returns the {@link CachedCreditCard} for the given {@link CreditCardNumber}. Only looks up the {@link CreditCard}
+	 * if it's not cached or has expired in the meantime.
+	 *
+	 * @param number must not be {@literal null}.
+	 * @return will never be {@literal null}.
+	 */
+	Optional<CachedCreditCard> findByNumber(CreditCardNumber number) {
+
+		Assert.notNull(number, "CreditCardNumber must not be null!");
+
+		var today = getToday();
+		long generation;
+
+		synchronized (this) {
+
+			var cached = cards.get(number);
+
+			if (cached != null) {
+
+				if (cached.isValidOn(today)) {
+					return Optional.of(cached);
+				}
+
+				cards.remove(number);
+			}
+
+			generation = this.generation;
+		}
+
+		var loaded = creditCards.findByNumber(number).map(CachedCreditCard::of);
+
+		loaded.filter(it -> it.isValidOn(today)).ifPresent(it -> {
+
+			synchronized (this) {
+
+				if (this.generation == generation) {
+					cards.put(number, it);
+				}
+			}
+		});
+
+		return loaded;
+	}
+
+	/**
+	 * Returns whether the given {@link CachedCreditCard} is valid today.
+	 *
+	 * @param card must not be {@literal null}.
+	 * @return
+	 */
+	boolean isValid(CachedCreditCard card) {
+
+		Assert.notNull(card, "CachedCreditCard must not be null!");
+
+		return card.isValidOn(getToday());
+	}
+
+	/**
+	 * Evicts the {@link CreditCard} with the given {@link CreditCardNumber}.
+	 *
+	 * @param number must not be {@literal null}.
+	 */
+	synchronized void evict(CreditCardNumber number) {
+
+		Assert.notNull(number, "CreditCardNumber must not be null!");
+
+		generation++;
+		cards.remove(number);
+	}
+
+	/**
+	 * Returns the number of cards currently cached.
+	 *
+	 * @return
+	 */
+	synchronized int size() {
+		return cards.size();
+	}
+
+	@EventListener
+	void on(CreditCardUpdated event) {
+		evict(event.number());
+	}
+
+	@TransactionalEventListener(phase = TransactionPhase.AFTER_COMPLETION, fallbackExecution = true)
+	void onCompletion(CreditCardUpdated event) {
+		evict(event.number());
+	}
+
+	/**
+	 * Evicts all cards that have expired, so that cards not used anymore don't occupy the cache until they're the least
+	 * recently used ones.
+	 */
+	@Scheduled(fixedDelayString = "PT1H")
+	void evictExpired() {
+
+		var today = getToday();
+
+		synchronized (this) {
+			cards.values().removeIf(it -> !it.isValidOn(today));
+		}
+	}
+
+	private long getToday() {
+
+		var now = clock.millis();
+		var today = this.today;
+
+		if (now >= today.until()) {
+			today = Today.of(clock);
+			this.today = today;
+		}
+
+		return today.epochDay();
+	}
+
+	/**
+	 * The card holder and expiration date of a {@link CreditCard}.
+	 *
+	 * @param number the {@link CreditCardNumber} of the card.
+	 * @param cardHolderName the name of the card holder.
+	 * @param expiresOn the epoch day of the expiration date of the card.
+	 */
+	record CachedCreditCard(CreditCardNumber number, String cardHolderName, long expiresOn) {
+
+		static CachedCreditCard of(CreditCard card) {
+			return new CachedCreditCard(card.getNumber(), card.getCardHolderName(), card.getExpirationDate().toEpochDay());
+		}
+
+		/**
+		 * Returns the date the {@link CreditCard} expires.
+		 *
+		 * @return will never be {@literal null}.
+		 */
+		LocalDate getExpirationDate() {
+			return LocalDate.ofEpochDay(expiresOn);
+		}
+
+		/**
+		 * Returns whether the {@link CreditCard} is valid on the given epoch day.
+		 *
+		 * @param epochDay
+		 * @return
+		 * @see CreditCard#isValid(LocalDate)
+		 */
+		boolean isValidOn(long epochDay) {
+			return epochDay < expiresOn;
+		}
+	}
+
+	/**
+	 * The current day and the time it ends at.
+	 *
+	 * @param epochDay the epoch day of the current day.
+	 * @param until the epoch milliseconds the day ends at.
+	 */
+	private record Today(long epochDay, long until) {
+
+		static Today of(Clock clock) {
+
+			var today = LocalDate.now(clock);
+
+			return new Today(today.toEpochDay(), today.plusDays(1).atStartOfDay(clock.getZone()).toInstant().toEpochMilli());
+		}
+	}
+}
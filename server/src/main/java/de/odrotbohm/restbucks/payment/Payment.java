@@ -19,8 +19,10 @@ import de.odrotbohm.restbucks.order.Order;
 import de.odrotbohm.restbucks.order.Order.OrderIdentifier;
 import de.odrotbohm.restbucks.payment.Payment.PaymentIdentifier;
 import jakarta.persistence.Column;
+import jakarta.persistence.Index;
 import jakarta.persistence.Inheritance;
 import jakarta.persistence.InheritanceType;
+import jakarta.persistence.Table;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.ToString;
@@ -43,6 +45,7 @@ import org.springframework.util.Assert;
 @ToString
 @NoArgsConstructor(force = true)
 @Inheritance(strategy = InheritanceType.SINGLE_TABLE)
+@Table(indexes = @Index(name = "payment_rborder", columnList = "rborder", unique = true))
 public abstract class Payment<T extends AggregateRoot<T, PaymentIdentifier>>
 		implements AggregateRoot<T, PaymentIdentifier> {
 
@@ -0,0 +1,78 @@
+/*
+ * Copyright 2012-2019 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package de.odrotbohm.restbucks.payment;
+
+import de.odrotbohm.restbucks.order.Order;
+import de.odrotbohm.restbucks.order.Order.OrderIdentifier;
+
+import org.jspecify.annotations.Nullable;
+import org.springframework.util.Assert;
+
+/**
+ * The state of the authorization of a payment for an {@link Order} submitted through
+ * {@link PaymentService#authorize(Order, CreditCardNumber)}.
+ *
+ * @param order the identifier of the {@link Order} paid for.
+ * @param status the current {@link Status} of the authorization.
+ * @param reason the reason the payment was declined, {@literal null} unless {@link Status#DECLINED}.
+ * @author Oliver Drotbohm
+ */
+public record PaymentAuthorization(OrderIdentifier order, Status status, @Nullable String reason) {
+
+	public PaymentAuthorization {
+		Assert.notNull(order, "OrderIdentifier must not be null!");
+		Assert.notNull(status, "Status must not be null!");
+	}
+
+	static PaymentAuthorization pending(OrderIdentifier order) {
+		return new PaymentAuthorization(order, Status.PENDING, null);
+	}
+
+	static PaymentAuthorization authorized(OrderIdentifier order) {
+		return new PaymentAuthorization(order, Status.AUTHORIZED, null);
+	}
+
+	static PaymentAuthorization declined(OrderIdentifier order, String reason) {
+		return new PaymentAuthorization(order, Status.DECLINED, reason);
+	}
+
+	/**
+	 * Returns whether the authorization is still waiting for the {@link PaymentGateway} to respond.
+	 *
+	 * @return
+	 */
+	public boolean isPending() {
+		return status == Status.PENDING;
+	}
+
+	public enum Status {
+
+		/**
+		 * The payment is waiting for the {@link PaymentGateway} to authorize it.
+		 */
+		PENDING,
+
+		/**
+		 * The payment was authorized and the {@link Order} is paid.
+		 */
+		AUTHORIZED,
+
+		/**
+		 * The payment was declined or could not be authorized, it can be submitted again.
+		 */
+		DECLINED;
+	}
+}
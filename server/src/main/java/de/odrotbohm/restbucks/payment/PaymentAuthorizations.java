@@ -0,0 +1,351 @@
+/*
+ * Copyright 2012-2019 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package de.odrotbohm.restbucks.payment;
+
+import de.odrotbohm.restbucks.order.Order;
+import de.odrotbohm.restbucks.order.Order.OrderIdentifier;
+import de.odrotbohm.restbucks.payment.PaymentGateway.Authorization;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Consumer;
+
+import javax.money.MonetaryAmount;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionOperations;
+import org.springframework.util.Assert;
+
+/**
+ * Authorizes payments with the {@link PaymentGateway} in the background, so that request threads don't wait for it to
+ * respond. Authorizations run on virtual threads, but only a configurable number of them talk to the
+ * {@link PaymentGateway} concurrently. Further ones wait for it to become available, up to a configurable capacity,
+ * beyond which authorizations are rejected. Approved payments are completed in a transaction of their own. If that
+ * fails, the authorization is released with the {@link PaymentGateway} again, so that the card isn't charged for a
+ * payment reported as declined.
+ * <p>
+ * The amount to authorize is captured when the payment is submitted, so that the background threads never access the
+ * {@link Order} itself. The callback completing the payment gets handed that amount to verify it against the current
+ * state of the {@link Order}.
+ * <p>
+ * The {@link PaymentAuthorization}s pending are kept until the {@link PaymentGateway} responded, completed ones are
+ * kept for a bounded number of orders, evicting the ones completed first, so that clients can look up the outcome.
+ * <p>
+ * Exposes the time the {@link PaymentGateway} takes to respond by outcome, the number of authorizations pending and
+ * the number of ones rejected as metrics.
+ *
+ * @author Oliver Drotbohm
+ */
+@Slf4j
+@Component
+class PaymentAuthorizations implements MeterBinder, AutoCloseable {
+
+	private final PaymentGateway gateway;
+	private final TransactionOperations transactions;
+	private final int concurrency, capacity;
+	private final Semaphore gatewayPermits, admissions;
+	private final ExecutorService executor;
+
+	private final Map<OrderIdentifier, PaymentAuthorization> pending = new ConcurrentHashMap<>();
+	private final Map<OrderIdentifier, PaymentAuthorization> completed;
+	private final LongAdder rejected = new LongAdder();
+
+	private volatile Map<String, Timer> gatewayTimes = Map.of();
+
+	/**
+	 * Creates a new {@link PaymentAuthorizations} for the given {@link PaymentGateway}, {@link TransactionOperations}
+	 * and settings.
+	 *
+	 * @param gateway must not be {@literal null}.
+	 * @param transactions must not be {@literal null}.
+	 * @param concurrency the number of authorizations processed by the {@link PaymentGateway} concurrently, must be
+	 *          greater than zero.
+	 * @param queueCapacity the number of authorizations waiting for the {@link PaymentGateway}, must not be negative.
+	 * @param maxEntries the number of completed authorizations kept, must be greater than zero.
+	 */
+	@Autowired
+	PaymentAuthorizations(PaymentGateway gateway, TransactionOperations transactions,
+			@Value("${restbucks.payment.authorization.concurrency:16}") int concurrency,
+			@Value("${restbucks.payment.authorization.queue-capacity:256}") int queueCapacity,
+			@Value("${restbucks.payment.authorization.max-entries:10000}") int maxEntries) {
+
+		Assert.notNull(gateway, "PaymentGateway must not be null!");
+		Assert.notNull(transactions, "TransactionOperations must not be null!");
+		Assert.isTrue(concurrency > 0, "Concurrency must be greater than zero!");
+		Assert.isTrue(queueCapacity >= 0, "Queue capacity must not be negative!");
+		Assert.isTrue(maxEntries > 0, "Maximum number of entries must be greater than zero!");
+
+		this.gateway = gateway;
+		this.transactions = transactions;
+		this.concurrency = concurrency;
+		this.capacity = concurrency + queueCapacity;
+		this.gatewayPermits = new Semaphore(concurrency);
+		this.admissions = new Semaphore(capacity);
+		this.executor = Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("payment-authorization-", 0).factory());
+		this.completed = new LinkedHashMap<>() {
+
+			private static final long serialVersionUID = 1L;
+
+			@Override
+			protected boolean removeEldestEntry(Map.Entry<OrderIdentifier, PaymentAuthorization> eldest) {
+				return size() > maxEntries;
+			}
+		};
+	}
+
+	/**
+	 * Submits the payment of the current price of the given {@link Order} with the given {@link CreditCardNumber} for
+	 * authorization. Runs the given callback with the amount authorized in a transaction once the {@link PaymentGateway}
+	 * approved the payment. The callback is expected to throw an exception if the payment cannot be completed, e.g.
+	 * because the {@link Order} changed in the meantime, which releases the authorization again.
+	 *
+	 * @param order must not be {@literal null}.
+	 * @param number must not be {@literal null}.
+	 * @param onApproval must not be {@literal null}.
+	 * @return the pending {@link PaymentAuthorization}, will never be {@literal null}.
+	 * @throws PaymentFailed in case a payment for the given {@link Order} is already being authorized.
+	 * @throws RejectedExecutionException in case the maximum number of authorizations is pending.
+	 */
+	PaymentAuthorization submit(Order order, CreditCardNumber number, Consumer<MonetaryAmount> onApproval) {
+
+		Assert.notNull(order, "Order must not be null!");
+		Assert.notNull(number, "CreditCardNumber must not be null!");
+		Assert.notNull(onApproval, "Callback must not be null!");
+
+		var id = order.getId();
+		var amount = order.getPrice();
+
+		if (!admissions.tryAcquire()) {
+
+			rejected.increment();
+
+			throw new RejectedExecutionException(
+					"%s payments waiting for authorization, rejecting payment for order %s!".formatted(capacity, id.id()));
+		}
+
+		var authorization = PaymentAuthorization.pending(id);
+
+		if (pending.putIfAbsent(id, authorization) != null) {
+			admissions.release();
+			throw new PaymentFailed(order, "Payment already being authorized!");
+		}
+
+		synchronized (completed) {
+			completed.remove(id);
+		}
+
+		try {
+			executor.execute(() -> authorize(id, amount, number, onApproval));
+		} catch (RejectedExecutionException o_O) {
+			pending.remove(id);
+			admissions.release();
+			throw o_O;
+		}
+
+		return authorization;
+	}
+
+	/**
+	 * Returns the {@link PaymentAuthorization} pending or completed for the {@link Order} with the given
+	 * {@link OrderIdentifier}.
+	 *
+	 * @param id must not be {@literal null}.
+	 * @return will never be {@literal null}.
+	 */
+	Optional<PaymentAuthorization> findByOrder(OrderIdentifier id) {
+
+		Assert.notNull(id, "OrderIdentifier must not be null!");
+
+		// Completed ones are recorded before the pending one is removed
+		var authorization = pending.get(id);
+
+		if (authorization != null) {
+			return Optional.of(authorization);
+		}
+
+		synchronized (completed) {
+			return Optional.ofNullable(completed.get(id));
+		}
+	}
+
+	/**
+	 * Returns the number of authorizations currently pending.
+	 *
+	 * @return
+	 */
+	int getPendingCount() {
+		return pending.size();
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see io.micrometer.core.instrument.binder.MeterBinder#bindTo(io.micrometer.core.instrument.MeterRegistry)
+	 */
+	@Override
+	public void bindTo(MeterRegistry registry) {
+
+		var gatewayTimes = new LinkedHashMap<String, Timer>();
+
+		for (String outcome : new String[] { "approved", "declined", "failed" }) {
+
+			gatewayTimes.put(outcome, Timer.builder("restbucks.payment.gateway")
+					.description("The time the payment gateway takes to respond to an authorization request")
+					.tag("outcome", outcome)
+					.publishPercentileHistogram()
+					.register(registry));
+		}
+
+		Gauge.builder("restbucks.payment.authorizations.pending", this, PaymentAuthorizations::getPendingCount)
+				.description("The number of payments waiting for authorization")
+				.register(registry);
+
+		Gauge.builder("restbucks.payment.gateway.busy", this, it -> it.concurrency - it.gatewayPermits.availablePermits())
+				.description("The number of authorizations currently processed by the payment gateway")
+				.register(registry);
+
+		FunctionCounter.builder("restbucks.payment.authorizations.rejected", rejected, LongAdder::sum)
+				.description("The number of payments rejected as too many were waiting for authorization")
+				.register(registry);
+
+		this.gatewayTimes = gatewayTimes;
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see java.lang.AutoCloseable#close()
+	 */
+	@Override
+	public void close() {
+
+		executor.shutdown();
+
+		try {
+			executor.awaitTermination(10, TimeUnit.SECONDS);
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
+	}
+
+	private void authorize(OrderIdentifier id, MonetaryAmount amount, CreditCardNumber number,
+			Consumer<MonetaryAmount> onApproval) {
+
+		try {
+
+			var authorization = callGateway(number, amount);
+
+			if (authorization.approved()) {
+				completeApproved(id, amount, number, onApproval);
+			} else {
+				complete(PaymentAuthorization.declined(id, String.valueOf(authorization.reason())));
+			}
+
+		} catch (RuntimeException o_O) {
+
+			LOG.warn("Authorizing payment for order {} failed!", id.id(), o_O);
+
+			complete(PaymentAuthorization.declined(id, "Payment could not be authorized!"));
+
+		} finally {
+			pending.remove(id);
+			admissions.release();
+		}
+	}
+
+	private void completeApproved(OrderIdentifier id, MonetaryAmount amount, CreditCardNumber number,
+			Consumer<MonetaryAmount> onApproval) {
+
+		try {
+
+			transactions.executeWithoutResult(__ -> onApproval.accept(amount));
+			complete(PaymentAuthorization.authorized(id));
+
+		} catch (RuntimeException o_O) {
+
+			release(id, amount, number);
+
+			if (o_O instanceof PaymentFailed) {
+				complete(PaymentAuthorization.declined(id, String.valueOf(o_O.getMessage())));
+			} else {
+				LOG.warn("Completing payment for order {} failed!", id.id(), o_O);
+				complete(PaymentAuthorization.declined(id, "Payment could not be completed!"));
+			}
+		}
+	}
+
+	private void release(OrderIdentifier id, MonetaryAmount amount, CreditCardNumber number) {
+
+		try {
+			gateway.release(number, amount);
+		} catch (RuntimeException o_O) {
+			LOG.error("Releasing the approved payment of {} for order {} failed, needs to be reversed manually!", amount,
+					id.id(), o_O);
+		}
+	}
+
+	private Authorization callGateway(CreditCardNumber number, MonetaryAmount amount) {
+
+		try {
+			gatewayPermits.acquire();
+		} catch (InterruptedException o_O) {
+			Thread.currentThread().interrupt();
+			throw new IllegalStateException("Interrupted while waiting for the payment gateway!", o_O);
+		}
+
+		var start = System.nanoTime();
+		var outcome = "failed";
+
+		try {
+
+			var authorization = gateway.authorize(number, amount);
+			outcome = authorization.approved() ? "approved" : "declined";
+
+			return authorization;
+
+		} finally {
+
+			gatewayPermits.release();
+
+			var timer = gatewayTimes.get(outcome);
+
+			if (timer != null) {
+				timer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+			}
+		}
+	}
+
+	private void complete(PaymentAuthorization authorization) {
+
+		synchronized (completed) {
+			completed.put(authorization.order(), authorization);
+		}
+	}
+}
@@ -0,0 +1,82 @@
+/*
+ * Copyright 2012-2019 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package de.odrotbohm.restbucks.payment;
+
+import javax.money.MonetaryAmount;
+
+import org.jspecify.annotations.Nullable;
+import org.springframework.util.Assert;
+
+/**
+ * SPI to authorize payments with a card payment provider. Implementations are invoked from the threads of
+ * {@link PaymentAuthorizations} and are thus free to block while waiting for the provider to respond. Failures to
+ * reach the provider are supposed to be signaled by throwing an exception, a declined payment by a declined
+ * {@link Authorization}.
+ *
+ * @author Oliver Drotbohm
+ * @see StubPaymentGateway
+ */
+public interface PaymentGateway {
+
+	/**
+	 * Authorizes charging the given {@link MonetaryAmount} to the card with the given {@link CreditCardNumber}.
+	 *
+	 * @param number must not be {@literal null}.
+	 * @param amount must not be {@literal null}.
+	 * @return will never be {@literal null}.
+	 */
+	Authorization authorize(CreditCardNumber number, MonetaryAmount amount);
+
+	/**
+	 * Releases a previous, approved authorization to charge the given {@link MonetaryAmount} to the card with the given
+	 * {@link CreditCardNumber}, i.e. voids it, as the payment could not be completed.
+	 *
+	 * @param number must not be {@literal null}.
+	 * @param amount must not be {@literal null}.
+	 */
+	void release(CreditCardNumber number, MonetaryAmount amount);
+
+	/**
+	 * The result of an authorization request.
+	 *
+	 * @param approved whether the payment was approved.
+	 * @param reason the reason the payment was declined, {@literal null} if it was approved.
+	 */
+	record Authorization(boolean approved, @Nullable String reason) {
+
+		/**
+		 * Returns an approved {@link Authorization}.
+		 *
+		 * @return will never be {@literal null}.
+		 */
+		public static Authorization approve() {
+			return new Authorization(true, null);
+		}
+
+		/**
+		 * Returns an {@link Authorization} declined for the given reason.
+		 *
+		 * @param reason must not be {@literal null} or empty.
+		 * @return will never be {@literal null}.
+		 */
+		public static Authorization decline(String reason) {
+
+			Assert.hasText(reason, "Reason must not be null or empty!");
+
+			return new Authorization(false, reason);
+		}
+	}
+}
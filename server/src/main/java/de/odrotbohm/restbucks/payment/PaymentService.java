@@ -36,9 +36,35 @@ public interface PaymentService {
 	 * @param order must not be {@literal null}.
 	 * @param creditCardNumber must not be {@literal null}.
 	 * @return will never be {@literal null}.
+	 * @throws PaymentFailed in case the {@link Order} is already paid, the {@link CreditCard} is invalid or a payment
+	 *           for the {@link Order} is being authorized.
 	 */
 	CreditCardPayment pay(Order order, CreditCardNumber creditCardNumber);
 
+	/**
+	 * Submits the payment of the given {@link Order} with the {@link CreditCard} identified by the given
+	 * {@link CreditCardNumber} to the {@link PaymentGateway} for authorization without waiting for it to respond. The
+	 * {@link Order} is paid once the payment is authorized, unless its price changed in the meantime, in which case the
+	 * authorization is released and the payment declined.
+	 *
+	 * @param order must not be {@literal null}.
+	 * @param creditCardNumber must not be {@literal null}.
+	 * @return the pending {@link PaymentAuthorization}, will never be {@literal null}.
+	 * @throws PaymentFailed in case the {@link Order} is already paid, the {@link CreditCard} is invalid or a payment
+	 *           for the {@link Order} is already being authorized.
+	 * @throws java.util.concurrent.RejectedExecutionException in case too many payments are waiting for authorization.
+	 */
+	PaymentAuthorization authorize(Order order, CreditCardNumber creditCardNumber);
+
+	/**
+	 * Returns the {@link PaymentAuthorization} for the given {@link Order}.
+	 *
+	 * @param order must not be {@literal null}.
+	 * @return the {@link PaymentAuthorization} for the given {@link Order} or {@link Optional#empty()} if no payment
+	 *         has been submitted for it recently.
+	 */
+	Optional<PaymentAuthorization> getAuthorizationFor(Order order);
+
 	/**
 	 * Returns the {@link Payment} for the given {@link Order}.
 	 *
@@ -48,6 +74,15 @@ public interface PaymentService {
 	 */
 	Optional<Payment<?>> getPaymentFor(Order order);
 
+	/**
+	 * Returns the {@link Receipt} for the given {@link Order} without loading the entire {@link Payment}.
+	 *
+	 * @param order must not be {@literal null}.
+	 * @return the {@link Receipt} for the given {@link Order} or {@link Optional#empty()} if the Order hasn't been payed
+	 *         yet.
+	 */
+	Optional<Receipt> getReceiptFor(Order order);
+
 	/**
 	 * Takes the receipt
 	 *
@@ -27,8 +27,9 @@ import org.jmolecules.ddd.annotation.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 /**
- * Implementation of {@link PaymentService} delegating persistence operations to {@link Payments} and
- * {@link CreditCards}.
+ * Implementation of {@link PaymentService} delegating persistence operations to {@link Payments} and looking up
+ * {@link CreditCard}s through the {@link CreditCardCache}. Asynchronous payments are authorized through
+ * {@link PaymentAuthorizations}.
  *
  * @author Oliver Drotbohm
  * @author Stéphane Nicoll
@@ -38,9 +39,10 @@ import org.springframework.transaction.annotation.Transactional;
 @RequiredArgsConstructor
 class PaymentServiceImpl implements PaymentService {
 
-	private final @NonNull CreditCards cards;
+	private final @NonNull CreditCardCache cards;
 	private final @NonNull Payments payments;
 	private final @NonNull Orders orders;
+	private final @NonNull PaymentAuthorizations authorizations;
 
 	/*
 	 * (non-Javadoc)
@@ -49,22 +51,53 @@ class PaymentServiceImpl implements PaymentService {
 	@Override
 	public CreditCardPayment pay(Order order, CreditCardNumber creditCardNumber) {
 
-		if (order.isPaid()) {
-			throw new PaymentFailed(order, "Order already paid!");
+		verify(order, creditCardNumber);
+
+		if (authorizations.findByOrder(order.getId()).filter(PaymentAuthorization::isPending).isPresent()) {
+			throw new PaymentFailed(order, "Payment already being authorized!");
 		}
 
-		var creditCard = cards.findByNumber(creditCardNumber)
-				.orElseThrow(() -> new PaymentFailed(order,
-						String.format("No credit card found for number: %s", creditCardNumber)));
+		return complete(order, creditCardNumber);
+	}
 
-		if (!creditCard.isValid()) {
-			throw new PaymentFailed(order, "Invalid credit card with number %s, expired %s!".formatted(
-					creditCardNumber, creditCard.getExpirationDate()));
-		}
+	/*
+	 * (non-Javadoc)
+	 * @see de.odrotbohm.restbucks.payment.PaymentService#authorize(de.odrotbohm.restbucks.order.Order, de.odrotbohm.restbucks.payment.CreditCardNumber)
+	 */
+	@Override
+	public PaymentAuthorization authorize(Order order, CreditCardNumber creditCardNumber) {
 
-		orders.markPaid(order);
+		verify(order, creditCardNumber);
 
-		return payments.save(new CreditCardPayment(creditCardNumber, order.getId()));
+		var id = order.getId();
+
+		// Runs in a transaction of its own once the gateway approved the payment, so that we need a fresh Order
+		return authorizations.submit(order, creditCardNumber, amount -> {
+
+			var current = orders.findById(id)
+					.orElseThrow(() -> new IllegalStateException("No order found for identifier %s!".formatted(id)));
+
+			if (!current.getPrice().isEqualTo(amount)) {
+				throw new PaymentFailed(current, "Order changed to %s while authorizing payment of %s!"
+						.formatted(current.getPrice(), amount));
+			}
+
+			verify(current, creditCardNumber);
+			complete(current, creditCardNumber);
+		});
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see de.odrotbohm.restbucks.payment.PaymentService#getAuthorizationFor(de.odrotbohm.restbucks.order.Order)
+	 */
+	@Override
+	@Transactional(readOnly = true)
+	public Optional<PaymentAuthorization> getAuthorizationFor(Order order) {
+
+		return order.isPaid()
+				? Optional.of(PaymentAuthorization.authorized(order.getId()))
+				: authorizations.findByOrder(order.getId());
 	}
 
 	/*
@@ -77,6 +110,16 @@ class PaymentServiceImpl implements PaymentService {
 		return payments.findByOrder(order.getId());
 	}
 
+	/*
+	 * (non-Javadoc)
+	 * @see de.odrotbohm.restbucks.payment.PaymentService#getReceiptFor(de.odrotbohm.restbucks.order.Order)
+	 */
+	@Override
+	@Transactional(readOnly = true)
+	public Optional<Receipt> getReceiptFor(Order order) {
+		return payments.findReceiptByOrder(order.getId());
+	}
+
 	/*
 	 * (non-Javadoc)
 	 * @see org.springsource.restbucks.payment.PaymentService#takeReceiptFor(org.springsource.restbucks.order.Order)
@@ -86,6 +129,31 @@ class PaymentServiceImpl implements PaymentService {
 
 		var result = orders.markTaken(order);
 
-		return getPaymentFor(result).map(Payment::getReceipt);
+		return payments.findReceiptByOrder(result.getId());
+	}
+
+	private void verify(Order order, CreditCardNumber creditCardNumber) {
+
+		if (order.isPaid()) {
+			throw new PaymentFailed(order, "Order already paid!");
+		}
+
+		var creditCard = cards.findByNumber(creditCardNumber)
+				.orElseThrow(() -> new PaymentFailed(order,
+						String.format("No credit card found for number: %s", creditCardNumber)));
+
+		if (!cards.isValid(creditCard)) {
+			throw new PaymentFailed(order, "Invalid credit card with number %s, expired %s!".formatted(
+					creditCardNumber, creditCard.getExpirationDate()));
+		}
+	}
+
+	private CreditCardPayment complete(Order order, CreditCardNumber creditCardNumber) {
+
+		// Conditional update of the order's status guarding against concurrent payments, followed by a plain insert
+		orders.markPaid(order)
+				.orElseThrow(() -> new PaymentFailed(order, "Order already paid or changed concurrently!"));
+
+		return payments.save(new CreditCardPayment(creditCardNumber, order.getId()));
 	}
 }
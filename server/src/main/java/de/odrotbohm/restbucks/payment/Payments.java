@@ -18,12 +18,15 @@ package de.odrotbohm.restbucks.payment;
 import de.odrotbohm.restbucks.order.Order;
 import de.odrotbohm.restbucks.order.Order.OrderIdentifier;
 import de.odrotbohm.restbucks.payment.Payment.PaymentIdentifier;
+import de.odrotbohm.restbucks.payment.Payment.Receipt;
 
 import java.util.Optional;
 
 import org.jmolecules.ddd.types.Association;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.CrudRepository;
 import org.springframework.data.repository.PagingAndSortingRepository;
+import org.springframework.data.repository.query.Param;
 
 /**
  * Repository interface to manage {@link Payment} instances.
@@ -44,4 +47,19 @@ interface Payments
 	}
 
 	Optional<Payment<?>> findByOrder(Association<Order, OrderIdentifier> order);
+
+	/**
+	 * Returns the {@link Receipt} for the payment registered for the given {@link Order}. Only reads the fields of the
+	 * {@link Receipt} through the unique index on the order instead of materializing the {@link Payment}.
+	 *
+	 * @param id must not be {@literal null}.
+	 * @return will never be {@literal null}.
+	 */
+	default Optional<Receipt> findReceiptByOrder(OrderIdentifier id) {
+		return findReceiptByOrder(Association.forId(id));
+	}
+
+	@Query("select new de.odrotbohm.restbucks.payment.Payment$Receipt(p.paymentDate, p.order) from Payment p"
+			+ " where p.order = :order")
+	Optional<Receipt> findReceiptByOrder(@Param("order") Association<Order, OrderIdentifier> order);
 }
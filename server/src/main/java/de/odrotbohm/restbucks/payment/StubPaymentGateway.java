@@ -0,0 +1,116 @@
+/*
+ * Copyright 2012-2019 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package de.odrotbohm.restbucks.payment;
+
+import java.time.Duration;
+import java.util.concurrent.ThreadLocalRandom;
+
+import javax.money.MonetaryAmount;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import org.springframework.util.Assert;
+
+/**
+ * In-process {@link PaymentGateway} simulating a card payment provider. Takes a random time between the configured
+ * minimum and maximum latency to respond and randomly declines payments or fails to respond at the configured rates.
+ * Disable it via {@code restbucks.payment.gateway.stub.enabled=false} to plug in a different {@link PaymentGateway}.
+ *
+ * @author Oliver Drotbohm
+ */
+@Component
+@ConditionalOnProperty(name = "restbucks.payment.gateway.stub.enabled", matchIfMissing = true)
+class StubPaymentGateway implements PaymentGateway {
+
+	private final Duration minLatency, maxLatency;
+	private final double declineRate, failureRate;
+
+	/**
+	 * Creates a new {@link StubPaymentGateway} for the given latencies and rates.
+	 *
+	 * @param minLatency must not be {@literal null} or negative.
+	 * @param maxLatency must not be {@literal null} or less than the minimum latency.
+	 * @param declineRate the fraction of payments to decline, between zero and one.
+	 * @param failureRate the fraction of payments to fail to respond to, between zero and one.
+	 */
+	StubPaymentGateway(@Value("${restbucks.payment.gateway.stub.min-latency:200ms}") Duration minLatency,
+			@Value("${restbucks.payment.gateway.stub.max-latency:800ms}") Duration maxLatency,
+			@Value("${restbucks.payment.gateway.stub.decline-rate:0}") double declineRate,
+			@Value("${restbucks.payment.gateway.stub.failure-rate:0}") double failureRate) {
+
+		Assert.notNull(minLatency, "Minimum latency must not be null!");
+		Assert.notNull(maxLatency, "Maximum latency must not be null!");
+		Assert.isTrue(!minLatency.isNegative(), "Minimum latency must not be negative!");
+		Assert.isTrue(maxLatency.compareTo(minLatency) >= 0, "Maximum latency must not be less than the minimum one!");
+		Assert.isTrue(declineRate >= 0 && declineRate <= 1, "Decline rate must be between zero and one!");
+		Assert.isTrue(failureRate >= 0 && failureRate <= 1, "Failure rate must be between zero and one!");
+
+		this.minLatency = minLatency;
+		this.maxLatency = maxLatency;
+		this.declineRate = declineRate;
+		this.failureRate = failureRate;
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see de.odrotbohm.restbucks.payment.PaymentGateway#authorize(de.odrotbohm.restbucks.payment.CreditCardNumber, javax.money.MonetaryAmount)
+	 */
+	@Override
+	public Authorization authorize(CreditCardNumber number, MonetaryAmount amount) {
+
+		Assert.notNull(number, "CreditCardNumber must not be null!");
+		Assert.notNull(amount, "MonetaryAmount must not be null!");
+
+		var random = ThreadLocalRandom.current();
+
+		awaitResponse(random);
+
+		if (random.nextDouble() < failureRate) {
+			throw new IllegalStateException("Payment gateway did not respond!");
+		}
+
+		return random.nextDouble() < declineRate
+				? Authorization.decline("Payment of %s declined for card %s!".formatted(amount, number))
+				: Authorization.approve();
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see de.odrotbohm.restbucks.payment.PaymentGateway#release(de.odrotbohm.restbucks.payment.CreditCardNumber, javax.money.MonetaryAmount)
+	 */
+	@Override
+	public void release(CreditCardNumber number, MonetaryAmount amount) {
+
+		Assert.notNull(number, "CreditCardNumber must not be null!");
+		Assert.notNull(amount, "MonetaryAmount must not be null!");
+
+		awaitResponse(ThreadLocalRandom.current());
+	}
+
+	private void awaitResponse(ThreadLocalRandom random) {
+
+		var min = minLatency.toMillis();
+		var max = maxLatency.toMillis();
+
+		try {
+			Thread.sleep(min == max ? min : random.nextLong(min, max + 1));
+		} catch (InterruptedException o_O) {
+			Thread.currentThread().interrupt();
+			throw new IllegalStateException("Interrupted while waiting for the payment gateway!", o_O);
+		}
+	}
+}
@@ -0,0 +1,279 @@
+/*
+ * Copyright 2012-2019 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package de.odrotbohm.restbucks.payment.web;
+
+import de.odrotbohm.restbucks.order.Order.OrderIdentifier;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.Supplier;
+
+import org.jspecify.annotations.Nullable;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ProblemDetail;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Component;
+import org.springframework.util.Assert;
+
+/**
+ * Store of the responses to requests submitted with an {@value #HEADER} header, so that a retried request returns the
+ * original response without being processed again. Keys are scoped to the {@link OrderIdentifier} of the request and
+ * kept for a configurable time to live once the request has completed, the number of keys kept is bounded. As all keys
+ * live equally long, completed ones are kept in the order they completed, so that expired ones are evicted from the head
+ * of the store on access. Keys of requests still being processed never expire, no matter how long the request takes.
+ * <p>
+ * A key is claimed before the request is processed, so that a concurrent request with the same key is rejected with
+ * {@code 409 Conflict} instead of being processed a second time. A key reused for a request with a different payload
+ * is rejected with {@code 422 Unprocessable Content}. Only successful responses are kept, the key is released if the
+ * request fails, so that it can be retried.
+ * <p>
+ * If the maximum number of keys is reached, the oldest key whose request has completed is evicted. Keys of requests
+ * still being processed are never evicted, as that would allow a retry to be processed concurrently. Requests with new
+ * keys are rejected with {@code 503 Service Unavailable} while all keys stored are still being processed.
+ *
+ * @author Oliver Drotbohm
+ */
+@Component
+class IdempotencyKeys {
+
+	static final String HEADER = "Idempotency-Key";
+	static final String REPLAYED_HEADER = "Idempotent-Replayed";
+	static final int MAX_KEY_LENGTH = 255;
+
+	private final long ttl;
+	private final int maxEntries;
+	private final Clock clock;
+	private final Map<Key, Entry> entries;
+
+	/**
+	 * Creates a new {@link IdempotencyKeys} for the given time to live and maximum number of keys using the system
+	 * clock.
+	 *
+	 * @param ttl must not be {@literal null}, must be positive.
+	 * @param maxEntries must be greater than zero.
+	 */
+	@Autowired
+	IdempotencyKeys(@Value("${restbucks.payment.idempotency-keys.ttl:PT24H}") Duration ttl,
+			@Value("${restbucks.payment.idempotency-keys.max-entries:10000}") int maxEntries) {
+		this(ttl, maxEntries, Clock.systemUTC());
+	}
+
+	/**
+	 * Creates a new {@link IdempotencyKeys} for the given time to live, maximum number of keys and {@link Clock}.
+	 *
+	 * @param ttl must not be {@literal null}, must be positive.
+	 * @param maxEntries must be greater than zero.
+	 * @param clock must not be {@literal null}.
+	 */
+	IdempotencyKeys(Duration ttl, int maxEntries, Clock clock) {
+
+		Assert.notNull(ttl, "Time to live must not be null!");
+		Assert.isTrue(ttl.isPositive(), "Time to live must be positive!");
+		Assert.isTrue(maxEntries > 0, "Maximum number of entries must be greater than zero!");
+		Assert.notNull(clock, "Clock must not be null!");
+
+		this.ttl = ttl.toMillis();
+		this.maxEntries = maxEntries;
+		this.clock = clock;
+		this.entries = new LinkedHashMap<>();
+	}
+
+	/**
+	 * Processes the request for the given {@link OrderIdentifier} and idempotency key using the given action, unless the
+	 * key has been used before, in which case the original response is returned.
+	 *
+	 * @param order must not be {@literal null}.
+	 * @param key must not be {@literal null}.
+	 * @param payload the payload of the request, to detect keys reused for different requests, must not be
+	 *          {@literal null}.
+	 * @param action the action to process the request, must not be {@literal null}.
+	 * @return will never be {@literal null}.
+	 */
+	ResponseEntity<?> execute(OrderIdentifier order, String key, Object payload, Supplier<ResponseEntity<?>> action) {
+
+		Assert.notNull(order, "OrderIdentifier must not be null!");
+		Assert.notNull(key, "Idempotency key must not be null!");
+		Assert.notNull(payload, "Payload must not be null!");
+		Assert.notNull(action, "Action must not be null!");
+
+		if (key.isBlank() || key.length() > MAX_KEY_LENGTH) {
+			return problem(HttpStatus.BAD_REQUEST,
+					"%s must not be blank or longer than %s characters!".formatted(HEADER, MAX_KEY_LENGTH));
+		}
+
+		var id = new Key(order, key);
+		var now = clock.millis();
+		Entry existing;
+
+		synchronized (entries) {
+
+			evictExpired(now);
+
+			existing = entries.get(id);
+
+			if (existing == null) {
+
+				if (entries.size() >= maxEntries && !evictOldestCompleted()) {
+					return problem(HttpStatus.SERVICE_UNAVAILABLE,
+							"Too many requests with an %s being processed, please retry later!".formatted(HEADER));
+				}
+
+				entries.put(id, new Entry(payload, Long.MAX_VALUE, null));
+			}
+		}
+
+		if (existing != null) {
+			return replay(existing, payload);
+		}
+
+		ResponseEntity<?> response;
+
+		try {
+			response = action.get();
+		} catch (RuntimeException o_O) {
+			release(id);
+			throw o_O;
+		}
+
+		if (!response.getStatusCode().is2xxSuccessful()) {
+			release(id);
+			return response;
+		}
+
+		var expires = clock.millis() + ttl;
+
+		synchronized (entries) {
+
+			// Re-insert to keep completed keys in the order they expire
+			var entry = entries.remove(id);
+
+			if (entry != null) {
+				entries.put(id, entry.complete(response, expires));
+			}
+		}
+
+		return response;
+	}
+
+	/**
+	 * Returns the number of keys currently stored.
+	 *
+	 * @return
+	 */
+	int size() {
+
+		synchronized (entries) {
+			return entries.size();
+		}
+	}
+
+	private void release(Key key) {
+
+		synchronized (entries) {
+			entries.remove(key);
+		}
+	}
+
+	/**
+	 * Evicts the completed keys expired, skipping the ones of requests still being processed.
+	 *
+	 * @param now the current epoch milliseconds.
+	 */
+	private void evictExpired(long now) {
+
+		Iterator<Entry> iterator = entries.values().iterator();
+
+		while (iterator.hasNext()) {
+
+			var entry = iterator.next();
+
+			if (entry.response() == null) {
+				continue;
+			}
+
+			if (entry.expires() > now) {
+				return;
+			}
+
+			iterator.remove();
+		}
+	}
+
+	/**
+	 * Evicts the oldest key whose request has completed.
+	 *
+	 * @return whether a key was evicted.
+	 */
+	private boolean evictOldestCompleted() {
+
+		Iterator<Entry> iterator = entries.values().iterator();
+
+		while (iterator.hasNext()) {
+
+			if (iterator.next().response() != null) {
+				iterator.remove();
+				return true;
+			}
+		}
+
+		return false;
+	}
+
+	private static ResponseEntity<?> replay(Entry entry, Object payload) {
+
+		if (!entry.payload().equals(payload)) {
+			return problem(HttpStatus.UNPROCESSABLE_CONTENT, "%s already used for a different request!".formatted(HEADER));
+		}
+
+		var response = entry.response();
+
+		if (response == null) {
+			return problem(HttpStatus.CONFLICT,
+					"A request with the same %s is still being processed!".formatted(HEADER));
+		}
+
+		return ResponseEntity.status(response.getStatusCode())
+				.headers(response.getHeaders())
+				.header(REPLAYED_HEADER, "true")
+				.body(response.getBody());
+	}
+
+	private static ResponseEntity<?> problem(HttpStatus status, String detail) {
+		return ResponseEntity.of(ProblemDetail.forStatusAndDetail(status, detail)).build();
+	}
+
+	private record Key(OrderIdentifier order, String key) {}
+
+	/**
+	 * A key claimed by a request.
+	 *
+	 * @param payload the payload of the request.
+	 * @param expires the epoch milliseconds the key expires at, {@link Long#MAX_VALUE} while the request is still being
+	 *          processed.
+	 * @param response the response to the request, {@literal null} while it's still being processed.
+	 */
+	private record Entry(Object payload, long expires, @Nullable ResponseEntity<?> response) {
+
+		Entry complete(ResponseEntity<?> response, long expires) {
+			return new Entry(payload, expires, response);
+		}
+	}
+}
@@ -0,0 +1,63 @@
+/*
+ * Copyright 2012-2019 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package de.odrotbohm.restbucks.payment.web;
+
+import de.odrotbohm.restbucks.order.Order;
+import de.odrotbohm.restbucks.payment.PaymentAuthorization;
+import de.odrotbohm.restbucks.payment.PaymentService;
+import lombok.NonNull;
+import lombok.RequiredArgsConstructor;
+
+import org.springframework.data.rest.core.event.AbstractRepositoryEventListener;
+import org.springframework.stereotype.Component;
+
+/**
+ * Event listener to reject updating or cancelling an {@link Order} through Spring Data REST while a payment for it is
+ * being authorized, so that the amount authorized still matches the {@link Order} once the authorization completes.
+ *
+ * @author Oliver Drotbohm
+ */
+@Component
+@RequiredArgsConstructor
+class OrderPaymentEventListener extends AbstractRepositoryEventListener<Order> {
+
+	private final @NonNull PaymentService paymentService;
+
+	/*
+	 * (non-Javadoc)
+	 * @see org.springframework.data.rest.core.event.AbstractRepositoryEventListener#onBeforeSave(java.lang.Object)
+	 */
+	@Override
+	protected void onBeforeSave(Order order) {
+		rejectIfPending(order);
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see org.springframework.data.rest.core.event.AbstractRepositoryEventListener#onBeforeDelete(java.lang.Object)
+	 */
+	@Override
+	protected void onBeforeDelete(Order order) {
+		rejectIfPending(order);
+	}
+
+	private void rejectIfPending(Order order) {
+
+		if (paymentService.getAuthorizationFor(order).filter(PaymentAuthorization::isPending).isPresent()) {
+			throw new PaymentPending();
+		}
+	}
+}
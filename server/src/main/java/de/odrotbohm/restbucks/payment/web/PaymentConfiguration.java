@@ -15,6 +15,9 @@
  */
 package de.odrotbohm.restbucks.payment.web;
 
+import de.odrotbohm.restbucks.core.VersionedResourceInterceptor;
+import de.odrotbohm.restbucks.order.Order.OrderIdentifier;
+import de.odrotbohm.restbucks.order.Orders;
 import de.odrotbohm.restbucks.payment.CreditCard;
 import de.odrotbohm.restbucks.payment.CreditCardNumber;
 import de.odrotbohm.restbucks.payment.Payment.Receipt;
@@ -24,6 +27,7 @@ import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.hateoas.mediatype.MediaTypeConfigurationCustomizer;
 import org.springframework.hateoas.mediatype.hal.forms.HalFormsConfiguration;
+import org.springframework.web.servlet.handler.MappedInterceptor;
 
 import com.fasterxml.jackson.annotation.JsonAutoDetect;
 import com.fasterxml.jackson.annotation.JsonIgnore;
@@ -39,6 +43,12 @@ class PaymentConfiguration {
 		return config -> config.withPattern(CreditCardNumber.class, CreditCardNumber.REGEX);
 	}
 
+	@Bean
+	MappedInterceptor receiptVersionInterceptor(Orders orders) {
+		return VersionedResourceInterceptor.forPaths(id -> orders.findVersionById(new OrderIdentifier(id)),
+				"/orders/*" + PaymentLinks.RECEIPT);
+	}
+
 	@JacksonMixin(Receipt.class)
 	static abstract class ReceiptMixin {
 
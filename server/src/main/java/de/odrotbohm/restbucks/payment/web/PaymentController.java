@@ -19,10 +19,13 @@ import static org.springframework.hateoas.server.mvc.WebMvcLinkBuilder.*;
 
 import de.odrotbohm.restbucks.DTO;
 import de.odrotbohm.restbucks.order.Order;
+import de.odrotbohm.restbucks.order.Order.OrderIdentifier;
 import de.odrotbohm.restbucks.order.Orders;
 import de.odrotbohm.restbucks.payment.CreditCardNumber;
 import de.odrotbohm.restbucks.payment.Payment;
 import de.odrotbohm.restbucks.payment.Payment.Receipt;
+import de.odrotbohm.restbucks.payment.PaymentAuthorization;
+import de.odrotbohm.restbucks.payment.PaymentAuthorization.Status;
 import de.odrotbohm.restbucks.payment.PaymentFailed;
 import de.odrotbohm.restbucks.payment.PaymentService;
 import lombok.Data;
@@ -30,12 +33,18 @@ import lombok.EqualsAndHashCode;
 import lombok.NonNull;
 import lombok.RequiredArgsConstructor;
 
+import java.util.Arrays;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.function.Supplier;
+
 import javax.money.MonetaryAmount;
 
+import org.jspecify.annotations.Nullable;
 import org.springframework.hateoas.EntityModel;
 import org.springframework.hateoas.RepresentationModel;
 import org.springframework.hateoas.server.ExposesResourceFor;
 import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Controller;
@@ -46,8 +55,12 @@ import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
 
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.annotation.JsonInclude.Include;
+
 /**
  * Spring MVC controller to handle payments for an {@link Order}.
  *
@@ -59,21 +72,53 @@ import org.springframework.web.bind.annotation.RequestMapping;
 @RequiredArgsConstructor
 class PaymentController {
 
+	static final String PREFER = "Prefer";
+	static final String PREFERENCE_APPLIED = "Preference-Applied";
+	static final String RESPOND_ASYNC = "respond-async";
+
+	private static final String RETRY_AFTER_SECONDS = "1";
+
 	private final @NonNull PaymentService paymentService;
 	private final @NonNull PaymentLinks paymentLinks;
 	private final @NonNull Orders orders;
+	private final @NonNull IdempotencyKeys idempotencyKeys;
 
 	/**
-	 * Accepts a payment for an {@link Order}
+	 * Accepts a payment for an {@link Order}. Requests submitted with an {@value IdempotencyKeys#HEADER} header are only
+	 * processed once, retries with the same key return the original response without looking up the {@link Order}.
+	 * Requests preferring to {@value #RESPOND_ASYNC} are answered with {@code 202 Accepted} right away and the payment
+	 * is authorized in the background.
 	 *
-	 * @param order the {@link Order} to process the payment for. Retrieved from the path variable and converted into an
-	 *          {@link Order} instance by Spring Data's {@link DomainClassConverter}. Will be {@literal null} in case no
-	 *          {@link Order} with the given id could be found.
-	 * @param number the {@link CreditCardNumber} unmarshalled from the request payload.
+	 * @param id the identifier of the {@link Order} to process the payment for.
+	 * @param form the {@link PaymentForm} unmarshalled from the request payload.
+	 * @param idempotencyKey the idempotency key submitted, can be {@literal null}.
+	 * @param prefer the preferences submitted, can be {@literal null}.
 	 * @return
+	 * @see IdempotencyKeys
 	 */
 	@PutMapping(path = PaymentLinks.PAYMENT)
-	ResponseEntity<?> submitPayment(@PathVariable("id") Order order, @RequestBody PaymentForm form) {
+	ResponseEntity<?> submitPayment(@PathVariable("id") OrderIdentifier id, @RequestBody PaymentForm form,
+			@RequestHeader(name = IdempotencyKeys.HEADER, required = false) @Nullable String idempotencyKey,
+			@RequestHeader(name = PREFER, required = false) @Nullable String prefer) {
+
+		Supplier<ResponseEntity<?>> action = prefersAsync(prefer)
+				? () -> authorizePayment(orders.findById(id).orElse(null), form)
+				: () -> submitPayment(orders.findById(id).orElse(null), form);
+
+		return idempotencyKey == null
+				? action.get()
+				: idempotencyKeys.execute(id, idempotencyKey, form, action);
+	}
+
+	/**
+	 * Accepts a payment for an {@link Order}
+	 *
+	 * @param order the {@link Order} to process the payment for. Will be {@literal null} in case no {@link Order} with
+	 *          the given id could be found.
+	 * @param form the {@link PaymentForm} unmarshalled from the request payload.
+	 * @return
+	 */
+	ResponseEntity<?> submitPayment(@Nullable Order order, PaymentForm form) {
 
 		if (order == null || order.isPaid()) {
 			return ResponseEntity.notFound().build();
@@ -88,6 +133,55 @@ class PaymentController {
 		return ResponseEntity.created(paymentUri).body(model);
 	}
 
+	/**
+	 * Submits a payment for an {@link Order} for authorization and returns {@code 202 Accepted} pointing to the
+	 * resource exposing the state of the authorization.
+	 *
+	 * @param order the {@link Order} to process the payment for. Will be {@literal null} in case no {@link Order} with
+	 *          the given id could be found.
+	 * @param form the {@link PaymentForm} unmarshalled from the request payload.
+	 * @return
+	 */
+	ResponseEntity<?> authorizePayment(@Nullable Order order, PaymentForm form) {
+
+		if (order == null || order.isPaid()) {
+			return ResponseEntity.notFound().build();
+		}
+
+		var authorization = paymentService.authorize(order, form.number());
+
+		return ResponseEntity.accepted()
+				.location(paymentLinks.getPaymentLink(order).toUri())
+				.header(PREFERENCE_APPLIED, RESPOND_ASYNC)
+				.header(HttpHeaders.RETRY_AFTER, RETRY_AFTER_SECONDS)
+				.body(createAuthorizationModel(order, authorization));
+	}
+
+	/**
+	 * Shows the state of the {@link PaymentAuthorization} for the given order. Asks clients to poll again while it's
+	 * still pending.
+	 *
+	 * @param order
+	 * @return
+	 */
+	@GetMapping(path = PaymentLinks.PAYMENT)
+	HttpEntity<?> showAuthorization(@PathVariable("id") Order order) {
+
+		if (order == null) {
+			return ResponseEntity.notFound().build();
+		}
+
+		return paymentService.getAuthorizationFor(order) //
+				.map(it -> ResponseEntity.ok()
+						.headers(headers -> {
+							if (it.isPending()) {
+								headers.set(HttpHeaders.RETRY_AFTER, RETRY_AFTER_SECONDS);
+							}
+						})
+						.body(createAuthorizationModel(order, it)))
+				.orElseGet(() -> ResponseEntity.notFound().build());
+	}
+
 	/**
 	 * Shows the {@link Receipt} for the given order.
 	 *
@@ -101,8 +195,7 @@ class PaymentController {
 			return ResponseEntity.notFound().build();
 		}
 
-		return paymentService.getPaymentFor(order) //
-				.map(Payment::getReceipt) //
+		return paymentService.getReceiptFor(order) //
 				.map(this::createReceiptResponse) //
 				.orElseGet(() -> ResponseEntity.notFound().build());
 	}
@@ -136,9 +229,48 @@ class PaymentController {
 		return ErrorResponse.builder(exception, HttpStatus.BAD_REQUEST, exception.getMessage()).build();
 	}
 
+	/**
+	 * Make sure that we translate payments rejected as too many are waiting for authorization into 503.
+	 *
+	 * @param exception will never be {@literal null}.
+	 * @return will never be {@literal null}.
+	 */
+	@ExceptionHandler
+	ErrorResponse handle(RejectedExecutionException exception) {
+
+		return ErrorResponse.builder(exception, HttpStatus.SERVICE_UNAVAILABLE, String.valueOf(exception.getMessage()))
+				.header(HttpHeaders.RETRY_AFTER, RETRY_AFTER_SECONDS)
+				.build();
+	}
+
+	/**
+	 * Renders the given {@link PaymentAuthorization} including links to itself, the associated {@link Order} and, once
+	 * authorized, its {@link Receipt}.
+	 *
+	 * @param order must not be {@literal null}.
+	 * @param authorization must not be {@literal null}.
+	 * @return
+	 */
+	private AuthorizationModel createAuthorizationModel(Order order, PaymentAuthorization authorization) {
+
+		return new AuthorizationModel(authorization.status(), authorization.reason())
+				.add(paymentLinks.getPaymentLink(order).withSelfRel())
+				.add(paymentLinks.getOrderLinks().linkToItemResource(order))
+				.addIf(authorization.status() == Status.AUTHORIZED && !order.isTaken(),
+						() -> paymentLinks.getReceiptLink(order));
+	}
+
+	private static boolean prefersAsync(@Nullable String prefer) {
+
+		return prefer != null && Arrays.stream(prefer.split(","))
+				.map(it -> it.split(";")[0].trim())
+				.anyMatch(RESPOND_ASYNC::equalsIgnoreCase);
+	}
+
 	/**
 	 * Renders the given {@link Receipt} including links to the associated {@link Order} as well as a self link in case
-	 * the {@link Receipt} is still available.
+	 * the {@link Receipt} is still available. Uses the version of the {@link Order} as ETag, as the {@link Receipt}
+	 * only changes along with it.
 	 *
 	 * @param receipt
 	 * @return
@@ -148,9 +280,11 @@ class PaymentController {
 		var orderLinks = paymentLinks.getOrderLinks();
 		var order = orders.resolveRequired(receipt.getOrder());
 
-		return ResponseEntity.ok(EntityModel.of(receipt)
-				.add(orderLinks.linkToItemResource(order))
-				.addIf(!order.isTaken(), () -> linkTo(methodOn(PaymentController.class).showReceipt(order)).withSelfRel()));
+		return ResponseEntity.ok()
+				.eTag(String.valueOf(order.getVersion()))
+				.body(EntityModel.of(receipt)
+						.add(orderLinks.linkToItemResource(order))
+						.addIf(!order.isTaken(), () -> linkTo(methodOn(PaymentController.class).showReceipt(order)).withSelfRel()));
 	}
 
 	/**
@@ -166,5 +300,19 @@ class PaymentController {
 		private final CreditCardNumber creditCardNumber;
 	}
 
+	/**
+	 * Representation model for the state of a {@link PaymentAuthorization}.
+	 *
+	 * @author Oliver Drotbohm
+	 */
+	@Data
+	@EqualsAndHashCode(callSuper = true)
+	@JsonInclude(Include.NON_NULL)
+	static class AuthorizationModel extends RepresentationModel<AuthorizationModel> {
+
+		private final Status status;
+		private final @Nullable String reason;
+	}
+
 	record PaymentForm(CreditCardNumber number) implements DTO {}
 }
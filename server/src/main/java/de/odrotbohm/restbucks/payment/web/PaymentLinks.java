@@ -26,9 +26,13 @@ import org.springframework.hateoas.server.EntityLinks;
 import org.springframework.hateoas.server.TypedEntityLinks;
 import org.springframework.stereotype.Component;
 import org.springframework.util.Assert;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
 
 /**
- * Helper component to create links to the {@link Payment} and {@link Receipt}.
+ * Helper component to create links to the {@link Payment} and {@link Receipt}. The base URI of the order resources
+ * only depends on the current request, so that it's resolved once per request and the links are created by appending
+ * the order identifier to it. Outside of a request, e.g. on background threads, it's resolved for every link created.
  *
  * @author Oliver Drotbohm
  */
@@ -41,6 +45,9 @@ public class PaymentLinks {
 	static final String PAYMENT = "/payment";
 	static final String RECEIPT = "/receipt";
 
+	private static final String ORDERS_URI_ATTRIBUTE = PaymentLinks.class.getName() + ".ORDERS_URI";
+
+	private final EntityLinks entityLinks;
 	private final @Getter TypedEntityLinks<Order> orderLinks;
 
 	/**
@@ -52,6 +59,7 @@ public class PaymentLinks {
 
 		Assert.notNull(entityLinks, "EntityLinks must not be null!");
 
+		this.entityLinks = entityLinks;
 		this.orderLinks = entityLinks.forType(Order::getId);
 	}
 
@@ -62,7 +70,7 @@ public class PaymentLinks {
 	 * @return
 	 */
 	Link getPaymentLink(Order order) {
-		return orderLinks.linkForItemResource(order).slash(PAYMENT).withRel(PAYMENT_REL);
+		return Link.of(getOrderUri(order) + PAYMENT, PAYMENT_REL);
 	}
 
 	/**
@@ -72,6 +80,31 @@ public class PaymentLinks {
 	 * @return
 	 */
 	Link getReceiptLink(Order order) {
-		return orderLinks.linkForItemResource(order).slash(RECEIPT).withRel(RECEIPT_REL);
+		return Link.of(getOrderUri(order) + RECEIPT, RECEIPT_REL);
+	}
+
+	private String getOrderUri(Order order) {
+
+		Assert.notNull(order, "Order must not be null!");
+
+		return getOrdersUri() + "/" + order.getId().id();
+	}
+
+	private String getOrdersUri() {
+
+		var attributes = RequestContextHolder.getRequestAttributes();
+
+		if (attributes == null) {
+			return entityLinks.linkFor(Order.class).toUri().toString();
+		}
+
+		var ordersUri = (String) attributes.getAttribute(ORDERS_URI_ATTRIBUTE, RequestAttributes.SCOPE_REQUEST);
+
+		if (ordersUri == null) {
+			ordersUri = entityLinks.linkFor(Order.class).toUri().toString();
+			attributes.setAttribute(ORDERS_URI_ATTRIBUTE, ordersUri, RequestAttributes.SCOPE_REQUEST);
+		}
+
+		return ordersUri;
 	}
 }
@@ -56,7 +56,7 @@ class PaymentOrderModelProcessor implements RepresentationModelProcessor<EntityM
 		var controller = methodOn(PaymentController.class);
 
 		Function<Link, Link> mapper = link -> link
-				.andAffordance(afford(controller.submitPayment(order, null)));
+				.andAffordance(afford(controller.submitPayment(order.getId(), null, null, null)));
 
 		return model
 				.mapLinkIf(!order.isPaid(), IanaLinkRelations.SELF, mapper)
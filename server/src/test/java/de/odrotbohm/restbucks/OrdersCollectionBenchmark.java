@@ -0,0 +1,81 @@
+/*
+ * Copyright 2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package de.odrotbohm.restbucks;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+
+import de.odrotbohm.restbucks.order.OrderTestUtils;
+import de.odrotbohm.restbucks.order.Orders;
+import lombok.extern.slf4j.Slf4j;
+
+import java.lang.management.ManagementFactory;
+import java.util.stream.IntStream;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.hateoas.MediaTypes;
+import org.springframework.test.web.servlet.RequestBuilder;
+
+import com.sun.management.ThreadMXBean;
+
+/**
+ * Benchmark for rendering the orders collection resource and an individual order resource, reporting the bytes
+ * allocated and the time spent per request. Runs without the application's servlet filters, so that every request
+ * renders the resources and builds their links instead of being served by the {@code OrdersCollectionCache}. Run with
+ * {@code -Dbenchmark=true}.
+ *
+ * @author Oliver Drotbohm
+ */
+@Slf4j
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+class OrdersCollectionBenchmark extends AbstractWebIntegrationTest {
+
+	private static final int ORDERS = 20, WARMUP = 500, ITERATIONS = 2_000;
+
+	@Autowired Orders orders;
+
+	@Test
+	void rendersOrders() {
+
+		IntStream.range(0, ORDERS).forEach(__ -> orders.save(OrderTestUtils.createOrder()));
+
+		var order = orders.save(OrderTestUtils.createOrder());
+
+		measure("GET /orders", get("/orders").param("size", String.valueOf(ORDERS)));
+		measure("GET /orders/{id}", get("/orders/{id}", order.getId().id()).accept(MediaTypes.HAL_FORMS_JSON));
+	}
+
+	private void measure(String name, RequestBuilder request) {
+
+		IntStream.range(0, WARMUP).forEach(__ -> render(request));
+
+		var threads = (ThreadMXBean) ManagementFactory.getThreadMXBean();
+		var bytes = threads.getCurrentThreadAllocatedBytes();
+		var start = System.nanoTime();
+
+		IntStream.range(0, ITERATIONS).forEach(__ -> render(request));
+
+		var time = System.nanoTime() - start;
+		bytes = threads.getCurrentThreadAllocatedBytes() - bytes;
+
+		LOG.info("{}: {} KB allocated, {} µs per request.", name, bytes / ITERATIONS / 1024, time / ITERATIONS / 1_000);
+	}
+
+	private void render(RequestBuilder request) {
+		mvc.perform(request).assertThat().hasStatusOk();
+	}
+}
@@ -0,0 +1,175 @@
+/*
+ * Copyright 2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package de.odrotbohm.restbucks;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+
+import de.odrotbohm.restbucks.order.Order;
+import de.odrotbohm.restbucks.order.OrderTestUtils;
+import de.odrotbohm.restbucks.order.Orders;
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.IntStream;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.transaction.support.TransactionOperations;
+
+/**
+ * Benchmark for submitting payments, reporting the SQL statements issued and the time spent per payment. Only counts
+ * the statements issued by the thread processing the request, i.e. not the ones of the preparation of the order
+ * triggered by the payment. The statements touching the order are verified against a baseline of loading the order and
+ * saving it entirely, as payments used to do. Run with {@code -Dbenchmark=true}.
+ *
+ * @author Oliver Drotbohm
+ */
+@Slf4j
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+@TestPropertySource(properties = "spring.jpa.properties.hibernate.session_factory.statement_inspector="
+		+ "de.odrotbohm.restbucks.PaymentBenchmark$StatementCounter")
+class PaymentBenchmark extends AbstractWebIntegrationTest {
+
+	private static final int WARMUP = 200, ITERATIONS = 1_000;
+
+	@Autowired Orders orders;
+	@Autowired TransactionOperations transactions;
+
+	@Test
+	void submitsPayments() {
+
+		var warmup = createOrders(WARMUP);
+		var measured = createOrders(ITERATIONS);
+
+		warmup.forEach(this::pay);
+
+		StatementCounter.reset();
+		pay(measured.get(0));
+
+		LOG.info("Statements issued for a single payment:\n\t{}", String.join("\n\t", StatementCounter.statements()));
+
+		var statements = StatementCounter.statements().size();
+		var orderStatements = orderStatements();
+
+		var baseline = orderStatementsOfSavingPaidOrder(measured.get(1));
+
+		LOG.info("Order statements issued for a payment: {}, for saving the entire order: {}.", orderStatements.size(),
+				baseline.size());
+
+		// A single narrow update instead of the full-row one, without any additional reads
+		assertThat(orderStatements).hasSizeLessThanOrEqualTo(baseline.size());
+		assertThat(updates(orderStatements)).singleElement().satisfies(it -> {
+			assertThat(it).containsIgnoringCase("status").containsIgnoringCase("version")
+					.doesNotContainIgnoringCase("ordered_date");
+		});
+		assertThat(updates(baseline)).singleElement().satisfies(it -> {
+			assertThat(it).containsIgnoringCase("ordered_date");
+		});
+
+		var start = System.nanoTime();
+
+		measured.subList(2, ITERATIONS).forEach(this::pay);
+
+		var time = System.nanoTime() - start;
+
+		LOG.info("PUT /orders/{id}/payment: {} statements, {} µs per payment.", statements,
+				time / (ITERATIONS - 2) / 1_000);
+	}
+
+	/**
+	 * Returns the statements touching the order issued for loading the given {@link Order} and saving it entirely after
+	 * marking it paid, i.e. the way payments were persisted before the conditional update.
+	 *
+	 * @param order must not be {@literal null}.
+	 * @return will never be {@literal null}.
+	 */
+	private List<String> orderStatementsOfSavingPaidOrder(Order order) {
+
+		StatementCounter.reset();
+
+		transactions.executeWithoutResult(__ -> {
+
+			var loaded = orders.findById(order.getId()).orElseThrow();
+
+			orders.save(OrderTestUtils.markPaid(loaded));
+		});
+
+		return orderStatements();
+	}
+
+	private List<Order> createOrders(int count) {
+		return IntStream.range(0, count).mapToObj(__ -> orders.save(OrderTestUtils.createOrder())).toList();
+	}
+
+	private void pay(Order order) {
+
+		mvc.perform(put("/orders/{id}/payment", order.getId().id())
+				.contentType(MediaType.APPLICATION_JSON)
+				.content("{ \"number\" : \"1234123412341234\" }"))
+				.assertThat().hasStatus(201);
+	}
+
+	private static List<String> orderStatements() {
+
+		return StatementCounter.statements().stream()
+				.filter(it -> it.toLowerCase().contains("rborder"))
+				.toList();
+	}
+
+	private static List<String> updates(List<String> statements) {
+
+		return statements.stream()
+				.filter(it -> it.toLowerCase().startsWith("update"))
+				.toList();
+	}
+
+	/**
+	 * {@link StatementInspector} recording the statements issued by the current thread.
+	 *
+	 * @author Oliver Drotbohm
+	 */
+	public static class StatementCounter implements StatementInspector {
+
+		private static final long serialVersionUID = 1L;
+		private static final ThreadLocal<List<String>> STATEMENTS = ThreadLocal.withInitial(ArrayList::new);
+
+		static void reset() {
+			STATEMENTS.get().clear();
+		}
+
+		static List<String> statements() {
+			return STATEMENTS.get();
+		}
+
+		/*
+		 * (non-Javadoc)
+		 * @see org.hibernate.resource.jdbc.spi.StatementInspector#inspect(java.lang.String)
+		 */
+		@Override
+		public String inspect(String sql) {
+
+			STATEMENTS.get().add(sql);
+
+			return sql;
+		}
+	}
+}
@@ -0,0 +1,97 @@
+/*
+ * Copyright 2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package de.odrotbohm.restbucks.core;
+
+import static org.assertj.core.api.Assertions.*;
+
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.servlet.HandlerMapping;
+
+/**
+ * Unit tests for {@link VersionedResourceInterceptor}.
+ *
+ * @author Oliver Drotbohm
+ */
+class VersionedResourceInterceptorUnitTests {
+
+	UUID identifier = UUID.randomUUID();
+	VersionedResourceInterceptor interceptor = new VersionedResourceInterceptor(
+			it -> it.equals(identifier) ? Optional.of(2L) : Optional.empty());
+
+	@Test
+	void answersMatchingETagWithNotModified() {
+
+		var response = new MockHttpServletResponse();
+
+		assertThat(interceptor.preHandle(request(identifier.toString(), "\"2\""), response, null)).isFalse();
+		assertThat(response.getStatus()).isEqualTo(HttpStatus.NOT_MODIFIED.value());
+		assertThat(response.getHeader(HttpHeaders.ETAG)).isEqualTo("\"2\"");
+	}
+
+	@Test
+	void matchesWeakAndWildcardETags() {
+
+		assertThat(interceptor.preHandle(request(identifier.toString(), "\"1\", W/\"2\""), response(), null)).isFalse();
+		assertThat(interceptor.preHandle(request(identifier.toString(), "*"), response(), null)).isFalse();
+	}
+
+	@Test
+	void proceedsForOutdatedETag() {
+		assertThat(interceptor.preHandle(request(identifier.toString(), "\"1\""), response(), null)).isTrue();
+	}
+
+	@Test
+	void proceedsForUnknownOrInvalidIdentifiers() {
+
+		assertThat(interceptor.preHandle(request(UUID.randomUUID().toString(), "\"2\""), response(), null)).isTrue();
+		assertThat(interceptor.preHandle(request("search", "\"2\""), response(), null)).isTrue();
+	}
+
+	@Test
+	void proceedsForUnconditionalOrNonGetRequests() {
+
+		assertThat(interceptor.preHandle(request(identifier.toString(), null), response(), null)).isTrue();
+
+		var request = request(identifier.toString(), "\"2\"");
+		request.setMethod("PUT");
+
+		assertThat(interceptor.preHandle(request, response(), null)).isTrue();
+	}
+
+	private static MockHttpServletRequest request(String identifier, String ifNoneMatch) {
+
+		var request = new MockHttpServletRequest("GET", "/orders/" + identifier);
+		request.setAttribute(HandlerMapping.URI_TEMPLATE_VARIABLES_ATTRIBUTE, Map.of("id", identifier));
+
+		if (ifNoneMatch != null) {
+			request.addHeader(HttpHeaders.IF_NONE_MATCH, ifNoneMatch);
+		}
+
+		return request;
+	}
+
+	private static MockHttpServletResponse response() {
+		return new MockHttpServletResponse();
+	}
+}
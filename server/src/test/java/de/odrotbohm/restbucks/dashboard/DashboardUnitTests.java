@@ -16,10 +16,16 @@
 package de.odrotbohm.restbucks.dashboard;
 
 import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
 
 import de.odrotbohm.restbucks.dashboard.Dashboard;
+import de.odrotbohm.restbucks.dashboard.RevenueIncrement.RevenueIncrementIdentifier;
+import de.odrotbohm.restbucks.dashboard.RevenueIncrement.RevenueRecorded;
+import de.odrotbohm.restbucks.order.Location;
 import de.odrotbohm.restbucks.order.Order.OrderIdentifier;
 import de.odrotbohm.restbucks.order.Order.OrderPaid;
+import de.odrotbohm.restbucks.order.Orders;
 
 import java.util.UUID;
 
@@ -34,14 +40,38 @@ import org.springframework.data.rest.webmvc.RepositoryLinksResource;
  */
 class DashboardUnitTests {
 
-	Dashboard dashboard = new Dashboard();
+	RevenueIncrements increments = mock(RevenueIncrements.class);
+	Dashboard dashboard = new Dashboard(new Revenue(), increments, new OrderStatusCounts(mock(Orders.class)),
+			new Statistics());
 
 	@Test
-	void accumulatesValuesOfOrdersPaid() {
+	void recordsIncrementForOrderPaid() {
 
-		var identifier = new OrderIdentifier(UUID.randomUUID());
+		var event = new OrderPaid(new OrderIdentifier(UUID.randomUUID()), Money.of(4.20d, "EUR"), Location.IN_STORE);
+
+		dashboard.on(event);
+
+		verify(increments).save(argThat(it -> it.getId().order().equals(event.orderIdentifier().id())));
+	}
+
+	@Test
+	void skipsOrderPaidAlreadyRecorded() {
+
+		var event = new OrderPaid(new OrderIdentifier(UUID.randomUUID()), Money.of(4.20d, "EUR"), Location.IN_STORE);
+
+		when(increments.existsById(new RevenueIncrementIdentifier(event.orderIdentifier().id()))).thenReturn(true);
+
+		dashboard.on(event);
+
+		verify(increments, never()).save(any());
+	}
+
+	@Test
+	void accumulatesValuesOfRevenueRecorded() {
+
+		var identifier = new RevenueIncrementIdentifier(UUID.randomUUID());
 		var amount = Money.of(4.20d, "EUR");
-		var event = new OrderPaid(identifier, amount);
+		var event = new RevenueRecorded(identifier, amount);
 
 		dashboard.on(event);
 
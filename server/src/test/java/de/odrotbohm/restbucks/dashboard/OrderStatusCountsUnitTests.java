@@ -0,0 +1,109 @@
+/*
+ * Copyright 2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package de.odrotbohm.restbucks.dashboard;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+import de.odrotbohm.restbucks.order.Location;
+import de.odrotbohm.restbucks.order.Order.OrderCreated;
+import de.odrotbohm.restbucks.order.Order.OrderIdentifier;
+import de.odrotbohm.restbucks.order.Order.OrderPaid;
+import de.odrotbohm.restbucks.order.Order.OrderPrepared;
+import de.odrotbohm.restbucks.order.Order.OrderTaken;
+import de.odrotbohm.restbucks.order.Order.ProcessingStarted;
+import de.odrotbohm.restbucks.order.Order.Status;
+import de.odrotbohm.restbucks.order.Orders;
+import de.odrotbohm.restbucks.order.Orders.StatusCount;
+
+import java.util.List;
+import java.util.UUID;
+
+import org.javamoney.moneta.Money;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Unit tests for {@link OrderStatusCounts}.
+ *
+ * @author Oliver Drotbohm
+ */
+class OrderStatusCountsUnitTests {
+
+	Orders orders = mock(Orders.class);
+	OrderStatusCounts counts = new OrderStatusCounts(orders);
+
+	OrderIdentifier identifier = new OrderIdentifier(UUID.randomUUID());
+
+	@Test
+	void tracksStateTransitions() {
+
+		counts.on(new OrderCreated(identifier, Location.IN_STORE));
+		counts.on(new OrderCreated(identifier, Location.IN_STORE));
+
+		assertThat(counts.getCounts()).containsEntry(Status.PAYMENT_EXPECTED, 2L);
+
+		counts.on(new OrderPaid(identifier, Money.of(4.20d, "EUR"), Location.IN_STORE));
+		counts.on((ProcessingStarted) () -> identifier);
+
+		assertThat(counts.getCounts())
+				.containsEntry(Status.PAYMENT_EXPECTED, 1L)
+				.containsEntry(Status.PAID, 0L)
+				.containsEntry(Status.PREPARING, 1L);
+
+		counts.on(new OrderPrepared(identifier));
+		counts.on(new OrderTaken(identifier));
+
+		assertThat(counts.getCounts())
+				.containsEntry(Status.PAYMENT_EXPECTED, 1L)
+				.containsEntry(Status.PREPARING, 0L)
+				.containsEntry(Status.READY, 0L)
+				.containsEntry(Status.TAKEN, 1L);
+	}
+
+	@Test
+	void reconcilesCountsWithDatabase() {
+
+		counts.on(new OrderCreated(identifier, Location.IN_STORE));
+		counts.on(new OrderCreated(identifier, Location.IN_STORE));
+
+		when(orders.countByStatus()).thenReturn(List.of(count(Status.PAID, 3), count(Status.TAKEN, 5)));
+
+		counts.reconcile();
+
+		assertThat(counts.getCounts())
+				.containsEntry(Status.PAYMENT_EXPECTED, 0L)
+				.containsEntry(Status.PAID, 3L)
+				.containsEntry(Status.PREPARING, 0L)
+				.containsEntry(Status.READY, 0L)
+				.containsEntry(Status.TAKEN, 5L);
+	}
+
+	private static StatusCount count(Status status, long count) {
+
+		return new StatusCount() {
+
+			@Override
+			public Status getStatus() {
+				return status;
+			}
+
+			@Override
+			public long getCount() {
+				return count;
+			}
+		};
+	}
+}
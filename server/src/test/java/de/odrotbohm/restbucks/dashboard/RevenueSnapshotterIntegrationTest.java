@@ -0,0 +1,118 @@
+/*
+ * Copyright 2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package de.odrotbohm.restbucks.dashboard;
+
+import static org.assertj.core.api.Assertions.*;
+
+import de.odrotbohm.restbucks.AbstractIntegrationTest;
+import de.odrotbohm.restbucks.core.Currencies;
+import de.odrotbohm.restbucks.dashboard.RevenueSnapshot.RevenueSnapshotIdentifier;
+import de.odrotbohm.restbucks.order.Location;
+import de.odrotbohm.restbucks.order.Order.OrderIdentifier;
+import de.odrotbohm.restbucks.order.Order.OrderPaid;
+
+import java.time.Instant;
+import java.util.UUID;
+
+import javax.money.MonetaryAmount;
+
+import org.javamoney.moneta.Money;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.transaction.support.TransactionOperations;
+
+/**
+ * Integration tests for {@link RevenueSnapshotter}.
+ *
+ * @author Oliver Drotbohm
+ */
+class RevenueSnapshotterIntegrationTest extends AbstractIntegrationTest {
+
+	@Autowired RevenueSnapshots snapshots;
+	@Autowired RevenueIncrements increments;
+	@Autowired TransactionOperations transactions;
+
+	@Test
+	void foldsIncrementsIntoSnapshotPerCurrency() {
+
+		var snapshotter = new RevenueSnapshotter(new Revenue(), snapshots, increments, transactions);
+		var before = snapshotted();
+
+		recorded(Money.of(4.20, "EUR"));
+		snapshotter.snapshot();
+		recorded(Money.of(3.20, "EUR"));
+		snapshotter.snapshot();
+
+		assertThat(snapshotted()).isGreaterThanOrEqualTo(before + 740);
+	}
+
+	@Test
+	void dropsIncrementsFoldedIntoSnapshot() {
+
+		var increment = recorded(Money.of(4.20, "EUR"));
+
+		new RevenueSnapshotter(new Revenue(), snapshots, increments, transactions).snapshot();
+
+		assertThat(increments.findById(increment.getId())).isEmpty();
+	}
+
+	@Test
+	void restoresRevenueFromSnapshotAndOrdersPaidSince() {
+
+		var before = restored();
+
+		recorded(Money.of(4.20, "EUR"));
+		new RevenueSnapshotter(new Revenue(), snapshots, increments, transactions).snapshot();
+		recorded(Money.of(3.20, "EUR"));
+
+		assertThat(restored()).isEqualByComparingTo(before.add(Money.of(7.40, "EUR")));
+	}
+
+	@Test
+	void doesNotCountIncrementsFoldedIntoSnapshotAgain() {
+
+		recorded(Money.of(4.20, "EUR"));
+
+		var before = restored();
+
+		new RevenueSnapshotter(new Revenue(), snapshots, increments, transactions).snapshot();
+
+		assertThat(restored()).isEqualByComparingTo(before);
+	}
+
+	private long snapshotted() {
+
+		return snapshots.findById(new RevenueSnapshotIdentifier("EUR"))
+				.map(RevenueSnapshot::getRevenue)
+				.orElse(0L);
+	}
+
+	private MonetaryAmount restored() {
+
+		var revenue = new Revenue();
+
+		new RevenueSnapshotter(revenue, snapshots, increments, transactions).afterSingletonsInstantiated();
+
+		return revenue.get(Currencies.EURO);
+	}
+
+	private RevenueIncrement recorded(MonetaryAmount total) {
+
+		var event = new OrderPaid(new OrderIdentifier(UUID.randomUUID()), total, Location.IN_STORE);
+
+		return increments.save(new RevenueIncrement(event, Instant.now()));
+	}
+}
@@ -0,0 +1,68 @@
+/*
+ * Copyright 2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package de.odrotbohm.restbucks.dashboard;
+
+import static org.assertj.core.api.Assertions.*;
+
+import de.odrotbohm.restbucks.core.Currencies;
+
+import java.util.concurrent.Executors;
+import java.util.stream.IntStream;
+
+import javax.money.Monetary;
+
+import org.javamoney.moneta.FastMoney;
+import org.javamoney.moneta.Money;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Unit tests for {@link Revenue}.
+ *
+ * @author Oliver Drotbohm
+ */
+class RevenueUnitTests {
+
+	Revenue revenue = new Revenue();
+
+	@Test
+	void returnsZeroForCurrencyWithoutRevenue() {
+		assertThat(revenue.get(Currencies.EURO)).isEqualTo(Money.zero(Currencies.EURO));
+	}
+
+	@Test
+	void accumulatesRevenuePerCurrency() {
+
+		revenue.add(Money.of(4.20, "EUR"));
+		revenue.add(FastMoney.of(3.10, "EUR"));
+		revenue.add(Money.of(2, "USD"));
+
+		assertThat(revenue.get(Currencies.EURO)).isEqualTo(Money.of(7.30, "EUR"));
+		assertThat(revenue.get(Monetary.getCurrency("USD"))).isEqualTo(Money.of(2, "USD"));
+		assertThat(revenue.getAll()).containsOnlyKeys("EUR", "USD");
+	}
+
+	@Test
+	void doesNotLoseUpdatesUnderConcurrentAdditions() {
+
+		var amount = Money.of(0.01, "EUR");
+
+		try (var executor = Executors.newFixedThreadPool(8)) {
+			IntStream.range(0, 10_000).forEach(__ -> executor.execute(() -> revenue.add(amount)));
+		}
+
+		assertThat(revenue.get(Currencies.EURO)).isEqualTo(Money.of(100, "EUR"));
+	}
+}
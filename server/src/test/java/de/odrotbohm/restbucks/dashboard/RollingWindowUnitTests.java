@@ -0,0 +1,74 @@
+/*
+ * Copyright 2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package de.odrotbohm.restbucks.dashboard;
+
+import static org.assertj.core.api.Assertions.*;
+
+import de.odrotbohm.restbucks.dashboard.RollingWindow.Totals;
+
+import java.time.Duration;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Unit tests for {@link RollingWindow}.
+ *
+ * @author Oliver Drotbohm
+ */
+class RollingWindowUnitTests {
+
+	RollingWindow window = new RollingWindow(Duration.ofSeconds(10), 10);
+
+	@Test
+	void sumsUpEventsWithinWindow() {
+
+		window.orderPlaced(0);
+		window.orderPaid(1_500, 420);
+		window.orderPaid(9_999, 320);
+		window.orderReady(9_999, 2_000);
+
+		assertThat(window.getTotals(9_999)).isEqualTo(new Totals(1, 2, 740, 1, 2_000));
+	}
+
+	@Test
+	void dropsEventsOutsideWindow() {
+
+		window.orderPlaced(0);
+		window.orderPlaced(5_000);
+
+		assertThat(window.getTotals(10_000).placed()).isEqualTo(1);
+		assertThat(window.getTotals(15_000).placed()).isZero();
+	}
+
+	@Test
+	void resetsBucketsWhenReused() {
+
+		window.orderPlaced(1_000);
+		window.orderPlaced(11_000);
+
+		assertThat(window.getTotals(11_000).placed()).isEqualTo(1);
+	}
+
+	@Test
+	void calculatesAverages() {
+
+		var totals = new Totals(0, 3, 1_000, 2, 3_000);
+
+		assertThat(totals.getAverageTicket()).isEqualTo(333);
+		assertThat(totals.getAverageTimeToReady()).isEqualTo(Duration.ofMillis(1_500));
+		assertThat(new Totals(0, 0, 0, 0, 0).getAverageTicket()).isZero();
+	}
+}
@@ -0,0 +1,55 @@
+/*
+ * Copyright 2012-2019 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package de.odrotbohm.restbucks.dashboard;
+
+import static org.assertj.core.api.Assertions.*;
+
+import de.odrotbohm.restbucks.order.OrderTestUtils;
+import de.odrotbohm.restbucks.order.Orders;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+/**
+ * Integration tests for {@link Statistics}. Not transactional, so that saving an order loaded from the database works
+ * with a freshly materialized instance.
+ *
+ * @author Oliver Drotbohm
+ */
+@SpringBootTest
+class StatisticsIntegrationTest {
+
+	@Autowired Orders orders;
+	@Autowired Statistics statistics;
+
+	@Test
+	void onlyCountsOrdersPlaced() {
+
+		var before = getOrdersPlaced();
+		var order = orders.save(OrderTestUtils.createOrder());
+
+		assertThat(getOrdersPlaced()).isEqualTo(before + 1);
+
+		orders.save(orders.findById(order.getId()).orElseThrow());
+
+		assertThat(getOrdersPlaced()).isEqualTo(before + 1);
+	}
+
+	private long getOrdersPlaced() {
+		return (Long) statistics.getWindows().get("day").get("ordersPlaced");
+	}
+}
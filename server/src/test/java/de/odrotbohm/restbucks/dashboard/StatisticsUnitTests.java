@@ -0,0 +1,110 @@
+/*
+ * Copyright 2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package de.odrotbohm.restbucks.dashboard;
+
+import static org.assertj.core.api.Assertions.*;
+
+import de.odrotbohm.restbucks.order.Location;
+import de.odrotbohm.restbucks.order.Order.OrderCreated;
+import de.odrotbohm.restbucks.order.Order.OrderIdentifier;
+import de.odrotbohm.restbucks.order.Order.OrderPaid;
+import de.odrotbohm.restbucks.order.Order.OrderPrepared;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.UUID;
+
+import org.javamoney.moneta.Money;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Unit tests for {@link Statistics}.
+ *
+ * @author Oliver Drotbohm
+ */
+class StatisticsUnitTests {
+
+	MutableClock clock = new MutableClock();
+	Statistics statistics = new Statistics(clock);
+
+	OrderIdentifier identifier = new OrderIdentifier(UUID.randomUUID());
+
+	@Test
+	void exposesStatisticsPerWindow() {
+
+		statistics.on(new OrderCreated(identifier, Location.IN_STORE));
+		statistics.on(new OrderPaid(identifier, Money.of(4.20, "EUR"), Location.IN_STORE));
+
+		clock.advance(Duration.ofSeconds(90));
+
+		statistics.on(new OrderPrepared(identifier));
+
+		var windows = statistics.getWindows();
+
+		assertThat(windows).containsOnlyKeys("1m", "5m", "1h", "day");
+
+		assertThat(windows.get("1m"))
+				.containsEntry("ordersPlaced", 0L)
+				.containsEntry("ordersPaid", 0L)
+				.containsEntry("averageTimeToReady", "PT1M30S");
+
+		assertThat(windows.get("5m"))
+				.containsEntry("ordersPlaced", 1L)
+				.containsEntry("ordersPaid", 1L)
+				.containsEntry("revenue", Money.of(4.20, "EUR"))
+				.containsEntry("averageTicket", Money.of(4.20, "EUR"))
+				.containsEntry("averageTimeToReady", "PT1M30S");
+	}
+
+	@Test
+	void evictsPaymentsOfOrdersNotReadyWithinADay() {
+
+		statistics.on(new OrderPaid(identifier, Money.of(4.20, "EUR"), Location.IN_STORE));
+
+		clock.advance(Duration.ofDays(2));
+		statistics.evictStalePayments();
+		statistics.on(new OrderPrepared(identifier));
+
+		assertThat(statistics.getWindows().get("day")).containsEntry("averageTimeToReady", "PT0S");
+	}
+
+	static class MutableClock extends Clock {
+
+		private Instant instant = Instant.now();
+
+		void advance(Duration duration) {
+			this.instant = instant.plus(duration);
+		}
+
+		@Override
+		public Instant instant() {
+			return instant;
+		}
+
+		@Override
+		public ZoneId getZone() {
+			return ZoneOffset.UTC;
+		}
+
+		@Override
+		public Clock withZone(ZoneId zone) {
+			throw new UnsupportedOperationException();
+		}
+	}
+}
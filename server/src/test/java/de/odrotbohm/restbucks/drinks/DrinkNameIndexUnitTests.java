@@ -0,0 +1,79 @@
+/*
+ * Copyright 2012-2019 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package de.odrotbohm.restbucks.drinks;
+
+import static org.assertj.core.api.Assertions.*;
+
+import java.util.List;
+import java.util.stream.IntStream;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Unit tests for {@link DrinkNameIndex}.
+ *
+ * @author Oliver Drotbohm
+ */
+class DrinkNameIndexUnitTests {
+
+	List<String> names = List.of("Caffè Latte", "Cappuccino", "Iced Latte", "Latte", "Latte Macchiato", "Mocha");
+	DrinkNameIndex index = new DrinkNameIndex(names);
+
+	@Test
+	void findsNamesIgnoringCaseAndAccents() {
+
+		assertThat(search("CAFFE")).containsExactly("Caffè Latte");
+		assertThat(search("caffè")).containsExactly("Caffè Latte");
+		assertThat(search("moc")).containsExactly("Mocha");
+	}
+
+	@Test
+	void ranksExactAndPrefixMatchesFirst() {
+		assertThat(search("latte")).containsExactly("Latte", "Latte Macchiato", "Caffè Latte", "Iced Latte");
+	}
+
+	@Test
+	void ranksWordPrefixesBeforeOtherMatches() {
+
+		var index = new DrinkNameIndex(List.of("Kumari", "Latte Macchiato", "Matcha"));
+
+		assertThat(index.search("ma")).containsExactly(2, 1, 0);
+	}
+
+	@Test
+	void verifiesCandidatesOfLongerTerms() {
+
+		var index = new DrinkNameIndex(List.of("abcxbcd", "abcd"));
+
+		assertThat(index.search("abcd")).containsExactly(1);
+	}
+
+	@Test
+	void returnsAllNamesForEmptyTerm() {
+		assertThat(index.search("")).containsExactly(IntStream.range(0, names.size()).toArray());
+	}
+
+	@Test
+	void returnsNothingForUnknownTerms() {
+
+		assertThat(index.search("x")).isEmpty();
+		assertThat(index.search("flat white")).isEmpty();
+	}
+
+	private List<String> search(String term) {
+		return IntStream.of(index.search(term)).mapToObj(names::get).toList();
+	}
+}
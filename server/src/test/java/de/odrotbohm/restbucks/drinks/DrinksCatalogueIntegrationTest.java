@@ -0,0 +1,102 @@
+/*
+ * Copyright 2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package de.odrotbohm.restbucks.drinks;
+
+import static de.odrotbohm.restbucks.core.Currencies.*;
+import static org.assertj.core.api.Assertions.*;
+
+import de.odrotbohm.restbucks.drinks.Drink.DrinkIdentifier;
+
+import java.util.List;
+import java.util.UUID;
+
+import org.javamoney.moneta.Money;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.hateoas.mediatype.hal.forms.HalFormsPromptedValue;
+import org.springframework.hateoas.server.EntityLinks;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Integration tests for {@link DrinksCatalogue}.
+ *
+ * @author Oliver Drotbohm
+ */
+@SpringBootTest
+class DrinksCatalogueIntegrationTest {
+
+	@Autowired Drinks drinks;
+	@Autowired DrinksCatalogue catalogue;
+	@Autowired EntityLinks links;
+
+	@Test
+	void doesNotServeRepositoryLookupsFromCatalogue() {
+
+		var item = catalogue.findAll().get(0);
+		var drink = drinks.findById(item.id()).orElseThrow();
+
+		assertThat(drinks.findById(item.id())).hasValueSatisfying(it -> assertThat(it).isNotSameAs(drink));
+		assertThat(drinks.findByName(item.name())).isNotSameAs(drink);
+	}
+
+	@Test
+	void looksUpMenuItemsInBulk() {
+
+		var all = catalogue.findAll();
+		var unknown = new DrinkIdentifier(UUID.randomUUID());
+
+		var result = catalogue.findAllById(List.of(all.get(0).id(), all.get(1).id(), unknown));
+
+		assertThat(result).containsOnly(entry(all.get(0).id(), all.get(0)), entry(all.get(1).id(), all.get(1)));
+	}
+
+	@Test
+	void createsOptionsPointingToDrinkResources() {
+
+		var drinksUri = links.linkFor(Drink.class).toUri().toString();
+
+		assertThat(catalogue.getOptions(drinksUri))
+				.extracting(HalFormsPromptedValue::getValue)
+				.containsExactlyElementsOf(catalogue.findAll().stream()
+						.map(it -> links.linkToItemResource(Drink.class, it.id()).expand().getHref())
+						.toList());
+	}
+
+	@Test
+	@Transactional
+	void reloadsMenuOnceDrinkAdded() {
+
+		catalogue.findAll();
+
+		var drink = drinks.save(new Drink("Flat White", Milk.WHOLE, Size.SMALL, Money.of(3.50, EURO)));
+
+		assertThat(catalogue.findById(drink.getId())).hasValue(MenuItem.of(drink));
+	}
+
+	@Test
+	@Transactional
+	void reloadsMenuOnceDrinkDeleted() {
+
+		var drink = drinks.save(new Drink("Flat White", Milk.WHOLE, Size.SMALL, Money.of(3.50, EURO)));
+
+		assertThat(catalogue.findAll()).contains(MenuItem.of(drink));
+
+		drinks.delete(drink);
+
+		assertThat(catalogue.findAll()).doesNotContain(MenuItem.of(drink));
+	}
+}
@@ -0,0 +1,163 @@
+/*
+ * Copyright 2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package de.odrotbohm.restbucks.drinks;
+
+import static de.odrotbohm.restbucks.core.Currencies.*;
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+import de.odrotbohm.restbucks.drinks.Drink.DrinkChanged;
+import de.odrotbohm.restbucks.drinks.Drink.DrinkIdentifier;
+
+import java.util.List;
+import java.util.UUID;
+
+import org.javamoney.moneta.Money;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.hateoas.mediatype.hal.forms.HalFormsPromptedValue;
+import org.springframework.test.util.ReflectionTestUtils;
+
+/**
+ * Unit tests for {@link DrinksCatalogue}.
+ *
+ * @author Oliver Drotbohm
+ */
+class DrinksCatalogueUnitTests {
+
+	static final String URI = "http://localhost/drinks";
+
+	Drink latte = new Drink("Latte", Milk.SEMI, Size.LARGE, Money.of(3.80, EURO));
+	Drink cappuccino = new Drink("Cappuccino", Milk.WHOLE, Size.SMALL, Money.of(3.20, EURO));
+
+	Drinks drinks = mock(Drinks.class);
+	DrinksCatalogue catalogue;
+
+	@BeforeEach
+	void setUp() {
+
+		when(drinks.findAll()).thenReturn(List.of(latte, cappuccino));
+
+		catalogue = new DrinksCatalogue(drinks);
+	}
+
+	@Test
+	void loadsMenuOnceForAllLookups() {
+
+		assertThat(catalogue.findById(latte.getId())).hasValue(MenuItem.of(latte));
+		assertThat(catalogue.findById(new DrinkIdentifier(UUID.randomUUID()))).isEmpty();
+		assertThat(catalogue.findAll()).containsExactly(MenuItem.of(cappuccino), MenuItem.of(latte));
+
+		verify(drinks, times(1)).findAll();
+	}
+
+	@Test
+	void servesSnapshotsNotAffectedByChangesToDrinks() {
+
+		var item = catalogue.findById(latte.getId()).orElseThrow();
+
+		ReflectionTestUtils.setField(latte, "price", Money.of(9.99, EURO));
+
+		assertThat(catalogue.findById(latte.getId())).containsSame(item);
+		assertThat(item.price()).isEqualTo(Money.of(3.80, EURO));
+	}
+
+	@Test
+	void looksUpDrinksMissingFromMenuInSingleQuery() {
+
+		var mocha = new Drink("Mocha", Milk.WHOLE, Size.LARGE, Money.of(4.10, EURO));
+		var flatWhite = new Drink("Flat White", Milk.WHOLE, Size.SMALL, Money.of(3.50, EURO));
+		var missing = List.of(mocha.getId(), flatWhite.getId());
+
+		when(drinks.findAllById(missing)).thenReturn(List.of(mocha));
+
+		assertThat(catalogue.findAllById(List.of(latte.getId(), mocha.getId(), flatWhite.getId())))
+				.containsOnly(entry(latte.getId(), MenuItem.of(latte)), entry(mocha.getId(), MenuItem.of(mocha)));
+
+		verify(drinks, times(1)).findAllById(missing);
+		verify(drinks, never()).findById(any());
+	}
+
+	@Test
+	void doesNotQueryForDrinksOnMenu() {
+
+		assertThat(catalogue.findAllById(List.of(latte.getId(), cappuccino.getId())))
+				.containsOnly(entry(latte.getId(), MenuItem.of(latte)), entry(cappuccino.getId(), MenuItem.of(cappuccino)));
+
+		verify(drinks, never()).findAllById(any());
+	}
+
+	@Test
+	void precomputesOptionsSortedByName() {
+
+		var options = catalogue.getOptions(URI);
+
+		assertThat(options).extracting(HalFormsPromptedValue::getPrompt).containsExactly("Cappuccino", "Latte");
+		assertThat(options).extracting(HalFormsPromptedValue::getValue)
+				.containsExactly(URI + "/" + cappuccino.getId().id(), URI + "/" + latte.getId().id());
+		assertThat(catalogue.getOptions(URI)).isSameAs(options);
+	}
+
+	@Test
+	void filtersOptionsByName() {
+
+		assertThat(catalogue.getOptions(URI, "att")).extracting(HalFormsPromptedValue::getPrompt)
+				.containsExactly("Latte");
+		assertThat(catalogue.getOptions(URI, "att")).extracting(HalFormsPromptedValue::getValue)
+				.containsExactly(URI + "/" + latte.getId().id());
+		assertThat(catalogue.getOptions(URI, "LAT")).extracting(HalFormsPromptedValue::getPrompt)
+				.containsExactly("Latte");
+		assertThat(catalogue.getOptions(URI, "Mocha")).isEmpty();
+	}
+
+	@Test
+	void reloadsMenuAfterDrinkChanged() {
+
+		catalogue.findAll();
+
+		var mocha = new Drink("Mocha", Milk.WHOLE, Size.LARGE, Money.of(4.10, EURO));
+		when(drinks.findAll()).thenReturn(List.of(latte, cappuccino, mocha));
+
+		catalogue.on(new DrinkChanged(mocha.getId()));
+
+		assertThat(catalogue.findById(mocha.getId())).hasValue(MenuItem.of(mocha));
+		verify(drinks, times(2)).findAll();
+	}
+
+	@Test
+	void reloadsMenuAfterDrinkDeletedThroughRest() {
+
+		catalogue.findAll();
+		catalogue.onAfterDelete(latte);
+		catalogue.findAll();
+
+		verify(drinks, times(2)).findAll();
+	}
+
+	@Test
+	void doesNotKeepMenuLoadedConcurrentlyWithInvalidation() {
+
+		when(drinks.findAll()).then(__ -> {
+			catalogue.invalidate();
+			return List.of(latte);
+		});
+
+		assertThat(catalogue.findAll()).containsExactly(MenuItem.of(latte));
+		assertThat(catalogue.findAll()).containsExactly(MenuItem.of(latte));
+
+		verify(drinks, times(2)).findAll();
+	}
+}
@@ -0,0 +1,99 @@
+/*
+ * Copyright 2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package de.odrotbohm.restbucks.engine;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+import de.odrotbohm.restbucks.engine.Engine.PreparationFinished;
+import de.odrotbohm.restbucks.engine.Engine.PreparationStarted;
+import de.odrotbohm.restbucks.engine.EngineSettings.LaneSettings;
+import de.odrotbohm.restbucks.engine.EngineSettings.PreparationMode;
+import de.odrotbohm.restbucks.engine.EngineSettings.RejectionPolicy;
+import de.odrotbohm.restbucks.engine.EngineSettings.StationSettings;
+import de.odrotbohm.restbucks.order.Order.OrderIdentifier;
+
+import java.time.Duration;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.context.ApplicationEventPublisher;
+
+/**
+ * Unit tests for {@link Barista}.
+ *
+ * @author Oliver Drotbohm
+ */
+class BaristaUnitTests {
+
+	static final LaneSettings LANES = new LaneSettings(3, 1);
+
+	ApplicationEventPublisher events = mock(ApplicationEventPublisher.class);
+
+	@Test
+	void completesPreparationRightAwayInBlockingMode() {
+
+		try (var barista = createBarista(PreparationMode.BLOCKING, Duration.ZERO)) {
+
+			var result = barista.prepare(new OrderIdentifier(UUID.randomUUID()));
+
+			assertThat(result).isCompleted();
+			verify(events).publishEvent(any(PreparationStarted.class));
+			verify(events).publishEvent(any(PreparationFinished.class));
+		}
+	}
+
+	@Test
+	void schedulesCompletionOfPreparationInScheduledMode() throws Exception {
+
+		try (var barista = createBarista(PreparationMode.SCHEDULED, Duration.ofMillis(200))) {
+
+			var result = barista.prepare(new OrderIdentifier(UUID.randomUUID()));
+
+			assertThat(result).isNotDone();
+			verify(events).publishEvent(any(PreparationStarted.class));
+			verify(events, never()).publishEvent(any(PreparationFinished.class));
+
+			result.get(1, TimeUnit.SECONDS);
+
+			verify(events).publishEvent(any(PreparationFinished.class));
+		}
+	}
+
+	@Test
+	void completesPreparationExceptionallyIfFinishingFails() {
+
+		doThrow(IllegalStateException.class).when(events).publishEvent(any(PreparationFinished.class));
+
+		try (var barista = createBarista(PreparationMode.SCHEDULED, Duration.ZERO)) {
+
+			assertThat(barista.prepare(new OrderIdentifier(UUID.randomUUID())))
+					.failsWithin(Duration.ofSeconds(1))
+					.withThrowableOfType(Exception.class)
+					.withCauseInstanceOf(IllegalStateException.class);
+		}
+	}
+
+	private Barista createBarista(PreparationMode mode, Duration processingTime) {
+
+		var settings = new EngineSettings(processingTime, null, false, mode,
+				new StationSettings(1, 0, RejectionPolicy.ABORT, 1, Duration.ZERO, LANES), null);
+
+		return new Barista(settings, events);
+	}
+}
@@ -0,0 +1,49 @@
+/*
+ * Copyright 2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package de.odrotbohm.restbucks.engine;
+
+import static org.assertj.core.api.Assertions.*;
+
+import de.odrotbohm.restbucks.AbstractIntegrationTest;
+import de.odrotbohm.restbucks.order.Order.OrderIdentifier;
+
+import java.util.UUID;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+
+/**
+ * Integration tests for {@link FailedPreparations}.
+ *
+ * @author Oliver Drotbohm
+ */
+class FailedPreparationsIntegrationTest extends AbstractIntegrationTest {
+
+	@Autowired FailedPreparations failures;
+
+	@Test
+	void persistsFailedPreparation() {
+
+		var identifier = new OrderIdentifier(UUID.randomUUID());
+		var failure = failures.save(new FailedPreparation(identifier, 3, new IllegalStateException("x".repeat(500))));
+
+		assertThat(failures.findById(failure.getId())).hasValueSatisfying(it -> {
+			assertThat(it.getOrder().getId()).isEqualTo(identifier);
+			assertThat(it.getAttempts()).isEqualTo(3);
+			assertThat(it.getReason()).hasSizeLessThanOrEqualTo(255);
+		});
+	}
+}
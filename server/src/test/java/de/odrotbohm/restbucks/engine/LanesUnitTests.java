@@ -0,0 +1,99 @@
+/*
+ * Copyright 2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package de.odrotbohm.restbucks.engine;
+
+import static org.assertj.core.api.Assertions.*;
+
+import de.odrotbohm.restbucks.drinks.Size;
+import de.odrotbohm.restbucks.engine.EngineSettings.LaneSettings;
+import de.odrotbohm.restbucks.engine.Recipe.Step;
+import de.odrotbohm.restbucks.engine.Stations.Ticket;
+import de.odrotbohm.restbucks.order.Location;
+import de.odrotbohm.restbucks.order.Order.OrderIdentifier;
+import de.odrotbohm.restbucks.order.Order.OrderPaid;
+
+import java.util.ArrayList;
+import java.util.Set;
+import java.util.UUID;
+
+import org.javamoney.moneta.Money;
+import org.jspecify.annotations.Nullable;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Unit tests for {@link Lanes}.
+ *
+ * @author Oliver Drotbohm
+ */
+class LanesUnitTests {
+
+	static final Recipe ESPRESSO = new Recipe(Set.of(new Step("Espresso", null, Size.SMALL)));
+
+	Lanes lanes = new Lanes(new LaneSettings(3, 1));
+
+	@Test
+	void takesTicketsFromLanesInProportionToTheirWeights() {
+
+		for (int i = 0; i < 8; i++) {
+			lanes.add(createTicket(Location.TAKE_AWAY, null));
+			lanes.add(createTicket(Location.IN_STORE, null));
+		}
+
+		var locations = new ArrayList<Location>();
+
+		for (int i = 0; i < 8; i++) {
+			locations.add(lanes.poll().location());
+		}
+
+		assertThat(locations).filteredOn(Location.IN_STORE::equals).hasSize(6);
+		assertThat(locations).filteredOn(Location.TAKE_AWAY::equals).hasSize(2);
+		assertThat(lanes.size()).isEqualTo(8);
+	}
+
+	@Test
+	void servesOtherLaneIfOneIsEmpty() {
+
+		lanes.add(createTicket(Location.TAKE_AWAY, null));
+		lanes.add(createTicket(Location.TAKE_AWAY, null));
+
+		assertThat(lanes.poll().location()).isEqualTo(Location.TAKE_AWAY);
+		assertThat(lanes.poll().location()).isEqualTo(Location.TAKE_AWAY);
+		assertThat(lanes.poll()).isNull();
+		assertThat(lanes.size()).isZero();
+	}
+
+	@Test
+	void takesTicketsWithMatchingRecipeFromAllLanes() {
+
+		var first = createTicket(Location.TAKE_AWAY, ESPRESSO);
+		var other = createTicket(Location.TAKE_AWAY, null);
+		var second = createTicket(Location.IN_STORE, ESPRESSO);
+
+		lanes.add(first);
+		lanes.add(other);
+		lanes.add(second);
+
+		assertThat(lanes.pollMatching(ESPRESSO, Location.IN_STORE, 5)).containsExactly(second, first);
+		assertThat(lanes.size()).isEqualTo(1);
+		assertThat(lanes.poll()).isEqualTo(other);
+	}
+
+	private static Ticket createTicket(Location location, @Nullable Recipe recipe) {
+		var event = new OrderPaid(new OrderIdentifier(UUID.randomUUID()), Money.of(4.20, "EUR"), location);
+
+		return new Ticket(event, recipe, 1, System.nanoTime());
+	}
+}
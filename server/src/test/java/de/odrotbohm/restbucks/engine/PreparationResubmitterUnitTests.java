@@ -0,0 +1,77 @@
+/*
+ * Copyright 2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package de.odrotbohm.restbucks.engine;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+import de.odrotbohm.restbucks.order.Location;
+import de.odrotbohm.restbucks.order.Order.OrderIdentifier;
+import de.odrotbohm.restbucks.order.Order.OrderPaid;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.UUID;
+import java.util.function.Predicate;
+
+import org.javamoney.moneta.Money;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.modulith.events.EventPublication;
+import org.springframework.modulith.events.IncompleteEventPublications;
+
+/**
+ * Unit tests for {@link PreparationResubmitter}.
+ *
+ * @author Oliver Drotbohm
+ */
+class PreparationResubmitterUnitTests {
+
+	IncompleteEventPublications publications = mock(IncompleteEventPublications.class);
+	PreparationResubmitter resubmitter = new PreparationResubmitter(publications, Duration.ofMinutes(1));
+
+	@Test
+	@SuppressWarnings("unchecked")
+	void onlyResubmitsStaleOrderPaidPublications() {
+
+		resubmitter.resubmit();
+
+		ArgumentCaptor<Predicate<EventPublication>> filter = ArgumentCaptor.forClass(Predicate.class);
+
+		verify(publications).resubmitIncompletePublications(filter.capture());
+
+		var stale = Instant.now().minus(Duration.ofMinutes(2));
+
+		assertThat(filter.getValue())
+				.accepts(publication(createOrderPaid(), stale))
+				.rejects(publication(createOrderPaid(), Instant.now()))
+				.rejects(publication(new Object(), stale));
+	}
+
+	private static EventPublication publication(Object event, Instant publicationDate) {
+
+		var publication = mock(EventPublication.class);
+
+		when(publication.getEvent()).thenReturn(event);
+		when(publication.getPublicationDate()).thenReturn(publicationDate);
+
+		return publication;
+	}
+
+	private static OrderPaid createOrderPaid() {
+		return new OrderPaid(new OrderIdentifier(UUID.randomUUID()), Money.of(4.20, "EUR"), Location.TAKE_AWAY);
+	}
+}
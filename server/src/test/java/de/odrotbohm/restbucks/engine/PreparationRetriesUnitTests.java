@@ -0,0 +1,165 @@
+/*
+ * Copyright 2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package de.odrotbohm.restbucks.engine;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+import de.odrotbohm.restbucks.engine.EngineSettings.RetrySettings;
+import de.odrotbohm.restbucks.order.Location;
+import de.odrotbohm.restbucks.order.Order.OrderIdentifier;
+import de.odrotbohm.restbucks.order.Order.OrderPaid;
+
+import java.time.Duration;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.javamoney.moneta.Money;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Unit tests for {@link PreparationRetries}.
+ *
+ * @author Oliver Drotbohm
+ */
+class PreparationRetriesUnitTests {
+
+	FailedPreparations failures = mock(FailedPreparations.class);
+
+	@Test
+	void retriesFailedAttemptsUntilSuccessful() throws Exception {
+
+		var attempts = new AtomicInteger();
+		var done = new CountDownLatch(1);
+
+		try (var retries = createRetries(new RetrySettings(5, Duration.ofMillis(10), 2, Duration.ofSeconds(1), 0.5))) {
+
+			retries.execute(createOrderPaid(), __ -> {
+				if (attempts.incrementAndGet() < 3) {
+					throw new IllegalStateException("Simulated failure");
+				}
+
+				done.countDown();
+			});
+
+			assertThat(done.await(1, TimeUnit.SECONDS)).isTrue();
+		}
+
+		assertThat(attempts).hasValue(3);
+
+		verify(failures, never()).save(any());
+	}
+
+	@Test
+	void rethrowsFailureAfterMaximumNumberOfAttempts() {
+
+		var attempts = new AtomicInteger();
+		var event = createOrderPaid();
+
+		try (var retries = createRetries(new RetrySettings(3, Duration.ofMillis(10), 2, Duration.ofSeconds(1), 0.5))) {
+
+			assertThatIllegalStateException().isThrownBy(() -> retries.execute(event, __ -> {
+				attempts.incrementAndGet();
+				throw new IllegalStateException("Simulated failure");
+			}));
+		}
+
+		assertThat(attempts).hasValue(3);
+
+		// Left to the incomplete event publication to be resubmitted
+		verify(failures, never()).save(any());
+	}
+
+	@Test
+	void retriesAsynchronousFailuresWithNextAttempt() throws Exception {
+
+		var attempt = new AtomicInteger();
+		var done = new CountDownLatch(1);
+		var event = createOrderPaid();
+
+		try (var retries = createRetries(new RetrySettings(3, Duration.ofMillis(10), 2, Duration.ofSeconds(1), 0.5))) {
+
+			retries.retry(event, 1, new IllegalStateException("Simulated failure"), (__, it) -> {
+				attempt.set(it);
+				done.countDown();
+			});
+
+			assertThat(done.await(1, TimeUnit.SECONDS)).isTrue();
+		}
+
+		assertThat(attempt).hasValue(2);
+
+		verify(failures, never()).save(any());
+	}
+
+	@Test
+	void recordsFailedPreparationIfAsynchronousFailureExhaustsAttempts() {
+
+		var event = createOrderPaid();
+
+		try (var retries = createRetries(new RetrySettings(3, Duration.ofMillis(10), 2, Duration.ofSeconds(1), 0.5))) {
+
+			retries.retry(event, 3, new IllegalStateException("Simulated failure"), (__, ___) -> {
+				throw new AssertionError("Must not be retried!");
+			});
+		}
+
+		verify(failures).save(argThat(it -> it.getAttempts() == 3
+				&& it.getOrder().getId().equals(event.orderIdentifier())));
+	}
+
+	@Test
+	void recordsRetriesPendingOnShutdown() {
+
+		var event = createOrderPaid();
+		var retries = createRetries(new RetrySettings(3, Duration.ofMinutes(1), 2, Duration.ofMinutes(1), 0));
+
+		retries.retry(event, 1, new IllegalStateException("Simulated failure"), (__, ___) -> {
+			throw new AssertionError("Must not be retried!");
+		});
+
+		assertThat(retries.getPendingCount()).isOne();
+
+		retries.close();
+
+		assertThat(retries.getPendingCount()).isZero();
+		verify(failures).save(argThat(it -> it.getAttempts() == 1
+				&& it.getOrder().getId().equals(event.orderIdentifier())));
+	}
+
+	@Test
+	void growsBackoffExponentiallyUpToMaximumWithJitter() {
+
+		var retries = createRetries(new RetrySettings(10, Duration.ofMillis(100), 2, Duration.ofMillis(1000), 0.5));
+
+		assertThat(retries.getBackoff(1)).isBetween(Duration.ofMillis(50), Duration.ofMillis(100));
+		assertThat(retries.getBackoff(3)).isBetween(Duration.ofMillis(200), Duration.ofMillis(400));
+		assertThat(retries.getBackoff(8)).isBetween(Duration.ofMillis(500), Duration.ofMillis(1000));
+
+		retries.close();
+	}
+
+	private PreparationRetries createRetries(RetrySettings settings) {
+		return new PreparationRetries(new EngineSettings(Duration.ZERO, null, false, null, null, settings), failures);
+	}
+
+	private static OrderPaid createOrderPaid() {
+		return new OrderPaid(new OrderIdentifier(UUID.randomUUID()), Money.of(4.20, "EUR"), Location.TAKE_AWAY);
+	}
+}
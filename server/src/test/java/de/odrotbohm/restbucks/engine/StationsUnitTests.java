@@ -0,0 +1,288 @@
+/*
+ * Copyright 2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package de.odrotbohm.restbucks.engine;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+import de.odrotbohm.restbucks.engine.EngineSettings.LaneSettings;
+import de.odrotbohm.restbucks.engine.EngineSettings.PreparationMode;
+import de.odrotbohm.restbucks.engine.EngineSettings.RejectionPolicy;
+import de.odrotbohm.restbucks.engine.EngineSettings.StationSettings;
+import de.odrotbohm.restbucks.engine.Recipe.Step;
+import de.odrotbohm.restbucks.drinks.Milk;
+import de.odrotbohm.restbucks.drinks.Size;
+import de.odrotbohm.restbucks.order.Location;
+import de.odrotbohm.restbucks.order.Order.OrderIdentifier;
+import de.odrotbohm.restbucks.order.Order.OrderPaid;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.function.ObjIntConsumer;
+
+import org.javamoney.moneta.Money;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+
+/**
+ * Unit tests for {@link Stations}.
+ *
+ * @author Oliver Drotbohm
+ */
+class StationsUnitTests {
+
+	static final Recipe CAPPUCCINO = new Recipe(Set.of(new Step("Cappuccino", Milk.SEMI, Size.LARGE)));
+	static final Recipe ESPRESSO = new Recipe(Set.of(new Step("Espresso", null, Size.SMALL)));
+
+	static final LaneSettings LANES = new LaneSettings(3, 1);
+
+	Barista barista = mock(Barista.class);
+	PreparationRetries retries = mock(PreparationRetries.class);
+	CountDownLatch done = new CountDownLatch(1);
+
+	@AfterEach
+	void tearDown() {
+		done.countDown();
+	}
+
+	@Test
+	void queuesOrdersIfAllStationsAreBusy() throws Exception {
+
+		var stations = createStations(1, 1, RejectionPolicy.ABORT);
+
+		stations.accept(createOrderPaid());
+		stations.accept(createOrderPaid());
+
+		assertThat(stations.getBusyStations()).isEqualTo(1);
+		assertThat(stations.getQueueSize()).isEqualTo(1);
+
+		done.countDown();
+
+		verify(barista, timeout(1000).times(2)).prepare(anyList());
+
+		stations.close();
+
+		assertThat(stations.getBusyStations()).isZero();
+		assertThat(stations.getQueueSize()).isZero();
+	}
+
+	@Test
+	void rejectsOrderIfQueueIsFull() {
+
+		var stations = createStations(1, 0, RejectionPolicy.ABORT);
+
+		stations.accept(createOrderPaid());
+
+		assertThatExceptionOfType(RejectedExecutionException.class)
+				.isThrownBy(() -> stations.accept(createOrderPaid()));
+	}
+
+	@Test
+	void preparesOrderOnSubmittingThreadOnceStationIsAvailableIfConfigured() throws Exception {
+
+		var stations = createStations(1, 0, RejectionPolicy.CALLER_RUNS);
+		var order = createOrderPaid();
+
+		stations.accept(createOrderPaid());
+
+		var submission = CompletableFuture.runAsync(() -> stations.accept(order));
+
+		// Waits for the only station to become available
+		Thread.sleep(100);
+
+		assertThat(submission).isNotDone();
+		assertThat(stations.getBusyStations()).isEqualTo(1);
+
+		done.countDown();
+		submission.get(1, TimeUnit.SECONDS);
+
+		verify(barista).prepare(List.of(order.orderIdentifier()));
+		assertThat(stations.getBusyStations()).isZero();
+	}
+
+	@Test
+	void recordsOrdersWaitingForStationAsFailedOnClose() {
+
+		var stations = createStations(1, 10, RejectionPolicy.ABORT);
+		var waiting = createOrderPaid();
+
+		stations.accept(createOrderPaid());
+		stations.accept(waiting);
+
+		stations.close();
+
+		verify(retries).giveUp(eq(waiting), eq(0), any(RejectedExecutionException.class));
+		verify(barista, never()).prepare(List.of(waiting.orderIdentifier()));
+		assertThat(stations.getQueueSize()).isZero();
+
+		assertThatExceptionOfType(RejectedExecutionException.class)
+				.isThrownBy(() -> stations.accept(createOrderPaid()));
+	}
+
+	@Test
+	void keepsStationOccupiedUntilPreparationCompletes() throws Exception {
+
+		var settings = new EngineSettings(Duration.ZERO, null, false, PreparationMode.SCHEDULED,
+				new StationSettings(1, 1, RejectionPolicy.ABORT, 1, Duration.ZERO, LANES), null);
+		var preparation = new CompletableFuture<Void>();
+
+		when(barista.prepare(anyList())).thenReturn(preparation, CompletableFuture.completedFuture(null));
+
+		var stations = new Stations(settings, barista, retries);
+
+		stations.accept(createOrderPaid());
+		stations.accept(createOrderPaid());
+
+		verify(barista, timeout(1000)).prepare(anyList());
+		assertThat(stations.getBusyStations()).isEqualTo(1);
+		assertThat(stations.getQueueSize()).isEqualTo(1);
+
+		preparation.complete(null);
+
+		verify(barista, timeout(1000).times(2)).prepare(anyList());
+
+		stations.close();
+
+		assertThat(stations.getBusyStations()).isZero();
+	}
+
+	@Test
+	void batchesOrdersWithSameRecipeArrivingWithinWindow() {
+
+		var stations = createStations(
+				new StationSettings(1, 10, RejectionPolicy.ABORT, 3, Duration.ofMillis(200), LANES));
+		var first = createOrderPaid();
+		var second = createOrderPaid();
+		var other = createOrderPaid();
+
+		stations.accept(first, CAPPUCCINO);
+		stations.accept(other, ESPRESSO);
+		stations.accept(second, CAPPUCCINO);
+
+		done.countDown();
+
+		verify(barista, timeout(1000)).prepare(List.of(first.orderIdentifier(), second.orderIdentifier()));
+		verify(barista, timeout(1000)).prepare(List.of(other.orderIdentifier()));
+	}
+
+	@Test
+	void takesQueuedOrdersWithSameRecipeAlongWhenStationIsReleased() {
+
+		var stations = createStations(new StationSettings(1, 10, RejectionPolicy.ABORT, 2, Duration.ZERO, LANES));
+		var blocking = createOrderPaid();
+		var first = createOrderPaid();
+		var other = createOrderPaid();
+		var second = createOrderPaid();
+
+		stations.accept(blocking, ESPRESSO);
+		stations.accept(first, CAPPUCCINO);
+		stations.accept(other, ESPRESSO);
+		stations.accept(second, CAPPUCCINO);
+
+		assertThat(stations.getQueueSize()).isEqualTo(3);
+
+		done.countDown();
+
+		var inOrder = inOrder(barista);
+
+		inOrder.verify(barista, timeout(1000)).prepare(List.of(blocking.orderIdentifier()));
+		inOrder.verify(barista, timeout(1000)).prepare(List.of(first.orderIdentifier(), second.orderIdentifier()));
+		inOrder.verify(barista, timeout(1000)).prepare(List.of(other.orderIdentifier()));
+	}
+
+	@Test
+	void queuesOrdersInLaneForTheirLocation() {
+
+		var stations = createStations(1, 10, RejectionPolicy.ABORT);
+
+		stations.accept(createOrderPaid(Location.IN_STORE));
+		stations.accept(createOrderPaid(Location.IN_STORE));
+		stations.accept(createOrderPaid(Location.TAKE_AWAY));
+		stations.accept(createOrderPaid(Location.TAKE_AWAY));
+
+		assertThat(stations.getQueueSize()).isEqualTo(3);
+		assertThat(stations.getQueueSize(Location.IN_STORE)).isEqualTo(1);
+		assertThat(stations.getQueueSize(Location.TAKE_AWAY)).isEqualTo(2);
+	}
+
+	@Test
+	@SuppressWarnings("unchecked")
+	void handsOrdersFailedToPrepareToRetries() {
+
+		var settings = new EngineSettings(Duration.ZERO, null, false, PreparationMode.SCHEDULED,
+				new StationSettings(1, 1, RejectionPolicy.ABORT, 1, Duration.ZERO, LANES), null);
+		var failure = new IllegalStateException("Simulated failure");
+		var order = createOrderPaid();
+
+		when(barista.prepare(anyList())).thenReturn(CompletableFuture.failedFuture(failure));
+
+		var stations = new Stations(settings, barista, retries);
+
+		stations.accept(order);
+
+		ArgumentCaptor<ObjIntConsumer<OrderPaid>> action = ArgumentCaptor.forClass(ObjIntConsumer.class);
+
+		verify(retries, timeout(1000)).retry(eq(order), eq(1), eq(failure), action.capture());
+
+		// Retrying accepts the order for preparation again
+		action.getValue().accept(order, 2);
+
+		verify(retries, timeout(1000)).retry(eq(order), eq(2), eq(failure), any());
+		verify(barista, times(2)).prepare(List.of(order.orderIdentifier()));
+
+		stations.close();
+
+		assertThat(stations.getBusyStations()).isZero();
+	}
+
+	private Stations createStations(int size, int queueCapacity, RejectionPolicy policy) {
+		return createStations(new StationSettings(size, queueCapacity, policy, 1, Duration.ZERO, LANES));
+	}
+
+	private Stations createStations(StationSettings stations) {
+
+		var settings = new EngineSettings(Duration.ZERO, null, false, PreparationMode.BLOCKING, stations, null);
+
+		// Block preparations on the stations until released
+		doAnswer(__ -> {
+
+			if (Thread.currentThread().isVirtual()) {
+				done.await(1, TimeUnit.SECONDS);
+			}
+
+			return CompletableFuture.completedFuture(null);
+
+		}).when(barista).prepare(anyList());
+
+		return new Stations(settings, barista, retries);
+	}
+
+	private static OrderPaid createOrderPaid() {
+		return createOrderPaid(Location.TAKE_AWAY);
+	}
+
+	private static OrderPaid createOrderPaid(Location location) {
+		return new OrderPaid(new OrderIdentifier(UUID.randomUUID()), Money.of(4.20, "EUR"), location);
+	}
+}
@@ -52,6 +52,10 @@ public class OrderTestUtils {
 		return createOrder().markPaid();
 	}
 
+	public static Order markPaid(Order order) {
+		return order.markPaid();
+	}
+
 	public static Order createPreparedOrder() {
 
 		return createPaidOrder()
@@ -0,0 +1,103 @@
+/*
+ * Copyright 2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package de.odrotbohm.restbucks.order;
+
+import static de.odrotbohm.restbucks.core.Currencies.*;
+import static org.assertj.core.api.Assertions.*;
+
+import de.odrotbohm.restbucks.drinks.Drink;
+import de.odrotbohm.restbucks.drinks.Milk;
+import de.odrotbohm.restbucks.drinks.Size;
+
+import org.javamoney.moneta.Money;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Unit tests for {@link Order}.
+ *
+ * @author Oliver Drotbohm
+ */
+class OrderUnitTests {
+
+	static final Drink CAPPUCCINO = new Drink("Cappuccino", Milk.SEMI, Size.LARGE, Money.of(3.20, EURO));
+	static final Drink ESPRESSO = new Drink("Espresso", Milk.WHOLE, Size.SMALL, Money.of(1.85, EURO));
+
+	@Test
+	void emptyOrderHasZeroPrice() {
+		assertThat(new Order().getPrice()).isEqualTo(Money.of(0, EURO));
+	}
+
+	@Test
+	void considersQuantityOfLineItemsForPrice() {
+
+		var order = new Order()
+				.add(CAPPUCCINO)
+				.add(CAPPUCCINO)
+				.add(ESPRESSO);
+
+		assertThat(order.getPrice()).isEqualTo(Money.of(8.25, EURO));
+	}
+
+	@Test
+	void keepsPriceInSyncWhenAddingDrinksAfterCalculation() {
+
+		var order = new Order().add(CAPPUCCINO);
+
+		assertThat(order.getPrice()).isEqualTo(Money.of(3.20, EURO));
+
+		order.add(ESPRESSO).add(CAPPUCCINO);
+
+		assertThat(order.getPrice()).isEqualTo(Money.of(8.25, EURO));
+	}
+
+	@Test
+	void increasesQuantityOfExistingLineItemForSameDrink() {
+
+		var order = new Order(new LineItem(ESPRESSO), new LineItem(CAPPUCCINO))
+				.add(CAPPUCCINO)
+				.add(CAPPUCCINO);
+
+		assertThat(order.getLineItems()).hasSize(2);
+		assertThat(order.getLineItems()).element(1).satisfies(it -> {
+			assertThat(it.getName()).isEqualTo("Cappuccino");
+			assertThat(it.getQuantity()).isEqualTo(3);
+		});
+	}
+
+	@Test
+	void addsLineItemsForDistinctDrinksInOrder() {
+
+		var order = new Order();
+
+		for (int i = 0; i < 500; i++) {
+			order.add(new Drink("Drink " + i, Milk.WHOLE, Size.SMALL, Money.of(1, EURO)));
+		}
+
+		order.add(CAPPUCCINO).add(CAPPUCCINO);
+
+		assertThat(order.getLineItems()).hasSize(501);
+		assertThat(order.getLineItems().get(0).getName()).isEqualTo("Drink 0");
+		assertThat(order.getLineItems().get(500).getQuantity()).isEqualTo(2);
+	}
+
+	@Test
+	void calculatesPriceForLineItemsGivenUpFront() {
+
+		var order = new Order(new LineItem(CAPPUCCINO), new LineItem(ESPRESSO));
+
+		assertThat(order.getPrice()).isEqualTo(Money.of(5.05, EURO));
+	}
+}
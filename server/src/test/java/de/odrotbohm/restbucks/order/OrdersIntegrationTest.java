@@ -19,10 +19,20 @@ import static de.odrotbohm.restbucks.order.Order.Status.*;
 import static de.odrotbohm.restbucks.order.OrderTestUtils.*;
 import static org.assertj.core.api.Assertions.*;
 
+import de.odrotbohm.restbucks.order.Order.OrderPaid;
+import jakarta.persistence.EntityManager;
+
+import java.util.ArrayList;
+
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.jdbc.core.simple.JdbcClient;
 import org.springframework.modulith.test.ApplicationModuleTest;
 import org.springframework.modulith.test.ApplicationModuleTest.BootstrapMode;
+import org.springframework.modulith.test.AssertablePublishedEvents;
 import org.springframework.transaction.annotation.Transactional;
 
 /**
@@ -35,6 +45,8 @@ import org.springframework.transaction.annotation.Transactional;
 class OrdersIntegrationTest {
 
 	@Autowired Orders repository;
+	@Autowired JdbcClient jdbc;
+	@Autowired EntityManager em;
 
 	@Test
 	void findsAllOrders() {
@@ -72,4 +84,118 @@ class OrdersIntegrationTest {
 		assertThat(repository.findByStatus(PAYMENT_EXPECTED)).hasSize(paymentExpectedBefore);
 		assertThat(repository.findByStatus(PAID)).hasSize(paidBefore + 1);
 	}
+
+	@Test
+	void marksOrderPaidThroughConditionalUpdate(AssertablePublishedEvents events) {
+
+		var order = repository.save(createOrder());
+		em.flush();
+
+		var version = order.getVersion();
+
+		assertThat(repository.markPaid(order)).hasValueSatisfying(it -> {
+			assertThat(it.isPaid()).isTrue();
+			assertThat(it.getVersion()).isEqualTo(version + 1);
+		});
+		assertThat(jdbc.sql("SELECT version FROM rborder WHERE id = ?").param(order.getId().id())
+				.query(Long.class).single()).isEqualTo(version + 1);
+		assertThat(repository.findByStatus(PAID)).extracting(Order::getId).contains(order.getId());
+		assertThat(events).contains(OrderPaid.class).matching(OrderPaid::orderIdentifier, order.getId());
+	}
+
+	@Test
+	void rejectsPayingOrderPaidConcurrently() {
+
+		var id = repository.save(createOrder()).getId();
+		em.flush();
+		em.clear();
+
+		var first = repository.findById(id).orElseThrow();
+		em.detach(first);
+		var second = repository.findById(id).orElseThrow();
+
+		assertThat(repository.markPaid(first)).isPresent();
+		assertThat(repository.markPaid(second)).isEmpty();
+		assertThat(second.isPaid()).isFalse();
+	}
+
+	@Test
+	void rejectsPayingOrderChangedConcurrently() {
+
+		var id = repository.save(createOrder()).getId();
+		em.flush();
+		em.clear();
+
+		var stale = repository.findById(id).orElseThrow();
+		em.detach(stale);
+
+		jdbc.sql("UPDATE rborder SET version = version + 1 WHERE id = ?").param(id.id()).update();
+
+		assertThat(repository.markPaid(stale)).isEmpty();
+		assertThat(stale.isPaid()).isFalse();
+		assertThat(repository.findByStatus(PAID)).extracting(Order::getId).doesNotContain(id);
+	}
+
+	@Test
+	void countsOrdersByStatus() {
+
+		repository.save(createOrder());
+
+		var counts = repository.countByStatus();
+
+		assertThat(counts).extracting(Orders.StatusCount::getStatus).doesNotHaveDuplicates();
+		assertThat(counts).allSatisfy(it -> {
+			assertThat(it.getCount()).isEqualTo(repository.findByStatus(it.getStatus()).size());
+		});
+		assertThat(counts).extracting(Orders.StatusCount::getStatus).contains(PAYMENT_EXPECTED);
+	}
+
+	@Test
+	void returnsSliceOfOrdersByStatus() {
+
+		var all = repository.findByStatus(PAYMENT_EXPECTED);
+		var slice = repository.findByStatusOrderByOrderedDateAscIdAsc(PAYMENT_EXPECTED, PageRequest.of(0, 1));
+
+		assertThat(slice.getContent()).hasSize(1);
+		assertThat(slice.hasNext()).isEqualTo(all.size() > 1);
+	}
+
+	@Test
+	void scrollsThroughOrdersByStatusUsingKeyset() {
+
+		repository.save(createOrder());
+		repository.save(createOrder());
+		repository.save(createOrder());
+
+		var expected = repository.findByStatus(PAYMENT_EXPECTED);
+		var result = new ArrayList<Order>();
+		var window = repository.findByStatusOrderByOrderedDateAscIdAsc(PAYMENT_EXPECTED, ScrollPosition.keyset(),
+				Limit.of(2));
+
+		while (true) {
+
+			result.addAll(window.getContent());
+
+			if (!window.hasNext()) {
+				break;
+			}
+
+			window = repository.findByStatusOrderByOrderedDateAscIdAsc(PAYMENT_EXPECTED,
+					window.positionAt(window.size() - 1), Limit.of(2));
+		}
+
+		assertThat(result).containsExactlyInAnyOrderElementsOf(expected);
+		assertThat(result).extracting(Order::getOrderedDate).isSorted();
+	}
+
+	@Test
+	void indexesOrdersByStatusAndOrderedDate() {
+
+		var columns = jdbc.sql("""
+				SELECT column_name FROM information_schema.index_columns
+				WHERE index_name = 'RBORDER_STATUS_ORDERED_DATE' ORDER BY ordinal_position
+				""").query(String.class).list();
+
+		assertThat(columns).containsExactly("STATUS", "ORDERED_DATE");
+	}
 }
@@ -0,0 +1,70 @@
+/*
+ * Copyright 2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package de.odrotbohm.restbucks.order.web;
+
+import static org.assertj.core.api.Assertions.*;
+
+import de.odrotbohm.restbucks.drinks.Drink;
+import de.odrotbohm.restbucks.drinks.Drink.DrinkIdentifier;
+import de.odrotbohm.restbucks.drinks.Drinks;
+
+import java.net.URI;
+import java.util.List;
+import java.util.UUID;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.hateoas.server.EntityLinks;
+import org.springframework.test.context.TestPropertySource;
+
+/**
+ * Integration tests for {@link DrinkResolver}. Uses a custom Spring Data REST base path to verify the URIs are not
+ * expected at a fixed location.
+ *
+ * @author Oliver Drotbohm
+ */
+@SpringBootTest
+@TestPropertySource(properties = "spring.data.rest.base-path=/api")
+class DrinkResolverIntegrationTest {
+
+	@Autowired DrinkResolver resolver;
+	@Autowired Drinks drinks;
+	@Autowired EntityLinks links;
+
+	@Test
+	void resolvesUrisOfDrinkResources() {
+
+		var drink = drinks.findAll().iterator().next();
+		var uri = links.linkToItemResource(Drink.class, drink.getId()).toUri();
+
+		assertThat(uri.getPath()).startsWith("/api/");
+		assertThat(resolver.resolve(List.of(uri))).hasEntrySatisfying(uri, it -> {
+			assertThat(it.id()).isEqualTo(drink.getId());
+		});
+	}
+
+	@Test
+	void skipsUrisNotPointingToDrinksOnMenu() {
+
+		var drink = drinks.findAll().iterator().next();
+		var unknown = links.linkToItemResource(Drink.class, new DrinkIdentifier(UUID.randomUUID())).toUri();
+		var outsideBasePath = URI.create("/drinks/" + drink.getId().id());
+		var invalid = URI.create(links.linkFor(Drink.class).toUri().getPath() + "/foo");
+
+		assertThat(resolver.resolve(List.of(unknown, outsideBasePath, invalid))).isEmpty();
+	}
+}
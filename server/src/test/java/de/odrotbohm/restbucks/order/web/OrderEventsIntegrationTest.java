@@ -0,0 +1,131 @@
+/*
+ * Copyright 2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package de.odrotbohm.restbucks.order.web;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.awaitility.Awaitility.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+
+import de.odrotbohm.restbucks.AbstractWebIntegrationTest;
+import de.odrotbohm.restbucks.order.Order;
+import de.odrotbohm.restbucks.order.Order.OrderPrepared;
+import de.odrotbohm.restbucks.order.Order.OrderTaken;
+import de.odrotbohm.restbucks.order.Order.Status;
+import de.odrotbohm.restbucks.order.OrderTestUtils;
+import de.odrotbohm.restbucks.order.Orders;
+import lombok.SneakyThrows;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+/**
+ * Integration tests for {@link OrderEventsController}.
+ *
+ * @author Oliver Drotbohm
+ */
+class OrderEventsIntegrationTest extends AbstractWebIntegrationTest {
+
+	@Autowired Orders orders;
+	@Autowired ApplicationEventPublisher events;
+
+	@Test
+	void advertisesStatusChangesOnOrderResource() {
+
+		var order = orders.save(OrderTestUtils.createOrder());
+
+		var result = mvc.perform(get("/orders/{id}", order.getId().id()));
+
+		assertThat(result).hasStatusOk();
+		assertThat(result).bodyJson().extractingPath("$._links['restbucks:events'].href").asString()
+				.endsWith("/orders/" + order.getId().id() + "/events");
+	}
+
+	@Test
+	void streamsStatusChangesOfOrder() {
+
+		var order = orders.save(OrderTestUtils.createOrder());
+		var response = subscribe("/orders/{id}/events", order.getId().id());
+
+		assertThat(response.getContentType()).startsWith(MediaType.TEXT_EVENT_STREAM_VALUE);
+		assertThat(getContent(response)).contains("PAYMENT_EXPECTED");
+
+		events.publishEvent(new OrderPrepared(order.getId()));
+
+		await().untilAsserted(() -> assertThat(getContent(response)).contains("READY"));
+
+		events.publishEvent(new OrderTaken(order.getId()));
+
+		await().untilAsserted(() -> assertThat(getContent(response)).contains("TAKEN"));
+	}
+
+	@Test
+	void completesStreamOfOrderAlreadyTaken() {
+
+		var order = orders.save(OrderTestUtils.createExistingOrderWithStatus(Status.TAKEN));
+		var result = mvc.perform(get("/orders/{id}/events", order.getId().id()).accept(MediaType.TEXT_EVENT_STREAM));
+
+		assertThat(result).hasStatusOk();
+		assertThat(getContent(result.getResponse())).contains("TAKEN");
+	}
+
+	@Test
+	void streamsOrdersGettingReady() {
+
+		var order = orders.save(OrderTestUtils.createOrder());
+		var response = subscribe("/orders/events?status=READY");
+
+		events.publishEvent(new OrderPrepared(order.getId()));
+
+		await().untilAsserted(() -> assertThat(getContent(response))
+				.contains("event:status")
+				.contains(order.getId().id().toString()));
+	}
+
+	@Test
+	void rejectsSubscriptionsForStatusNotPushed() {
+
+		var result = mvc.perform(get("/orders/events?status=PAID").accept(MediaType.TEXT_EVENT_STREAM));
+
+		assertThat(result).hasStatus(HttpStatus.BAD_REQUEST);
+	}
+
+	@Test
+	void rejectsSubscriptionsForUnknownOrder() {
+
+		var result = mvc.perform(get("/orders/{id}/events", new Order().getId().id())
+				.accept(MediaType.TEXT_EVENT_STREAM));
+
+		assertThat(result).hasStatus(HttpStatus.NOT_FOUND);
+	}
+
+	private MockHttpServletResponse subscribe(String uri, Object... parameters) {
+
+		var result = mvc.perform(get(uri, parameters).accept(MediaType.TEXT_EVENT_STREAM));
+
+		assertThat(result.getMvcResult().getRequest().isAsyncStarted()).isTrue();
+
+		return result.getResponse();
+	}
+
+	@SneakyThrows
+	private static String getContent(MockHttpServletResponse response) {
+		return response.getContentAsString();
+	}
+}
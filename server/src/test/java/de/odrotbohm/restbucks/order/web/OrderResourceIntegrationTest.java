@@ -19,14 +19,31 @@ import static org.assertj.core.api.Assertions.*;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 
 import de.odrotbohm.restbucks.AbstractWebIntegrationTest;
+import de.odrotbohm.restbucks.drinks.Drink;
+import de.odrotbohm.restbucks.drinks.Drinks;
+import de.odrotbohm.restbucks.order.Order;
+import de.odrotbohm.restbucks.order.Order.OrderIdentifier;
+import de.odrotbohm.restbucks.order.OrderTestUtils;
+import de.odrotbohm.restbucks.order.Orders;
 import tools.jackson.databind.json.JsonMapper;
 
+import java.time.LocalDateTime;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Sort;
 import org.springframework.hateoas.MediaTypes;
+import org.springframework.hateoas.server.EntityLinks;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 
+import com.jayway.jsonpath.JsonPath;
+
 /**
  * Integration test for REST resources exposed by Spring Data REST.
  *
@@ -35,6 +52,9 @@ import org.springframework.http.MediaType;
 class OrderResourceIntegrationTest extends AbstractWebIntegrationTest {
 
 	@Autowired JsonMapper mapper;
+	@Autowired Drinks drinks;
+	@Autowired EntityLinks entityLinks;
+	@Autowired Orders orders;
 
 	@Test
 	void exposesOrdersResourceViaRootResource() throws Exception {
@@ -57,4 +77,151 @@ class OrderResourceIntegrationTest extends AbstractWebIntegrationTest {
 
 		assertThat(result).hasStatus4xxClientError();
 	}
+
+	@Test
+	void rejectsOrderForUnknownDrink() throws Exception {
+
+		var unknown = entityLinks.linkToItemResource(Drink.class, UUID.randomUUID()).getHref();
+		var payload = Map.of("location", "TAKE_AWAY", "drinks", List.of(unknown));
+
+		var result = mvc.perform(post("/orders")
+				.content(mapper.writeValueAsString(payload))
+				.contentType(MediaType.APPLICATION_JSON));
+
+		assertThat(result).hasStatus(HttpStatus.BAD_REQUEST);
+	}
+
+	@Test
+	void placesBatchOfOrders() throws Exception {
+
+		var drinkUris = drinks.findAll(Sort.by("name")).stream()
+				.limit(2)
+				.map(it -> entityLinks.linkToItemResource(Drink.class, it.getId()).getHref())
+				.toList();
+
+		var payload = List.of(
+				Map.of("location", "TAKE_AWAY", "drinks", drinkUris),
+				Map.of("location", "IN_STORE", "drinks", drinkUris.subList(0, 1)));
+
+		var result = mvc.perform(post("/orders/batch")
+				.content(mapper.writeValueAsString(payload))
+				.contentType(MediaType.APPLICATION_JSON));
+
+		assertThat(result).hasStatus(HttpStatus.CREATED);
+		assertThat(result).bodyJson().extractingPath("$._embedded['restbucks:orders']").asArray().hasSize(2);
+		assertThat(result).bodyJson().extractingPath("$._embedded['restbucks:orders'][0].lineItems").asArray().hasSize(2);
+	}
+
+	@Test
+	void rejectsBatchOfOrdersIfAnyIsInvalid() throws Exception {
+
+		var payload = List.of(Map.of("location", "TAKE_AWAY"), Map.of());
+
+		var result = mvc.perform(post("/orders/batch")
+				.content(mapper.writeValueAsString(payload))
+				.contentType(MediaType.APPLICATION_JSON));
+
+		assertThat(result).hasStatus4xxClientError();
+	}
+
+	@Test
+	void rejectsBatchOfOrdersExceedingMaximumSize() throws Exception {
+
+		var drink = entityLinks.linkToItemResource(Drink.class, drinks.findAll(Sort.by("name")).toList().get(0).getId());
+		var order = Map.of("location", "TAKE_AWAY", "drinks", List.of(drink.getHref()));
+		var payload = Collections.nCopies(LocationAndDrinksBatch.MAX_SIZE + 1, order);
+		var before = orders.count();
+
+		var result = mvc.perform(post("/orders/batch")
+				.content(mapper.writeValueAsString(payload))
+				.contentType(MediaType.APPLICATION_JSON));
+
+		assertThat(result).hasStatus(HttpStatus.BAD_REQUEST);
+		assertThat(orders.count()).isEqualTo(before);
+	}
+
+	@Test
+	void rejectsBatchOfOrdersIfAnyRefersToUnknownDrink() throws Exception {
+
+		var known = entityLinks.linkToItemResource(Drink.class, drinks.findAll(Sort.by("name")).toList().get(0).getId());
+		var unknown = entityLinks.linkToItemResource(Drink.class, UUID.randomUUID());
+
+		var payload = List.of(
+				Map.of("location", "TAKE_AWAY", "drinks", List.of(known.getHref())),
+				Map.of("location", "IN_STORE", "drinks", List.of(known.getHref(), unknown.getHref())));
+
+		var result = mvc.perform(post("/orders/batch")
+				.content(mapper.writeValueAsString(payload))
+				.contentType(MediaType.APPLICATION_JSON));
+
+		assertThat(result).hasStatus(HttpStatus.BAD_REQUEST);
+	}
+
+	@Test
+	void exposesOrderQueueAsSearchResource() throws Exception {
+
+		var result = mvc.perform(get("/orders/search"));
+
+		assertThat(result).hasStatusOk();
+		assertThat(result).bodyJson().hasPath("$._links['restbucks:queue'].href");
+		assertThat(result).bodyJson().hasPath("$._links['restbucks:by-status'].href");
+	}
+
+	@Test
+	void scrollsThroughOrderQueue() throws Exception {
+
+		var first = mvc.perform(get("/orders/search/queue").param("status", "PAYMENT_EXPECTED").param("size", "1"));
+
+		assertThat(first).hasStatusOk();
+		assertThat(first).bodyJson().extractingPath("$._embedded['restbucks:orders']").asArray().hasSize(1);
+
+		var next = JsonPath.parse(first.getResponse().getContentAsString()).read("$._links.next.href", String.class);
+		var second = mvc.perform(get(next));
+
+		assertThat(second).hasStatusOk();
+		assertThat(second).bodyJson().extractingPath("$._embedded['restbucks:orders']").asArray().hasSize(1);
+		assertThat(second.getResponse().getContentAsString()).isNotEqualTo(first.getResponse().getContentAsString());
+	}
+
+	@Test
+	void scrollsOnFromCursorOfOrderNoLongerPresent() throws Exception {
+
+		var cursor = new QueueCursor(LocalDateTime.of(2000, 1, 1, 0, 0), new OrderIdentifier(UUID.randomUUID()));
+
+		var result = mvc.perform(get("/orders/search/queue")
+				.param("status", "PAYMENT_EXPECTED")
+				.param("after", cursor.toToken()));
+
+		assertThat(result).hasStatusOk();
+		assertThat(result).bodyJson().extractingPath("$._embedded['restbucks:orders']").asArray().isNotEmpty();
+	}
+
+	@Test
+	void rejectsInvalidQueueCursor() throws Exception {
+
+		var result = mvc.perform(get("/orders/search/queue")
+				.param("status", "PAYMENT_EXPECTED")
+				.param("after", UUID.randomUUID().toString()));
+
+		assertThat(result).hasStatus(HttpStatus.BAD_REQUEST);
+	}
+
+	@Test
+	void answersConditionalGetOfOrderWithNotModified() throws Exception {
+
+		var order = orders.save(OrderTestUtils.createOrder());
+		var uri = entityLinks.linkToItemResource(Order.class, order.getId()).toUri();
+
+		var result = mvc.perform(get(uri));
+
+		assertThat(result).hasStatusOk();
+		assertThat(result).headers().containsHeader(HttpHeaders.ETAG);
+
+		var eTag = result.getResponse().getHeader(HttpHeaders.ETAG);
+
+		assertThat(mvc.perform(get(uri).header(HttpHeaders.IF_NONE_MATCH, eTag)))
+				.hasStatus(HttpStatus.NOT_MODIFIED);
+		assertThat(mvc.perform(get(uri).header(HttpHeaders.IF_NONE_MATCH, "\"42\"")))
+				.hasStatusOk();
+	}
 }
@@ -0,0 +1,94 @@
+/*
+ * Copyright 2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package de.odrotbohm.restbucks.order.web;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+import de.odrotbohm.restbucks.order.Order.OrderIdentifier;
+import de.odrotbohm.restbucks.order.Order.Status;
+import de.odrotbohm.restbucks.order.Orders;
+
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.RejectedExecutionException;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Unit tests for {@link OrderStatusSubscriptions}.
+ *
+ * @author Oliver Drotbohm
+ */
+class OrderStatusSubscriptionsUnitTests {
+
+	Orders orders = mock(Orders.class);
+	OrderStatusSubscriptions subscriptions = new OrderStatusSubscriptions(orders, 2, 3);
+
+	@AfterEach
+	void tearDown() {
+		subscriptions.close();
+	}
+
+	@Test
+	void rejectsSubscriptionsExceedingLimitPerOrder() {
+
+		var id = new OrderIdentifier(UUID.randomUUID());
+
+		when(orders.findStatusById(id)).thenReturn(Optional.of(Status.PAYMENT_EXPECTED));
+
+		assertThat(subscriptions.subscribe(id)).isPresent();
+		assertThat(subscriptions.subscribe(id)).isPresent();
+
+		assertThatExceptionOfType(RejectedExecutionException.class).isThrownBy(() -> subscriptions.subscribe(id));
+		assertThat(subscriptions.subscribe(new OrderIdentifier(UUID.randomUUID()))).isEmpty();
+	}
+
+	@Test
+	void rejectsSubscriptionsExceedingLimitInTotal() {
+
+		when(orders.findStatusById(any())).thenReturn(Optional.of(Status.PAYMENT_EXPECTED));
+
+		subscriptions.subscribe(Status.READY);
+		subscriptions.subscribe(new OrderIdentifier(UUID.randomUUID()));
+		subscriptions.subscribe(new OrderIdentifier(UUID.randomUUID()));
+
+		assertThatExceptionOfType(RejectedExecutionException.class)
+				.isThrownBy(() -> subscriptions.subscribe(new OrderIdentifier(UUID.randomUUID())));
+		assertThatExceptionOfType(RejectedExecutionException.class)
+				.isThrownBy(() -> subscriptions.subscribe(Status.TAKEN));
+	}
+
+	@Test
+	void releasesSubscriptionsToUnknownAndTakenOrders() {
+
+		var id = new OrderIdentifier(UUID.randomUUID());
+
+		when(orders.findStatusById(any())).thenReturn(Optional.empty());
+		when(orders.findStatusById(id)).thenReturn(Optional.of(Status.TAKEN));
+
+		for (int i = 0; i < 5; i++) {
+			assertThat(subscriptions.subscribe(new OrderIdentifier(UUID.randomUUID()))).isEmpty();
+			assertThat(subscriptions.subscribe(id)).isPresent();
+		}
+
+		subscriptions.subscribe(Status.READY);
+		subscriptions.subscribe(Status.READY);
+		subscriptions.subscribe(Status.READY);
+	}
+}
@@ -0,0 +1,256 @@
+/*
+ * Copyright 2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package de.odrotbohm.restbucks.order.web;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+import de.odrotbohm.restbucks.order.Location;
+import de.odrotbohm.restbucks.order.Order.OrderCreated;
+import de.odrotbohm.restbucks.order.Order.OrderIdentifier;
+import de.odrotbohm.restbucks.order.OrderTestUtils;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.SneakyThrows;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.data.rest.core.event.AfterDeleteEvent;
+import org.springframework.data.rest.core.event.AfterSaveEvent;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+/**
+ * Unit tests for {@link OrdersCollectionCache}.
+ *
+ * @author Oliver Drotbohm
+ */
+class OrdersCollectionCacheUnitTests {
+
+	Clock clock = mock(Clock.class);
+	OrdersCollectionCache cache = new OrdersCollectionCache(2, Duration.ofMinutes(1), clock);
+	AtomicInteger renderings = new AtomicInteger();
+
+	FilterChain chain = (request, response) -> {
+
+		var rendering = renderings.incrementAndGet();
+
+		response.setContentType("application/hal+json");
+		response.getWriter().write("{ \"rendering\" : " + rendering + " }");
+	};
+
+	@Test
+	void servesRepeatedRequestFromCache() throws Exception {
+
+		var first = get("page", "0");
+		var second = get("page", "0");
+
+		assertThat(renderings).hasValue(1);
+		assertThat(second.getContentAsString()).isEqualTo(first.getContentAsString());
+		assertThat(second.getContentType()).isEqualTo("application/hal+json");
+		assertThat(cache.getHits()).isEqualTo(1);
+		assertThat(cache.getMisses()).isEqualTo(1);
+	}
+
+	@Test
+	void cachesPagesSeparately() {
+
+		get("page", "0");
+		get("page", "1");
+		get("page", "0", "sort", "orderedDate,desc");
+		get("projection", "summary");
+
+		assertThat(renderings).hasValue(4);
+		assertThat(cache.getMisses()).isEqualTo(4);
+	}
+
+	@Test
+	void invalidatesOnOrderEvents() throws Exception {
+
+		get("page", "0");
+
+		cache.on(new OrderCreated(new OrderIdentifier(UUID.randomUUID()), Location.TAKE_AWAY));
+
+		assertThat(get("page", "0").getContentAsString()).contains("2");
+		assertThat(renderings).hasValue(2);
+	}
+
+	@Test
+	void invalidatesOnOrdersChangedThroughSpringDataRest() {
+
+		get("page", "0");
+
+		cache.on(new AfterSaveEvent(OrderTestUtils.createOrder()));
+		get("page", "0");
+
+		cache.on(new AfterDeleteEvent(OrderTestUtils.createOrder()));
+		get("page", "0");
+
+		assertThat(renderings).hasValue(3);
+	}
+
+	@Test
+	void keepsPagesOnRequestsAndChangesNotAffectingOrders() {
+
+		get("page", "0");
+
+		var request = request("/orders/" + UUID.randomUUID());
+		request.setMethod("PATCH");
+
+		filter(request);
+		cache.on(new AfterSaveEvent(new Object()));
+		get("page", "0");
+
+		assertThat(renderings).hasValue(2);
+		assertThat(cache.getHits()).isEqualTo(1);
+	}
+
+	@Test
+	void doesNotCachePageRenderedConcurrentlyWithInvalidation() {
+
+		chain = (request, response) -> {
+			renderings.incrementAndGet();
+			cache.invalidate();
+		};
+
+		get("page", "0");
+		get("page", "0");
+
+		assertThat(renderings).hasValue(2);
+		assertThat(cache.getSize()).isZero();
+	}
+
+	@Test
+	void doesNotCacheOtherResourcesOrUnsuccessfulResponses() {
+
+		filter(request("/orders/" + UUID.randomUUID()));
+
+		chain = (request, response) -> {
+			renderings.incrementAndGet();
+			((HttpServletResponse) response).setStatus(400);
+		};
+
+		get("page", "invalid");
+
+		assertThat(renderings).hasValue(2);
+		assertThat(cache.getSize()).isZero();
+	}
+
+	@Test
+	void evictsLeastRecentlyUsedPage() {
+
+		get("page", "0");
+		get("page", "1");
+		get("page", "0");
+		get("page", "2");
+
+		assertThat(cache.getSize()).isEqualTo(2);
+		assertThat(cache.getEvictions()).isEqualTo(1);
+
+		get("page", "0");
+
+		assertThat(renderings).hasValue(3);
+	}
+
+	@Test
+	void expiresPagesAfterTimeToLive() {
+
+		get("page", "0");
+
+		when(clock.millis()).thenReturn(Duration.ofMinutes(1).toMillis() - 1);
+		get("page", "0");
+
+		assertThat(renderings).hasValue(1);
+
+		when(clock.millis()).thenReturn(Duration.ofMinutes(1).toMillis());
+		get("page", "0");
+
+		assertThat(renderings).hasValue(2);
+		assertThat(cache.getMisses()).isEqualTo(2);
+	}
+
+	@Test
+	void onlyReplaysHeadersDescribingTheRepresentation() throws Exception {
+
+		chain = (request, response) -> {
+
+			var servletResponse = (HttpServletResponse) response;
+
+			renderings.incrementAndGet();
+			servletResponse.setContentType("application/hal+json");
+			servletResponse.addHeader(HttpHeaders.VARY, HttpHeaders.ACCEPT);
+			servletResponse.addHeader(HttpHeaders.ETAG, "\"1\"");
+			servletResponse.addHeader(HttpHeaders.SET_COOKIE, "session=4711");
+			servletResponse.addHeader("X-Request-Id", "42");
+			servletResponse.getWriter().write("{}");
+		};
+
+		get("page", "0");
+
+		var cached = get("page", "0");
+
+		assertThat(renderings).hasValue(1);
+		assertThat(cache.getHits()).isEqualTo(1);
+		assertThat(cached.getContentType()).isEqualTo("application/hal+json");
+		assertThat(cached.getHeader(HttpHeaders.VARY)).isEqualTo(HttpHeaders.ACCEPT);
+		assertThat(cached.getHeader(HttpHeaders.ETAG)).isEqualTo("\"1\"");
+		assertThat(cached.getHeaderNames()).doesNotContain(HttpHeaders.SET_COOKIE, "X-Request-Id");
+	}
+
+	@Test
+	void considersAcceptHeaders() {
+
+		get("page", "0");
+
+		var request = request(OrdersCollectionCache.PATH);
+		request.addParameter("page", "0");
+		request.addHeader(HttpHeaders.ACCEPT_LANGUAGE, "de");
+
+		filter(request);
+
+		assertThat(renderings).hasValue(2);
+	}
+
+	private MockHttpServletResponse get(String... parameters) {
+
+		var request = request(OrdersCollectionCache.PATH);
+
+		for (int i = 0; i < parameters.length; i += 2) {
+			request.addParameter(parameters[i], parameters[i + 1]);
+		}
+
+		return filter(request);
+	}
+
+	@SneakyThrows
+	private MockHttpServletResponse filter(MockHttpServletRequest request) {
+
+		var response = new MockHttpServletResponse();
+
+		cache.doFilter(request, response, (req, res) -> chain.doFilter(req, res));
+
+		return response;
+	}
+
+	private static MockHttpServletRequest request(String uri) {
+		return new MockHttpServletRequest("GET", uri);
+	}
+}
@@ -0,0 +1,168 @@
+/*
+ * Copyright 2012-2019 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package de.odrotbohm.restbucks.payment;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+import de.odrotbohm.restbucks.payment.CreditCard.CreditCardUpdated;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.Month;
+import java.time.Year;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.Optional;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Unit tests for {@link CreditCardCache}.
+ *
+ * @author Oliver Drotbohm
+ */
+class CreditCardCacheUnitTests {
+
+	static final CreditCardNumber NUMBER = CreditCardNumber.of("1234123412341234");
+	static final CreditCardNumber OTHER = CreditCardNumber.of("4321432143214321");
+
+	CreditCards creditCards = mock(CreditCards.class);
+	MutableClock clock = new MutableClock(Instant.parse("2030-01-31T12:00:00Z"));
+	CreditCardCache cache = new CreditCardCache(creditCards, 1, clock);
+
+	@BeforeEach
+	void setUp() {
+
+		when(creditCards.findByNumber(NUMBER))
+				.thenReturn(Optional.of(new CreditCard(NUMBER, "Oliver Drotbohm", Month.FEBRUARY, Year.of(2030))));
+		when(creditCards.findByNumber(OTHER))
+				.thenReturn(Optional.of(new CreditCard(OTHER, "Oliver Drotbohm", Month.DECEMBER, Year.of(2030))));
+	}
+
+	@Test
+	void looksUpCardOnlyOnce() {
+
+		assertThat(cache.findByNumber(NUMBER)).hasValueSatisfying(it -> {
+			assertThat(it.cardHolderName()).isEqualTo("Oliver Drotbohm");
+			assertThat(cache.isValid(it)).isTrue();
+		});
+		assertThat(cache.findByNumber(NUMBER)).isPresent();
+
+		verify(creditCards, times(1)).findByNumber(NUMBER);
+	}
+
+	@Test
+	void evictsCardOnceExpired() {
+
+		var card = cache.findByNumber(NUMBER).orElseThrow();
+
+		clock.advance(Duration.ofDays(1));
+
+		assertThat(cache.isValid(card)).isFalse();
+		assertThat(cache.findByNumber(NUMBER)).hasValueSatisfying(it -> assertThat(cache.isValid(it)).isFalse());
+		assertThat(cache.size()).isZero();
+
+		verify(creditCards, times(2)).findByNumber(NUMBER);
+	}
+
+	@Test
+	void sweepsExpiredCards() {
+
+		cache.findByNumber(NUMBER);
+
+		cache.evictExpired();
+		assertThat(cache.size()).isOne();
+
+		clock.advance(Duration.ofDays(1));
+
+		cache.evictExpired();
+		assertThat(cache.size()).isZero();
+	}
+
+	@Test
+	void evictsCardOnUpdate() {
+
+		cache.findByNumber(NUMBER);
+		cache.on(new CreditCardUpdated(NUMBER));
+		cache.findByNumber(NUMBER);
+
+		verify(creditCards, times(2)).findByNumber(NUMBER);
+	}
+
+	@Test
+	void evictsLeastRecentlyUsedCards() {
+
+		cache.findByNumber(NUMBER);
+		cache.findByNumber(OTHER);
+		cache.findByNumber(NUMBER);
+
+		assertThat(cache.size()).isOne();
+		verify(creditCards, times(2)).findByNumber(NUMBER);
+	}
+
+	@Test
+	void doesNotKeepCardLoadedConcurrentlyWithEviction() {
+
+		when(creditCards.findByNumber(NUMBER)).then(__ -> {
+			cache.evict(NUMBER);
+			return Optional.of(new CreditCard(NUMBER, "Oliver Drotbohm", Month.FEBRUARY, Year.of(2030)));
+		});
+
+		cache.findByNumber(NUMBER);
+
+		assertThat(cache.size()).isZero();
+	}
+
+	@Test
+	void doesNotCacheUnknownCards() {
+
+		when(creditCards.findByNumber(NUMBER)).thenReturn(Optional.empty());
+
+		assertThat(cache.findByNumber(NUMBER)).isEmpty();
+		assertThat(cache.size()).isZero();
+	}
+
+	static class MutableClock extends Clock {
+
+		private Instant instant;
+
+		MutableClock(Instant instant) {
+			this.instant = instant;
+		}
+
+		void advance(Duration duration) {
+			this.instant = instant.plus(duration);
+		}
+
+		@Override
+		public Instant instant() {
+			return instant;
+		}
+
+		@Override
+		public ZoneId getZone() {
+			return ZoneOffset.UTC;
+		}
+
+		@Override
+		public Clock withZone(ZoneId zone) {
+			throw new UnsupportedOperationException();
+		}
+	}
+}
@@ -0,0 +1,222 @@
+/*
+ * Copyright 2012-2019 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package de.odrotbohm.restbucks.payment;
+
+import static de.odrotbohm.restbucks.core.Currencies.*;
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+import de.odrotbohm.restbucks.drinks.Drink;
+import de.odrotbohm.restbucks.drinks.Milk;
+import de.odrotbohm.restbucks.drinks.Size;
+import de.odrotbohm.restbucks.order.OrderTestUtils;
+import de.odrotbohm.restbucks.payment.PaymentAuthorization.Status;
+import de.odrotbohm.restbucks.payment.PaymentGateway.Authorization;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+import javax.money.MonetaryAmount;
+
+import org.javamoney.moneta.Money;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionOperations;
+
+/**
+ * Unit tests for {@link PaymentAuthorizations}.
+ *
+ * @author Oliver Drotbohm
+ */
+class PaymentAuthorizationsUnitTests {
+
+	static final CreditCardNumber NUMBER = CreditCardNumber.of("1234123412341234");
+
+	PaymentGateway gateway = mock(PaymentGateway.class);
+	@SuppressWarnings("unchecked") Consumer<MonetaryAmount> callback = mock(Consumer.class);
+	CountDownLatch respond = new CountDownLatch(1);
+	PaymentAuthorizations authorizations = new PaymentAuthorizations(gateway, TransactionOperations.withoutTransaction(),
+			1, 1, 16);
+
+	@AfterEach
+	void tearDown() {
+
+		respond.countDown();
+		authorizations.close();
+	}
+
+	@Test
+	void completesApprovedPayment() throws Exception {
+
+		when(gateway.authorize(eq(NUMBER), any())).thenReturn(Authorization.approve());
+
+		var order = OrderTestUtils.createOrder();
+		var approved = new CountDownLatch(1);
+
+		var result = authorizations.submit(order, NUMBER, __ -> approved.countDown());
+
+		assertThat(result.status()).isEqualTo(Status.PENDING);
+		assertThat(approved.await(1, TimeUnit.SECONDS)).isTrue();
+
+		awaitCompletion();
+
+		assertThat(authorizations.findByOrder(order.getId()))
+				.hasValueSatisfying(it -> assertThat(it.status()).isEqualTo(Status.AUTHORIZED));
+	}
+
+	@Test
+	void recordsDeclinedPayment() throws Exception {
+
+		when(gateway.authorize(eq(NUMBER), any())).thenReturn(Authorization.decline("Insufficient funds!"));
+
+		var order = OrderTestUtils.createOrder();
+
+		authorizations.submit(order, NUMBER, callback);
+
+		awaitCompletion();
+
+		assertThat(authorizations.findByOrder(order.getId())).hasValueSatisfying(it -> {
+			assertThat(it.status()).isEqualTo(Status.DECLINED);
+			assertThat(it.reason()).isEqualTo("Insufficient funds!");
+		});
+
+		verifyNoInteractions(callback);
+	}
+
+	@Test
+	void declinesPaymentIfGatewayFails() throws Exception {
+
+		when(gateway.authorize(eq(NUMBER), any())).thenThrow(new IllegalStateException("Timeout!"));
+
+		var order = OrderTestUtils.createOrder();
+
+		authorizations.submit(order, NUMBER, callback);
+
+		awaitCompletion();
+
+		assertThat(authorizations.findByOrder(order.getId()))
+				.hasValueSatisfying(it -> assertThat(it.status()).isEqualTo(Status.DECLINED));
+	}
+
+	@Test
+	void declinesPaymentIfCompletionFails() throws Exception {
+
+		when(gateway.authorize(eq(NUMBER), any())).thenReturn(Authorization.approve());
+
+		var order = OrderTestUtils.createOrder();
+
+		authorizations.submit(order, NUMBER, __ -> {
+			throw new PaymentFailed(order, "Order already paid!");
+		});
+
+		awaitCompletion();
+
+		assertThat(authorizations.findByOrder(order.getId())).hasValueSatisfying(it -> {
+			assertThat(it.status()).isEqualTo(Status.DECLINED);
+			assertThat(it.reason()).isEqualTo("Order already paid!");
+		});
+
+		verify(gateway).release(NUMBER, order.getPrice());
+	}
+
+	@Test
+	void releasesAuthorizationIfCompletionFailsUnexpectedly() throws Exception {
+
+		when(gateway.authorize(eq(NUMBER), any())).thenReturn(Authorization.approve());
+		doThrow(new IllegalStateException("Unavailable!")).when(callback).accept(any());
+
+		var order = OrderTestUtils.createOrder();
+
+		authorizations.submit(order, NUMBER, callback);
+
+		awaitCompletion();
+
+		assertThat(authorizations.findByOrder(order.getId()))
+				.hasValueSatisfying(it -> assertThat(it.status()).isEqualTo(Status.DECLINED));
+
+		verify(gateway).release(NUMBER, order.getPrice());
+	}
+
+	@Test
+	void authorizesPriceCapturedOnSubmission() throws Exception {
+
+		blockGateway();
+
+		var order = OrderTestUtils.createOrder();
+		var price = order.getPrice();
+
+		authorizations.submit(order, NUMBER, callback);
+
+		// Changed on the request thread while the authorization is pending
+		order.add(new Drink("Cappuccino", Milk.WHOLE, Size.SMALL, Money.of(3.20, EURO)));
+		respond.countDown();
+
+		awaitCompletion();
+
+		verify(gateway).authorize(NUMBER, price);
+		verify(callback).accept(price);
+		verify(gateway, never()).release(any(), any());
+	}
+
+	@Test
+	void rejectsSecondPaymentForOrderPending() {
+
+		blockGateway();
+
+		var order = OrderTestUtils.createOrder();
+
+		authorizations.submit(order, NUMBER, callback);
+
+		assertThatExceptionOfType(PaymentFailed.class)
+				.isThrownBy(() -> authorizations.submit(order, NUMBER, callback))
+				.withMessageContaining("already being authorized");
+	}
+
+	@Test
+	void rejectsPaymentsBeyondCapacity() {
+
+		blockGateway();
+
+		// One processed by the gateway, one waiting for it
+		authorizations.submit(OrderTestUtils.createOrder(), NUMBER, callback);
+		authorizations.submit(OrderTestUtils.createOrder(), NUMBER, callback);
+
+		assertThatExceptionOfType(RejectedExecutionException.class)
+				.isThrownBy(() -> authorizations.submit(OrderTestUtils.createOrder(), NUMBER, callback));
+
+		assertThat(authorizations.getPendingCount()).isEqualTo(2);
+	}
+
+	private void blockGateway() {
+
+		when(gateway.authorize(eq(NUMBER), any())).thenAnswer(__ -> {
+			respond.await();
+			return Authorization.approve();
+		});
+	}
+
+	private void awaitCompletion() throws InterruptedException {
+
+		for (int i = 0; i < 100 && authorizations.getPendingCount() > 0; i++) {
+			Thread.sleep(10);
+		}
+
+		assertThat(authorizations.getPendingCount()).isZero();
+	}
+}
@@ -15,8 +15,14 @@
  */
 package de.odrotbohm.restbucks.payment;
 
+import static de.odrotbohm.restbucks.core.Currencies.*;
 import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
 
+import de.odrotbohm.restbucks.drinks.Drink;
+import de.odrotbohm.restbucks.drinks.Milk;
+import de.odrotbohm.restbucks.drinks.Size;
 import de.odrotbohm.restbucks.order.Order;
 import de.odrotbohm.restbucks.order.OrderTestUtils;
 import de.odrotbohm.restbucks.order.Orders;
@@ -27,9 +33,15 @@ import de.odrotbohm.restbucks.payment.PaymentService;
 import de.odrotbohm.restbucks.payment.PaymentServiceImpl;
 import de.odrotbohm.restbucks.payment.Payments;
 
+import java.time.Clock;
+import java.util.Optional;
+import java.util.function.Consumer;
+
+import org.javamoney.moneta.Money;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
@@ -48,24 +60,28 @@ class PaymentServiceImplUnitTest {
 	@Mock Payments paymentRepository;
 	@Mock CreditCards creditCardRepository;
 	@Mock Orders orderRepository;
+	@Mock PaymentAuthorizations authorizations;
 
 	@BeforeEach
 	void setUp() {
-		this.paymentService = new PaymentServiceImpl(creditCardRepository, paymentRepository, orderRepository);
+		this.paymentService = new PaymentServiceImpl(new CreditCardCache(creditCardRepository, 16, Clock.systemUTC()),
+				paymentRepository, orderRepository, authorizations);
 	}
 
 	@Test
 	void rejectsNullPaymentRepository() {
 
 		assertThatExceptionOfType(IllegalArgumentException.class) //
-				.isThrownBy(() -> new PaymentServiceImpl(creditCardRepository, null, orderRepository));
+				.isThrownBy(() -> new PaymentServiceImpl(new CreditCardCache(creditCardRepository, 16, Clock.systemUTC()), null,
+						orderRepository, authorizations));
 	}
 
 	@Test
 	void rejectsNullCreditCardRepository() {
 
 		assertThatExceptionOfType(IllegalArgumentException.class) //
-				.isThrownBy(() -> new PaymentServiceImpl(null, paymentRepository, orderRepository));
+				.isThrownBy(() -> new PaymentServiceImpl(null, paymentRepository, orderRepository,
+						authorizations));
 	}
 
 	@Test
@@ -88,4 +104,86 @@ class PaymentServiceImplUnitTest {
 				.withMessageContaining("credit card") //
 				.withMessageContaining(NUMBER.getNumber());
 	}
+
+	@Test
+	void rejectsPaymentIfOrderPaidConcurrently() {
+
+		var order = new Order();
+
+		when(creditCardRepository.findByNumber(NUMBER))
+				.thenReturn(Optional.of(CreditCardsIntegrationTest.createCreditCard()));
+		when(orderRepository.markPaid(order)).thenReturn(Optional.empty());
+
+		assertThatExceptionOfType(PaymentFailed.class) //
+				.isThrownBy(() -> paymentService.pay(order, NUMBER)) //
+				.withMessageContaining("paid");
+
+		verifyNoInteractions(paymentRepository);
+	}
+
+	@Test
+	void rejectsAuthorizationOfPaymentWithUnknownCreditCardRightAway() {
+
+		var order = OrderTestUtils.createOrder();
+
+		assertThatExceptionOfType(PaymentFailed.class) //
+				.isThrownBy(() -> paymentService.authorize(order, NUMBER)) //
+				.withMessageContaining("credit card");
+
+		verifyNoInteractions(authorizations);
+	}
+
+	@Test
+	void reportsPaidOrderAsAuthorized() {
+
+		var order = OrderTestUtils.createPaidOrder();
+
+		assertThat(paymentService.getAuthorizationFor(order))
+				.hasValueSatisfying(it -> assertThat(it.status()).isEqualTo(PaymentAuthorization.Status.AUTHORIZED));
+
+		verifyNoInteractions(authorizations);
+	}
+
+	@Test
+	void rejectsPaymentWhileAuthorizationPending() {
+
+		var order = OrderTestUtils.createOrder();
+
+		when(creditCardRepository.findByNumber(NUMBER))
+				.thenReturn(Optional.of(CreditCardsIntegrationTest.createCreditCard()));
+		when(authorizations.findByOrder(order.getId())).thenReturn(Optional.of(PaymentAuthorization.pending(order.getId())));
+
+		assertThatExceptionOfType(PaymentFailed.class) //
+				.isThrownBy(() -> paymentService.pay(order, NUMBER)) //
+				.withMessageContaining("being authorized");
+
+		verify(orderRepository, never()).markPaid(any());
+		verifyNoInteractions(paymentRepository);
+	}
+
+	@Test
+	@SuppressWarnings("unchecked")
+	void declinesAuthorizedPaymentIfOrderChangedInTheMeantime() {
+
+		var order = OrderTestUtils.createOrder();
+		var price = order.getPrice();
+		var callback = ArgumentCaptor.forClass(Consumer.class);
+
+		when(creditCardRepository.findByNumber(NUMBER))
+				.thenReturn(Optional.of(CreditCardsIntegrationTest.createCreditCard()));
+
+		paymentService.authorize(order, NUMBER);
+
+		verify(authorizations).submit(eq(order), eq(NUMBER), callback.capture());
+
+		order.add(new Drink("Cappuccino", Milk.WHOLE, Size.SMALL, Money.of(3.20, EURO)));
+		when(orderRepository.findById(order.getId())).thenReturn(Optional.of(order));
+
+		assertThatExceptionOfType(PaymentFailed.class) //
+				.isThrownBy(() -> callback.getValue().accept(price)) //
+				.withMessageContaining("changed");
+
+		verify(orderRepository, never()).markPaid(any());
+		verifyNoInteractions(paymentRepository);
+	}
 }
@@ -26,6 +26,9 @@ import de.odrotbohm.restbucks.order.Order.Status;
 import de.odrotbohm.restbucks.payment.CreditCards;
 import de.odrotbohm.restbucks.payment.PaymentService;
 
+import java.time.LocalDate;
+import java.time.Month;
+
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 
@@ -51,6 +54,21 @@ class PaymentServiceIntegrationTest extends AbstractIntegrationTest {
 		assertThat(order.isPaid()).isTrue();
 	}
 
+	@Test
+	void rejectsCardExpiredAfterItHasBeenUsed() {
+
+		var creditCard = creditCards.save(createCreditCard());
+
+		paymentService.pay(orders.save(createOrder()), creditCard.getNumber());
+
+		creditCard.setExpirationDate(LocalDate.of(2000, Month.JANUARY, 1));
+		creditCards.save(creditCard);
+
+		assertThatExceptionOfType(PaymentFailed.class)
+				.isThrownBy(() -> paymentService.pay(orders.save(createOrder()), creditCard.getNumber()))
+				.withMessageContaining("expired");
+	}
+
 	@Test
 	void marksOrderAsTakenIfReceiptIsTaken() {
 
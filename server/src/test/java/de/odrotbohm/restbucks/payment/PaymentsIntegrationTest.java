@@ -21,11 +21,15 @@ import static org.assertj.core.api.Assertions.*;
 import de.odrotbohm.restbucks.AbstractIntegrationTest;
 import de.odrotbohm.restbucks.order.Order.OrderIdentifier;
 import de.odrotbohm.restbucks.order.Orders;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceException;
 
+import java.time.temporal.ChronoUnit;
 import java.util.UUID;
 
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.simple.JdbcClient;
 
 /**
  * Integration tests for {@link Payments}.
@@ -37,6 +41,8 @@ class PaymentsIntegrationTest extends AbstractIntegrationTest {
 	@Autowired Payments payments;
 	@Autowired CreditCards creditCards;
 	@Autowired Orders orders;
+	@Autowired JdbcClient jdbc;
+	@Autowired EntityManager em;
 
 	@Test
 	void savesCreditCardPayment() {
@@ -49,4 +55,41 @@ class PaymentsIntegrationTest extends AbstractIntegrationTest {
 		assertThat(payment.getId()).isNotNull();
 		assertThat(payments.findByOrder(orderIdentifier)).hasValue(payment);
 	}
+
+	@Test
+	void findsReceiptByOrder() {
+
+		var orderIdentifier = new OrderIdentifier(UUID.randomUUID());
+		var payment = payments.save(new CreditCardPayment(createCreditCardNumber(), orderIdentifier));
+
+		assertThat(payments.findReceiptByOrder(orderIdentifier)).hasValueSatisfying(it -> {
+			assertThat(it.getOrder()).isEqualTo(payment.getOrder());
+			assertThat(it.getDate()).isCloseTo(payment.getPaymentDate(), within(1, ChronoUnit.MICROS));
+		});
+		assertThat(payments.findReceiptByOrder(new OrderIdentifier(UUID.randomUUID()))).isEmpty();
+	}
+
+	@Test
+	void rejectsSecondPaymentForOrder() {
+
+		var orderIdentifier = new OrderIdentifier(UUID.randomUUID());
+
+		payments.save(new CreditCardPayment(createCreditCardNumber(), orderIdentifier));
+
+		assertThatExceptionOfType(PersistenceException.class).isThrownBy(() -> {
+			payments.save(new CreditCardPayment(createCreditCardNumber(), orderIdentifier));
+			em.flush();
+		});
+	}
+
+	@Test
+	void indexesPaymentsByOrder() {
+
+		var columns = jdbc.sql("""
+				SELECT column_name FROM information_schema.key_column_usage
+				WHERE constraint_name = 'PAYMENT_RBORDER' ORDER BY ordinal_position
+				""").query(String.class).list();
+
+		assertThat(columns).containsExactly("RBORDER");
+	}
 }
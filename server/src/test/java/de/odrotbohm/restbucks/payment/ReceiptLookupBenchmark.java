@@ -0,0 +1,96 @@
+/*
+ * Copyright 2012-2019 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package de.odrotbohm.restbucks.payment;
+
+import de.odrotbohm.restbucks.order.Order.OrderIdentifier;
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.function.Consumer;
+import java.util.stream.IntStream;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.simple.JdbcClient;
+
+/**
+ * Benchmark for looking up the {@link Payment.Receipt} of an order with a large number of {@link Payment}s stored,
+ * comparing the lookup of the entire {@link Payment} with the one of the {@link Payment.Receipt} only, as well as the
+ * latter without the index on the order. Run with {@code -Dbenchmark=true}.
+ *
+ * @author Oliver Drotbohm
+ */
+@Slf4j
+@SpringBootTest
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+class ReceiptLookupBenchmark {
+
+	private static final int PAYMENTS = 50_000, WARMUP = 500, ITERATIONS = 2_000;
+	private static final CreditCardNumber NUMBER = CreditCardNumber.of("9999999999999999");
+
+	@Autowired Payments payments;
+	@Autowired JdbcClient jdbc;
+
+	@AfterEach
+	void tearDown() {
+		jdbc.sql("DELETE FROM payment WHERE credit_card_number = ?").param(NUMBER.getNumber()).update();
+	}
+
+	@Test
+	void looksUpReceipts() {
+
+		var orders = new ArrayList<OrderIdentifier>(PAYMENTS);
+
+		for (int i = 0; i < PAYMENTS; i += 1_000) {
+
+			var batch = IntStream.range(0, 1_000)
+					.mapToObj(__ -> new CreditCardPayment(NUMBER, new OrderIdentifier(UUID.randomUUID())))
+					.toList();
+
+			payments.saveAll(batch);
+			batch.forEach(it -> orders.add(it.getOrder().getId()));
+		}
+
+		measure("findByOrder(…)", orders, payments::findByOrder);
+		measure("findReceiptByOrder(…)", orders, payments::findReceiptByOrder);
+
+		jdbc.sql("ALTER TABLE payment DROP CONSTRAINT payment_rborder").update();
+
+		try {
+			measure("findReceiptByOrder(…) without index", orders, payments::findReceiptByOrder);
+		} finally {
+			jdbc.sql("ALTER TABLE payment ADD CONSTRAINT payment_rborder UNIQUE (rborder)").update();
+		}
+	}
+
+	private static void measure(String name, List<OrderIdentifier> orders, Consumer<OrderIdentifier> lookup) {
+
+		IntStream.range(0, WARMUP).forEach(i -> lookup.accept(orders.get(i * 31 % orders.size())));
+
+		var start = System.nanoTime();
+
+		IntStream.range(0, ITERATIONS).forEach(i -> lookup.accept(orders.get(i * 97 % orders.size())));
+
+		var time = System.nanoTime() - start;
+
+		LOG.info("{} with {} payments: {} µs per lookup.", name, PAYMENTS, time / ITERATIONS / 1_000);
+	}
+}
@@ -0,0 +1,82 @@
+/*
+ * Copyright 2012-2019 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package de.odrotbohm.restbucks.payment.web;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+
+import de.odrotbohm.restbucks.AbstractWebIntegrationTest;
+import de.odrotbohm.restbucks.order.OrderTestUtils;
+import de.odrotbohm.restbucks.order.Orders;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.assertj.MvcTestResult;
+
+/**
+ * Integration tests for payments submitted with an {@value IdempotencyKeys#HEADER} header.
+ *
+ * @author Oliver Drotbohm
+ */
+class IdempotencyKeysIntegrationTest extends AbstractWebIntegrationTest {
+
+	@Autowired Orders orders;
+
+	@Test
+	void repliesToRetriedPaymentWithOriginalResponse() throws Exception {
+
+		var order = orders.save(OrderTestUtils.createOrder());
+		var uri = "/orders/" + order.getId().id() + PaymentLinks.PAYMENT;
+
+		var result = pay(uri, "1234123412341234", "retried");
+		var replay = pay(uri, "1234123412341234", "retried");
+
+		assertThat(result).hasStatus(HttpStatus.CREATED);
+		assertThat(replay).hasStatus(HttpStatus.CREATED)
+				.hasHeader(IdempotencyKeys.REPLAYED_HEADER, "true")
+				.hasHeader(HttpHeaders.LOCATION, result.getResponse().getHeader(HttpHeaders.LOCATION));
+		assertThat(replay.getResponse().getContentAsString()).isEqualTo(result.getResponse().getContentAsString());
+
+		// Without the key, paying again is rejected
+		assertThat(pay(uri, "1234123412341234", null)).hasStatus(HttpStatus.NOT_FOUND);
+	}
+
+	@Test
+	void rejectsKeyReusedForDifferentPayment() {
+
+		var order = orders.save(OrderTestUtils.createOrder());
+		var uri = "/orders/" + order.getId().id() + PaymentLinks.PAYMENT;
+
+		assertThat(pay(uri, "1234123412341234", "reused")).hasStatus(HttpStatus.CREATED);
+		assertThat(pay(uri, "4321432143214321", "reused")).hasStatus(HttpStatus.UNPROCESSABLE_CONTENT);
+	}
+
+	private MvcTestResult pay(String uri, String number, String key) {
+
+		var request = put(uri)
+				.content("{ \"number\" : \"%s\" }".formatted(number))
+				.contentType(MediaType.APPLICATION_JSON);
+
+		if (key != null) {
+			request.header(IdempotencyKeys.HEADER, key);
+		}
+
+		return mvc.perform(request);
+	}
+}
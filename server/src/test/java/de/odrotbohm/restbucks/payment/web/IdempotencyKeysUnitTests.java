@@ -0,0 +1,239 @@
+/*
+ * Copyright 2012-2019 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package de.odrotbohm.restbucks.payment.web;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+import de.odrotbohm.restbucks.order.Order.OrderIdentifier;
+
+import java.net.URI;
+import java.time.Clock;
+import java.time.Duration;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+
+/**
+ * Unit tests for {@link IdempotencyKeys}.
+ *
+ * @author Oliver Drotbohm
+ */
+class IdempotencyKeysUnitTests {
+
+	static final OrderIdentifier ORDER = new OrderIdentifier(UUID.randomUUID());
+
+	Clock clock = mock(Clock.class);
+	IdempotencyKeys keys = new IdempotencyKeys(Duration.ofMinutes(1), 2, clock);
+	AtomicInteger invocations = new AtomicInteger();
+
+	@BeforeEach
+	void setUp() {
+		when(clock.millis()).thenReturn(0L);
+	}
+
+	@Test
+	void replaysOriginalResponse() {
+
+		var response = keys.execute(ORDER, "key", "payload", created("body"));
+		var replay = keys.execute(ORDER, "key", "payload", created("other"));
+
+		assertThat(replay.getStatusCode()).isEqualTo(HttpStatus.CREATED);
+		assertThat(replay.getBody()).isSameAs(response.getBody());
+		assertThat(replay.getHeaders().getLocation()).isEqualTo(response.getHeaders().getLocation());
+		assertThat(replay.getHeaders().getFirst(IdempotencyKeys.REPLAYED_HEADER)).isEqualTo("true");
+		assertThat(invocations).hasValue(1);
+	}
+
+	@Test
+	void scopesKeysToOrder() {
+
+		keys.execute(ORDER, "key", "payload", created("body"));
+		keys.execute(new OrderIdentifier(UUID.randomUUID()), "key", "payload", created("body"));
+
+		assertThat(invocations).hasValue(2);
+	}
+
+	@Test
+	void rejectsKeyReusedForDifferentPayload() {
+
+		keys.execute(ORDER, "key", "payload", created("body"));
+
+		assertThat(keys.execute(ORDER, "key", "other", created("body")).getStatusCode())
+				.isEqualTo(HttpStatus.UNPROCESSABLE_CONTENT);
+		assertThat(invocations).hasValue(1);
+	}
+
+	@Test
+	void rejectsConcurrentRequestWithSameKey() {
+
+		var response = keys.execute(ORDER, "key", "payload", () -> {
+
+			assertThat(keys.execute(ORDER, "key", "payload", created("body")).getStatusCode())
+					.isEqualTo(HttpStatus.CONFLICT);
+
+			return created("body").get();
+		});
+
+		assertThat(response.getStatusCode()).isEqualTo(HttpStatus.CREATED);
+		assertThat(invocations).hasValue(1);
+	}
+
+	@Test
+	void releasesKeyIfRequestFails() {
+
+		assertThatIllegalStateException().isThrownBy(() -> keys.execute(ORDER, "key", "payload", () -> {
+			throw new IllegalStateException();
+		}));
+
+		keys.execute(ORDER, "key", "payload", () -> ResponseEntity.notFound().build());
+		keys.execute(ORDER, "key", "payload", created("body"));
+
+		assertThat(invocations).hasValue(1);
+		assertThat(keys.size()).isOne();
+	}
+
+	@Test
+	void evictsExpiredKeys() {
+
+		keys.execute(ORDER, "key", "payload", created("body"));
+
+		when(clock.millis()).thenReturn(Duration.ofMinutes(1).toMillis());
+
+		keys.execute(ORDER, "key", "payload", created("body"));
+
+		assertThat(invocations).hasValue(2);
+		assertThat(keys.size()).isOne();
+	}
+
+	@Test
+	void neverExpiresKeysOfRequestsInProgress() {
+
+		var response = keys.execute(ORDER, "slow", "payload", () -> {
+
+			when(clock.millis()).thenReturn(Duration.ofMinutes(2).toMillis());
+
+			// Retry of the request in progress must still be detected
+			assertThat(keys.execute(ORDER, "slow", "payload", created("body")).getStatusCode())
+					.isEqualTo(HttpStatus.CONFLICT);
+
+			return created("body").get();
+		});
+
+		assertThat(response.getStatusCode()).isEqualTo(HttpStatus.CREATED);
+
+		// Expires relative to the request's completion
+		when(clock.millis()).thenReturn(Duration.ofMinutes(3).toMillis() - 1);
+
+		assertThat(keys.execute(ORDER, "slow", "payload", created("body")).getHeaders()
+				.getFirst(IdempotencyKeys.REPLAYED_HEADER)).isEqualTo("true");
+		assertThat(invocations).hasValue(1);
+	}
+
+	@Test
+	void evictsExpiredKeysBehindKeysInProgress() {
+
+		keys.execute(ORDER, "slow", "payload", () -> {
+
+			keys.execute(ORDER, "fast", "payload", created("body"));
+
+			when(clock.millis()).thenReturn(Duration.ofMinutes(1).toMillis());
+
+			keys.execute(ORDER, "fast", "payload", created("body"));
+
+			return created("body").get();
+		});
+
+		assertThat(invocations).hasValue(3);
+	}
+
+	@Test
+	void rejectsNonPositiveTimeToLive() {
+
+		assertThatIllegalArgumentException().isThrownBy(() -> new IdempotencyKeys(Duration.ZERO, 2, clock));
+		assertThatIllegalArgumentException().isThrownBy(() -> new IdempotencyKeys(Duration.ofSeconds(-1), 2, clock));
+	}
+
+	@Test
+	void evictsOldestKeysBeyondMaximum() {
+
+		keys.execute(ORDER, "first", "payload", created("body"));
+		keys.execute(ORDER, "second", "payload", created("body"));
+		keys.execute(ORDER, "third", "payload", created("body"));
+		keys.execute(ORDER, "first", "payload", created("body"));
+
+		assertThat(invocations).hasValue(4);
+		assertThat(keys.size()).isEqualTo(2);
+	}
+
+	@Test
+	void neverEvictsKeysOfRequestsInProgress() {
+
+		var response = keys.execute(ORDER, "first", "payload", () -> {
+
+			keys.execute(ORDER, "second", "payload", created("body"));
+			keys.execute(ORDER, "third", "payload", created("body"));
+
+			// Retry of the request in progress must still be detected
+			assertThat(keys.execute(ORDER, "first", "payload", created("body")).getStatusCode())
+					.isEqualTo(HttpStatus.CONFLICT);
+
+			return created("body").get();
+		});
+
+		assertThat(response.getStatusCode()).isEqualTo(HttpStatus.CREATED);
+		assertThat(invocations).hasValue(3);
+		assertThat(keys.size()).isEqualTo(2);
+	}
+
+	@Test
+	void rejectsNewKeysIfAllKeysStoredAreInProgress() {
+
+		keys.execute(ORDER, "first", "payload", () -> keys.execute(ORDER, "second", "payload", () -> {
+
+			assertThat(keys.execute(ORDER, "third", "payload", created("body")).getStatusCode())
+					.isEqualTo(HttpStatus.SERVICE_UNAVAILABLE);
+
+			return created("body").get();
+		}));
+
+		assertThat(invocations).hasValue(1);
+		assertThat(keys.size()).isEqualTo(2);
+	}
+
+	@Test
+	void rejectsInvalidKeys() {
+
+		assertThat(keys.execute(ORDER, " ", "payload", created("body")).getStatusCode())
+				.isEqualTo(HttpStatus.BAD_REQUEST);
+		assertThat(keys.execute(ORDER, "x".repeat(IdempotencyKeys.MAX_KEY_LENGTH + 1), "payload", created("body"))
+				.getStatusCode()).isEqualTo(HttpStatus.BAD_REQUEST);
+		assertThat(invocations).hasValue(0);
+	}
+
+	private Supplier<ResponseEntity<?>> created(String body) {
+
+		return () -> {
+			invocations.incrementAndGet();
+			return ResponseEntity.created(URI.create("/payment")).body(body);
+		};
+	}
+}
@@ -0,0 +1,105 @@
+/*
+ * Copyright 2012-2019 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package de.odrotbohm.restbucks.payment.web;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+
+import de.odrotbohm.restbucks.AbstractWebIntegrationTest;
+import de.odrotbohm.restbucks.order.OrderTestUtils;
+import de.odrotbohm.restbucks.order.Orders;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.hateoas.MediaTypes;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.assertj.MvcTestResult;
+
+import com.jayway.jsonpath.JsonPath;
+
+/**
+ * Integration tests for payments submitted preferring to {@value PaymentController#RESPOND_ASYNC}.
+ *
+ * @author Oliver Drotbohm
+ */
+class PaymentAuthorizationIntegrationTest extends AbstractWebIntegrationTest {
+
+	@Autowired Orders orders;
+
+	@Test
+	void authorizesPaymentInTheBackground() throws Exception {
+
+		var order = orders.save(OrderTestUtils.createOrder());
+		var uri = "/orders/" + order.getId().id() + PaymentLinks.PAYMENT;
+
+		var result = pay(uri, "1234123412341234");
+
+		assertThat(result).hasStatus(HttpStatus.ACCEPTED)
+				.hasHeader(PaymentController.PREFERENCE_APPLIED, PaymentController.RESPOND_ASYNC)
+				.hasHeader(HttpHeaders.LOCATION, "http://localhost" + uri)
+				.bodyJson().extractingPath("$.status").isEqualTo("PENDING");
+
+		var status = "PENDING";
+		String content = null;
+
+		for (int i = 0; i < 50 && status.equals("PENDING"); i++) {
+
+			Thread.sleep(100);
+
+			var poll = mvc.perform(get(uri).accept(MediaTypes.HAL_JSON));
+
+			assertThat(poll).hasStatus(HttpStatus.OK);
+
+			content = poll.getResponse().getContentAsString();
+			status = JsonPath.read(content, "$.status");
+		}
+
+		assertThat(status).isEqualTo("AUTHORIZED");
+		assertThat(JsonPath.<String> read(content, "$._links.restbucks:receipt.href")).endsWith(PaymentLinks.RECEIPT);
+		assertThat(orders.findById(order.getId())).hasValueSatisfying(it -> assertThat(it.isPaid()).isTrue());
+	}
+
+	@Test
+	void rejectsInvalidCreditCardRightAway() {
+
+		var order = orders.save(OrderTestUtils.createOrder());
+		var uri = "/orders/" + order.getId().id() + PaymentLinks.PAYMENT;
+
+		assertThat(pay(uri, "4321432143214321")).hasStatus(HttpStatus.BAD_REQUEST);
+		assertThat(mvc.perform(get(uri))).hasStatus(HttpStatus.NOT_FOUND);
+	}
+
+	@Test
+	void rejectsCancellingOrderWhilePaymentPending() {
+
+		var order = orders.save(OrderTestUtils.createOrder());
+		var orderUri = "/orders/" + order.getId().id();
+
+		// The stub gateway takes at least 200ms to respond
+		assertThat(pay(orderUri + PaymentLinks.PAYMENT, "1234123412341234")).hasStatus(HttpStatus.ACCEPTED);
+		assertThat(mvc.perform(delete(orderUri))).hasStatus(HttpStatus.CONFLICT);
+	}
+
+	private MvcTestResult pay(String uri, String number) {
+
+		return mvc.perform(put(uri)
+				.header(PaymentController.PREFER, "respond-async, wait=5")
+				.content("{ \"number\" : \"%s\" }".formatted(number))
+				.contentType(MediaType.APPLICATION_JSON));
+	}
+}
@@ -0,0 +1,73 @@
+/*
+ * Copyright 2012-2019 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package de.odrotbohm.restbucks.payment.web;
+
+import static org.assertj.core.api.Assertions.*;
+
+import de.odrotbohm.restbucks.order.Orders;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+/**
+ * Integration test for {@link PaymentLinks}.
+ *
+ * @author Oliver Drotbohm
+ */
+@SpringBootTest
+class PaymentLinksIntegrationTest {
+
+	@Autowired PaymentLinks links;
+	@Autowired Orders orders;
+
+	@AfterEach
+	void tearDown() {
+		RequestContextHolder.resetRequestAttributes();
+	}
+
+	@Test
+	void createsLinksMatchingTheOrderResource() {
+
+		var request = new MockHttpServletRequest();
+		request.setServerName("restbucks.example");
+
+		RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(request));
+
+		for (var order : orders.findAll()) {
+
+			var orderUri = links.getOrderLinks().linkForItemResource(order).toUri().toString();
+
+			assertThat(orderUri).startsWith("http://restbucks.example/");
+			assertThat(links.getPaymentLink(order).getHref()).isEqualTo(orderUri + PaymentLinks.PAYMENT);
+			assertThat(links.getReceiptLink(order).getHref()).isEqualTo(orderUri + PaymentLinks.RECEIPT);
+		}
+	}
+
+	@Test
+	void createsLinksOutsideOfRequest() {
+
+		var order = orders.findAll().iterator().next();
+		var orderUri = links.getOrderLinks().linkForItemResource(order).toUri().toString();
+
+		assertThat(links.getPaymentLink(order).getHref()).isEqualTo(orderUri + PaymentLinks.PAYMENT);
+		assertThat(links.getReceiptLink(order).getHref()).isEqualTo(orderUri + PaymentLinks.RECEIPT);
+	}
+}
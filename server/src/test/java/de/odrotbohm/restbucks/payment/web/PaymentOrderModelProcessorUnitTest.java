@@ -35,8 +35,12 @@ import org.mockito.Mock;
 import org.mockito.Mock.Strictness;
 import org.mockito.Mockito;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.hateoas.AffordanceModel;
 import org.springframework.hateoas.EntityModel;
+import org.springframework.hateoas.IanaLinkRelations;
 import org.springframework.hateoas.Link;
+import org.springframework.hateoas.MediaTypes;
+import org.springframework.http.HttpMethod;
 import org.springframework.mock.web.MockHttpServletRequest;
 import org.springframework.web.context.request.RequestContextHolder;
 import org.springframework.web.context.request.ServletRequestAttributes;
@@ -106,4 +110,18 @@ class PaymentOrderModelProcessorUnitTest {
 			assertThat(it.isSameAs(receiptLink));
 		});
 	}
+
+	@Test
+	void derivesAffordancesFromControllerMethods() {
+
+		var order = OrderTestUtils.createExistingOrder();
+		var resource = processor.process(EntityModel.of(order, Link.of("order")));
+
+		assertThat(resource.getRequiredLink(IanaLinkRelations.SELF).getAffordances())
+				.extracting(it -> (AffordanceModel) it.getAffordanceModel(MediaTypes.HAL_FORMS_JSON))
+				.anySatisfy(it -> {
+					assertThat(it.getName()).isEqualTo("submitPayment");
+					assertThat(it.getHttpMethod()).isEqualTo(HttpMethod.PUT);
+				});
+	}
 }